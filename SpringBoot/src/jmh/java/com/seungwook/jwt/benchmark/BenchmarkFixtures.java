@@ -0,0 +1,56 @@
+package com.seungwook.jwt.benchmark;
+
+import com.seungwook.jwt.jwt.JwtTokenProvider;
+import com.seungwook.jwt.jwt.TokenProfile;
+import com.seungwook.jwt.jwt.VerifiedTokenCache;
+import com.seungwook.jwt.metrics.AuthMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 벤치마크용 객체 구성 (Spring 컨텍스트와 Redis 없이 생성)
+ * Mockito 목은 stubOnly로 만들어 호출 기록에 따른 메모리 증가가 측정에 섞이지 않도록 함
+ */
+final class BenchmarkFixtures
+{
+    // 512비트 HS512 테스트 키 (Base64)
+    static final String SECRET = "c2VjcmV0LWtleS1mb3ItYmVuY2htYXJrcy1vbmx5LXNlY3JldC1rZXktZm9yLWJlbmNobWFya3Mtb25seS0xMjM0NTY3ODkwYWJjZGVm";
+    static final long ACCESS_TOKEN_EXPIRATION = 30 * 60 * 1000L;
+    static final long REFRESH_TOKEN_EXPIRATION = 14 * 24 * 60 * 60 * 1000L;
+
+    private BenchmarkFixtures() {}
+
+    static <T> T stub(Class<T> type)
+    {
+        return mock(type, withSettings().stubOnly());
+    }
+
+    static AuthMetrics authMetrics()
+    {
+        return new AuthMetrics(new SimpleMeterRegistry());
+    }
+
+    static JwtTokenProvider jwtTokenProvider(long verifiedCacheSize)
+    {
+        return jwtTokenProvider(new VerifiedTokenCache(verifiedCacheSize, new SimpleMeterRegistry()));
+    }
+
+    static JwtTokenProvider jwtTokenProvider(VerifiedTokenCache cache)
+    {
+        JwtTokenProvider provider = new JwtTokenProvider(cache, authMetrics());
+
+        ReflectionTestUtils.setField(provider, "secretKey", SECRET);
+        ReflectionTestUtils.setField(provider, "accessTokenExpiration", ACCESS_TOKEN_EXPIRATION);
+        ReflectionTestUtils.setField(provider, "refreshTokenExpiration", REFRESH_TOKEN_EXPIRATION);
+        ReflectionTestUtils.setField(provider, "fastVerifyEnabled", true);
+        ReflectionTestUtils.setField(provider, "fastMintEnabled", true);
+        ReflectionTestUtils.setField(provider, "tokenProfile", TokenProfile.STANDARD);
+        ReflectionTestUtils.setField(provider, "compactAlgorithm", "HS256");
+        provider.init();
+
+        return provider;
+    }
+}
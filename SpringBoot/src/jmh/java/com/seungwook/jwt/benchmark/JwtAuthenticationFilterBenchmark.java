@@ -0,0 +1,91 @@
+package com.seungwook.jwt.benchmark;
+
+import com.seungwook.jwt.jwt.JwtAuthenticationFilter;
+import com.seungwook.jwt.jwt.JwtTokenProvider;
+import com.seungwook.jwt.jwt.VerifiedToken;
+import com.seungwook.jwt.service.auth.RedisSessionService;
+import com.seungwook.jwt.service.auth.TokenGenerationService;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * 인증 필터 전체 경로 처리량 (블랙리스트 조회는 항상 미등록, 토큰 세대는 항상 최신으로 응답하는 스텁)
+ * - valid: 정상 토큰
+ * - forged: 다른 토큰의 서명을 붙인 위조 토큰 (서명 검증에서 거부)
+ * - malformed: 형태가 잘못된 문자열 (서명 검증 전에 거부)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtAuthenticationFilterBenchmark
+{
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Param({"valid", "forged", "malformed"})
+    private String token;
+
+    @Setup
+    public void setUp()
+    {
+        JwtTokenProvider provider = BenchmarkFixtures.jwtTokenProvider(10_000);
+
+        RedisSessionService redisService = BenchmarkFixtures.stub(RedisSessionService.class);
+        when(redisService.isBlacklisted(anyString(), anyString())).thenReturn(false);
+
+        TokenGenerationService tokenGenerationService = BenchmarkFixtures.stub(TokenGenerationService.class);
+        when(tokenGenerationService.isCurrent(any(VerifiedToken.class))).thenReturn(true);
+
+        filter = new JwtAuthenticationFilter(provider, redisService, tokenGenerationService, BenchmarkFixtures.authMetrics());
+
+        request = new MockHttpServletRequest("GET", "/user/me");
+        request.addHeader("Authorization", "Bearer " + token(provider));
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> {};
+    }
+
+    private String token(JwtTokenProvider provider)
+    {
+        String valid = provider.createAccessToken(UUID.randomUUID().toString(), "ROLE_USER");
+
+        return switch (token)
+        {
+            case "forged" ->
+            {
+                String other = provider.createAccessToken(UUID.randomUUID().toString(), "ROLE_ADMIN");
+                yield valid.substring(0, valid.lastIndexOf('.')) + other.substring(other.lastIndexOf('.'));
+            }
+            case "malformed" -> "not-a-jwt " + valid;
+            default -> valid;
+        };
+    }
+
+    @Benchmark
+    public Object doFilter() throws Exception
+    {
+        filter.doFilter(request, response, chain);
+
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
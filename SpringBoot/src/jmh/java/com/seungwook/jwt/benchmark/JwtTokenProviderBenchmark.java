@@ -0,0 +1,84 @@
+package com.seungwook.jwt.benchmark;
+
+import com.seungwook.jwt.jwt.JwtTokenProvider;
+import com.seungwook.jwt.jwt.TokenProfile;
+import com.seungwook.jwt.jwt.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtTokenProvider 발급/검증 경로 처리량
+ * - createAccessToken, createRefreshToken: fastMint=true면 전용 발급기, false면 JJWT 빌더
+ * - tokenProfile: STANDARD(HS512, 전체 권한 이름) / COMPACT(HS256, 짧은 권한 코드)
+ * - verifyCached: 검증 캐시 적중 경로
+ * - verifyUncached: 캐시 미적중 시 검증 경로 (fastVerify=true: 전용 HS512 검증기, false: 매번 JJWT로 서명 검증 및 파싱)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtTokenProviderBenchmark
+{
+    @Param({"true", "false"})
+    private boolean fastVerify;
+
+    @Param({"true", "false"})
+    private boolean fastMint;
+
+    @Param({"STANDARD", "COMPACT"})
+    private TokenProfile tokenProfile;
+
+    private VerifiedTokenCache verifiedTokenCache;
+    private JwtTokenProvider provider;
+    private String uuid;
+    private String accessToken;
+    private String family;
+
+    @Setup
+    public void setUp()
+    {
+        verifiedTokenCache = new VerifiedTokenCache(10_000, new SimpleMeterRegistry());
+        provider = BenchmarkFixtures.jwtTokenProvider(verifiedTokenCache);
+        ReflectionTestUtils.setField(provider, "fastVerifyEnabled", fastVerify);
+        ReflectionTestUtils.setField(provider, "fastMintEnabled", fastMint);
+        ReflectionTestUtils.setField(provider, "tokenProfile", tokenProfile);
+        uuid = UUID.randomUUID().toString();
+        accessToken = provider.createAccessToken(uuid, "ROLE_USER");
+        family = "benchmark-family-0000";
+    }
+
+    @Benchmark
+    public String createAccessToken()
+    {
+        return provider.createAccessToken(uuid, "ROLE_USER");
+    }
+
+    @Benchmark
+    public String createRefreshToken()
+    {
+        return provider.issueRefreshToken(family).getToken();
+    }
+
+    @Benchmark
+    public Object verifyCached()
+    {
+        return provider.verify(accessToken);
+    }
+
+    @Benchmark
+    public Object verifyUncached()
+    {
+        verifiedTokenCache.invalidate(accessToken);
+        return provider.verify(accessToken);
+    }
+}
@@ -0,0 +1,90 @@
+package com.seungwook.jwt.benchmark;
+
+import com.seungwook.jwt.domain.User;
+import com.seungwook.jwt.enumeration.UserRole;
+import com.seungwook.jwt.metrics.AuthMetrics;
+import com.seungwook.jwt.repository.UserRepository;
+import com.seungwook.jwt.service.UserService;
+import com.seungwook.jwt.service.credential.BCryptCredentialVerifier;
+import com.seungwook.jwt.service.credential.CredentialVerifier;
+import com.seungwook.jwt.service.credential.HashingExecutor;
+import com.seungwook.jwt.service.credential.HmacCredentialVerifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * UserService.findByRawUuid 캐시 적중/실패 경로 (DB는 스텁)
+ * 실패 경로는 매 호출 전에 캐시를 비워 자격 증명 검증까지 수행
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UserServiceBenchmark
+{
+    @Param({"bcrypt", "hmac"})
+    private String verifier;
+
+    private HashingExecutor hashingExecutor;
+    private UserService userService;
+    private String rawUuid;
+
+    @Setup
+    public void setUp()
+    {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        hashingExecutor = new HashingExecutor(Runtime.getRuntime().availableProcessors(), 1_000, 10_000, meterRegistry);
+
+        CredentialVerifier bcrypt = new BCryptCredentialVerifier(new BCryptPasswordEncoder(), hashingExecutor);
+        CredentialVerifier credentialVerifier = "hmac".equals(verifier)
+                ? new HmacCredentialVerifier("benchmark-pepper-benchmark-pepper".getBytes(StandardCharsets.UTF_8), bcrypt)
+                : bcrypt;
+
+        rawUuid = UUID.randomUUID().toString();
+        User user = User.builder()
+                .id(1L)
+                .uuid(credentialVerifier.encode(rawUuid))
+                .searchableHash(credentialVerifier.index(rawUuid))
+                .role(UserRole.USER)
+                .build();
+
+        UserRepository userRepository = BenchmarkFixtures.stub(UserRepository.class);
+        when(userRepository.findBySearchableHash(user.getSearchableHash())).thenReturn(Optional.of(user));
+
+        userService = new UserService(userRepository, credentialVerifier, new AuthMetrics(meterRegistry), meterRegistry, 10_000, 600_000);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        hashingExecutor.shutdown();
+    }
+
+    @Benchmark
+    public Optional<User> cacheHit()
+    {
+        return userService.findByRawUuid(rawUuid);
+    }
+
+    @Benchmark
+    public Optional<User> cacheMiss()
+    {
+        userService.invalidateCache(rawUuid);
+        return userService.findByRawUuid(rawUuid);
+    }
+}
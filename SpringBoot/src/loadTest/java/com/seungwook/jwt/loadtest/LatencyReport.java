@@ -0,0 +1,148 @@
+package com.seungwook.jwt.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 작업별 지연 시간 분포(HdrHistogram)와 처리량 집계
+ */
+class LatencyReport
+{
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Histogram total = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+    private long elapsedNanos;
+
+    LatencyReport()
+    {
+        for (Operation operation : Operation.values())
+        {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, boolean success)
+    {
+        long value = Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS);
+        histograms.get(operation).recordValue(value);
+        total.recordValue(value);
+        if (!success) errors.get(operation).increment();
+    }
+
+    void finish(long elapsedNanos)
+    {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    String summary()
+    {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-14s %10s %8s %10s %10s %10s %10s %10s%n",
+                "operation", "count", "errors", "ops/s", "p50(ms)", "p99(ms)", "p99.9(ms)", "max(ms)"));
+
+        for (Operation operation : Operation.values())
+        {
+            Histogram histogram = histograms.get(operation);
+            if (histogram.getTotalCount() == 0) continue;
+            appendRow(sb, operation.name().toLowerCase(), histogram, errors.get(operation).sum(), seconds);
+        }
+
+        long totalErrors = errors.values().stream().mapToLong(LongAdder::sum).sum();
+        appendRow(sb, "total", total, totalErrors, seconds);
+        return sb.toString();
+    }
+
+    /**
+     * 두 실행의 작업별 처리량과 p99 비교 (같은 부하 조건에서 실행한 결과끼리 비교)
+     */
+    static String compare(String baselineName, LatencyReport baseline, String candidateName, LatencyReport candidate)
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-14s %12s %12s %12s %12s %10s%n",
+                "operation", baselineName + " ops/s", candidateName + " ops/s", baselineName + " p99", candidateName + " p99", "p99 change"));
+
+        for (Operation operation : Operation.values())
+        {
+            Histogram base = baseline.histograms.get(operation);
+            Histogram other = candidate.histograms.get(operation);
+            if (base.getTotalCount() == 0 || other.getTotalCount() == 0) continue;
+            appendComparison(sb, operation.name().toLowerCase(), base, baseline.seconds(), other, candidate.seconds());
+        }
+
+        appendComparison(sb, "total", baseline.total, baseline.seconds(), candidate.total, candidate.seconds());
+        return sb.toString();
+    }
+
+    // 요약과 작업별 지연 분포(.hgrm)를 실행 시각별 디렉터리에 저장
+    Path write(Path reportDir, int targetRate, Map<Operation, Double> mix) throws IOException
+    {
+        Path dir = reportDir.resolve(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        Files.createDirectories(dir);
+
+        Files.writeString(dir.resolve("summary.txt"),
+                "target rate: " + targetRate + " req/s\n"
+                        + "mix: " + mix + "\n"
+                        + "duration: " + String.format("%.1f", elapsedNanos / 1_000_000_000.0) + " s\n\n"
+                        + summary());
+
+        for (Operation operation : Operation.values())
+        {
+            Histogram histogram = histograms.get(operation);
+            if (histogram.getTotalCount() == 0) continue;
+
+            try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(operation.name().toLowerCase() + ".hgrm"))))
+            {
+                histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+
+        return dir;
+    }
+
+    private double seconds()
+    {
+        return elapsedNanos / 1_000_000_000.0;
+    }
+
+    private static void appendComparison(StringBuilder sb, String name, Histogram base, double baseSeconds, Histogram other, double otherSeconds)
+    {
+        double baseP99 = base.getValueAtPercentile(99) / NANOS_PER_MILLI;
+        double otherP99 = other.getValueAtPercentile(99) / NANOS_PER_MILLI;
+        sb.append(String.format("%-14s %12.1f %12.1f %12.2f %12.2f %+9.1f%%%n",
+                name,
+                base.getTotalCount() / baseSeconds,
+                other.getTotalCount() / otherSeconds,
+                baseP99,
+                otherP99,
+                (otherP99 - baseP99) / baseP99 * 100));
+    }
+
+    private void appendRow(StringBuilder sb, String name, Histogram histogram, long errorCount, double seconds)
+    {
+        sb.append(String.format("%-14s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                name,
+                histogram.getTotalCount(),
+                errorCount,
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                histogram.getMaxValue() / NANOS_PER_MILLI));
+    }
+}
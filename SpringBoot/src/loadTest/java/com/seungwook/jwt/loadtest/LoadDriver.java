@@ -0,0 +1,222 @@
+package com.seungwook.jwt.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 목표 처리량(초당 요청 수)으로 작업을 비율에 맞춰 발생시키는 개방형(open-loop) 부하 생성기
+ * 응답 지연과 관계없이 예정된 시각에 요청을 보내며, 지연 시간은 예정 시각부터 측정 (coordinated omission 보정)
+ */
+class LoadDriver
+{
+    private static final int INITIAL_SESSIONS = 100;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final String baseUrl;
+    private final Operation[] operations;
+    private final double[] cumulativeWeights;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(REQUEST_TIMEOUT)
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // 토큰을 보유한 세션 / 로그아웃 또는 무효화되어 UUID만 남은 세션
+    private final ConcurrentLinkedQueue<Session> activeSessions = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Session> idleSessions = new ConcurrentLinkedQueue<>();
+
+    private volatile String adminAccessToken;
+
+    LoadDriver(String baseUrl, Map<Operation, Double> mix)
+    {
+        this.baseUrl = baseUrl;
+        this.operations = mix.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new double[operations.length];
+
+        double sum = 0;
+        for (int i = 0; i < operations.length; i++)
+        {
+            sum += mix.get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    // 관리자 계정과 초기 세션 준비
+    void prepare()
+    {
+        adminAccessToken = register("ADMIN").join().accessToken();
+        for (int i = 0; i < INITIAL_SESSIONS; i++) activeSessions.add(register("USER").join());
+    }
+
+    LatencyReport run(int rate, Duration duration)
+    {
+        LatencyReport report = new LatencyReport();
+        long intervalNanos = 1_000_000_000L / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        for (long scheduled = start; scheduled < end; scheduled += intervalNanos)
+        {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+
+            execute(pick(), scheduled, report);
+        }
+
+        // 남은 요청 완료 대기
+        long drainDeadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) LockSupport.parkNanos(1_000_000L);
+
+        report.finish(System.nanoTime() - start);
+        return report;
+    }
+
+    private Operation pick()
+    {
+        double value = ThreadLocalRandom.current().nextDouble(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++)
+        {
+            if (value < cumulativeWeights[i]) return operations[i];
+        }
+        return operations[operations.length - 1];
+    }
+
+    private void execute(Operation operation, long scheduledNanos, LatencyReport report)
+    {
+        inFlight.incrementAndGet();
+
+        CompletableFuture<Boolean> result = switch (operation)
+        {
+            case REGISTER -> register("USER").thenApply(session -> activeSessions.add(session));
+            case LOGIN -> login();
+            case REFRESH -> refresh();
+            case LOGOUT -> logout();
+            case REVOKE -> revoke();
+            case AUTHENTICATED -> authenticated();
+        };
+
+        result.whenComplete((success, error) -> {
+            report.record(operation, System.nanoTime() - scheduledNanos, error == null && Boolean.TRUE.equals(success));
+            inFlight.decrementAndGet();
+        });
+    }
+
+    private CompletableFuture<Session> register(String role)
+    {
+        return post("/register", null, "{\"role\":\"" + role + "\"}")
+                .thenApply(response -> toSession(expectOk(response)));
+    }
+
+    private CompletableFuture<Boolean> login()
+    {
+        Session session = idleSessions.poll();
+        if (session == null) session = activeSessions.poll();
+        if (session == null) return register("USER").thenApply(activeSessions::add);
+
+        return post("/login", null, "{\"uuid\":\"" + session.uuid() + "\"}")
+                .thenApply(response -> activeSessions.add(toSession(expectOk(response))));
+    }
+
+    private CompletableFuture<Boolean> refresh()
+    {
+        Session session = activeSessions.poll();
+        if (session == null) return login();
+
+        return post("/refresh", session.accessToken(), "{\"refreshToken\":\"" + session.refreshToken() + "\"}")
+                .thenApply(response -> {
+                    if (response.statusCode() == 200) return activeSessions.add(toSession(response));
+
+                    idleSessions.add(session);
+                    return false;
+                });
+    }
+
+    private CompletableFuture<Boolean> logout()
+    {
+        Session session = activeSessions.poll();
+        if (session == null) return login();
+
+        return post("/logout", session.accessToken(), "")
+                .thenApply(response -> {
+                    idleSessions.add(session);
+                    return response.statusCode() == 200;
+                });
+    }
+
+    private CompletableFuture<Boolean> revoke()
+    {
+        Session session = activeSessions.poll();
+        if (session == null) return login();
+
+        return post("/revoke-token", adminAccessToken, "{\"token\":\"" + session.accessToken() + "\"}")
+                .thenApply(response -> {
+                    idleSessions.add(session);
+                    return response.statusCode() == 200;
+                });
+    }
+
+    // 필터 체인을 통과하는 일반 인증 요청
+    private CompletableFuture<Boolean> authenticated()
+    {
+        Session session = activeSessions.poll();
+        if (session == null) return login();
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + session.accessToken())
+                .GET()
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    activeSessions.add(session);
+                    return response.statusCode() == 200;
+                });
+    }
+
+    private CompletableFuture<HttpResponse<String>> post(String path, String accessToken, String body)
+    {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (accessToken != null) builder.header("Authorization", "Bearer " + accessToken);
+
+        return httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> expectOk(HttpResponse<String> response)
+    {
+        if (response.statusCode() != 200) throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+        return response;
+    }
+
+    private Session toSession(HttpResponse<String> response)
+    {
+        try
+        {
+            JsonNode data = objectMapper.readTree(response.body()).path("data");
+            return new Session(data.path("uuid").asText(), data.path("accessToken").asText(), data.path("refreshToken").asText());
+        }
+        catch (Exception e)
+        {
+            throw new IllegalStateException("응답 파싱 실패: " + response.body(), e);
+        }
+    }
+
+    private record Session(String uuid, String accessToken, String refreshToken) {}
+}
@@ -0,0 +1,124 @@
+package com.seungwook.jwt.loadtest;
+
+import com.github.fppt.jedismock.RedisServer;
+import com.seungwook.jwt.JwtApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 인증 API 종단 간 부하 테스트
+ * - Redis: 프로세스 내 Redis 호환 서버 (jedis-mock)
+ * - DB: H2 인메모리 (MySQL 호환 모드)
+ * - 서비스: 실제 애플리케이션 컨텍스트와 SecurityConfig 필터 체인을 그대로 사용
+ *
+ * 설정 (시스템 프로퍼티, ./gradlew loadTest -P로 전달)
+ * - loadtest.rate: 초당 목표 요청 수
+ * - loadtest.duration / loadtest.warmup: 측정 / 워밍업 시간(초)
+ * - loadtest.mix: 작업별 가중치 (register, login, refresh, logout, revoke, authenticated)
+ * - loadtest.redis-shards: 토큰 상태 Redis 샤드 수 (2 이상이면 샤드마다 별도의 내장 Redis를 띄워 jwt.redis.shard.endpoints 로 연결)
+ * - loadtest.state-store: 토큰 상태 저장소 (redis: 내장 Redis, memory: 프로세스 내 저장소)
+ * - loadtest.web: 웹 스택 (servlet: Tomcat, reactive: Netty/WebFlux)
+ * - loadtest.threads: 요청 처리 스레드 (platform, virtual, compare: 같은 부하로 두 방식을 차례로 실행하고 처리량/p99 비교)
+ * - loadtest.report-dir: 결과 저장 위치
+ */
+public class LoadTestRunner
+{
+    public static void main(String[] args) throws Exception
+    {
+        int rate = Integer.getInteger("loadtest.rate", 200);
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration", 60));
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup", 10));
+        Map<Operation, Double> mix = Operation.parseMix(System.getProperty("loadtest.mix", "register:1,login:2,refresh:2,logout:1,revoke:0.2,authenticated:20"));
+        Path reportDir = Path.of(System.getProperty("loadtest.report-dir", "build/reports/load-test"));
+        String threads = System.getProperty("loadtest.threads", "platform");
+
+        if (!"compare".equals(threads))
+        {
+            LatencyReport report = run(rate, duration, warmup, mix, "virtual".equals(threads));
+            Path written = report.write(reportDir, rate, mix);
+
+            System.out.println(report.summary());
+            System.out.println("보고서: " + written.toAbsolutePath());
+            return;
+        }
+
+        // 실행마다 새 Redis/H2와 애플리케이션 컨텍스트를 사용하여 앞선 실행의 상태가 섞이지 않도록 함
+        LatencyReport platform = run(rate, duration, warmup, mix, false);
+        LatencyReport virtual = run(rate, duration, warmup, mix, true);
+
+        Path platformDir = platform.write(reportDir.resolve("platform"), rate, mix);
+        Path virtualDir = virtual.write(reportDir.resolve("virtual"), rate, mix);
+        String comparison = LatencyReport.compare("platform", platform, "virtual", virtual);
+        Files.writeString(reportDir.resolve("threads-comparison.txt"), comparison);
+
+        System.out.println("[platform]\n" + platform.summary());
+        System.out.println("[virtual]\n" + virtual.summary());
+        System.out.println(comparison);
+        System.out.println("보고서: " + platformDir.toAbsolutePath() + ", " + virtualDir.toAbsolutePath());
+    }
+
+    private static LatencyReport run(int rate, Duration duration, Duration warmup, Map<Operation, Double> mix, boolean virtualThreads) throws Exception
+    {
+        int shards = Math.max(1, Integer.getInteger("loadtest.redis-shards", 1));
+
+        // 첫 번째 서버는 기본 연결, 나머지는 추가 샤드
+        List<RedisServer> redisServers = new ArrayList<>();
+        for (int i = 0; i < shards; i++)
+        {
+            RedisServer server = RedisServer.newRedisServer();
+            server.start();
+            redisServers.add(server);
+        }
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.main.web-application-type", System.getProperty("loadtest.web", "servlet"));
+        properties.put("spring.threads.virtual.enabled", String.valueOf(virtualThreads));
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.data.redis.host", "localhost");
+        properties.put("spring.data.redis.port", String.valueOf(redisServers.get(0).getBindPort()));
+        properties.put("jwt.redis.shard.endpoints", redisServers.subList(1, shards).stream()
+                .map(server -> "localhost:" + server.getBindPort())
+                .collect(Collectors.joining(",")));
+        properties.put("jwt.state-store", System.getProperty("loadtest.state-store", "redis"));
+        properties.put("jwt.secret", "bG9hZC10ZXN0LXNlY3JldC1sb2FkLXRlc3Qtc2VjcmV0LWxvYWQtdGVzdC1zZWNyZXQtbG9hZC10ZXN0LXNlY3JldC0xMjM0NTY3OA==");
+        properties.put("jwt.access-token-expiration", "1800000");
+        properties.put("jwt.refresh-token-expiration", "1209600000");
+        properties.put("logging.level.root", "WARN");
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(JwtApplication.class)
+                .properties(properties)
+                .run();
+
+        try
+        {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadDriver driver = new LoadDriver("http://localhost:" + port, mix);
+
+            driver.prepare();
+            driver.run(rate, warmup); // 워밍업 (JIT, 커넥션 풀, 캐시)
+
+            return driver.run(rate, duration);
+        }
+        finally
+        {
+            context.close();
+            for (RedisServer server : redisServers)
+            {
+                server.stop();
+            }
+        }
+    }
+}
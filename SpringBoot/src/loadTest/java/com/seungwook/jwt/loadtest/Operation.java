@@ -0,0 +1,29 @@
+package com.seungwook.jwt.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트에서 호출하는 작업 종류
+ */
+enum Operation
+{
+    REGISTER, LOGIN, REFRESH, LOGOUT, REVOKE, AUTHENTICATED;
+
+    // "register:1,login:2,..." 형식의 가중치 파싱
+    static Map<Operation, Double> parseMix(String value)
+    {
+        Map<Operation, Double> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(","))
+        {
+            String[] pair = entry.trim().split(":");
+            if (pair.length != 2) throw new IllegalArgumentException("잘못된 loadtest.mix 항목: " + entry);
+
+            double weight = Double.parseDouble(pair[1]);
+            if (weight > 0) mix.put(Operation.valueOf(pair[0].trim().toUpperCase().replace('-', '_')), weight);
+        }
+
+        if (mix.isEmpty()) throw new IllegalArgumentException("loadtest.mix에 최소 한 개의 작업이 필요합니다");
+        return mix;
+    }
+}
@@ -0,0 +1,51 @@
+package com.seungwook.jwt.config;
+
+import com.seungwook.jwt.service.credential.BCryptCredentialVerifier;
+import com.seungwook.jwt.service.credential.CredentialVerifier;
+import com.seungwook.jwt.service.credential.HashingExecutor;
+import com.seungwook.jwt.service.credential.HmacCredentialVerifier;
+import io.jsonwebtoken.io.Decoders;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@Configuration
+public class CredentialConfig {
+
+    // 서블릿/리액티브 실행 모두에서 사용
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+
+    // BCrypt 작업 전용 스레드 풀 (기본: CPU 코어 수, 대기열 100, 요청 스레드 최대 대기 2초)
+    @Bean(destroyMethod = "shutdown")
+    public HashingExecutor hashingExecutor(MeterRegistry meterRegistry,
+                                           @Value("${credential.hash-pool.size:0}") int poolSize,
+                                           @Value("${credential.hash-pool.queue-capacity:100}") int queueCapacity,
+                                           @Value("${credential.hash-pool.max-wait-ms:2000}") long maxWaitMillis) {
+        int size = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return new HashingExecutor(size, queueCapacity, maxWaitMillis, meterRegistry);
+    }
+
+    // UUID 자격 증명 검증 방식 (bcrypt: 기존 방식, hmac: pepper 기반 HMAC-SHA256 + BCrypt 사용자 점진적 전환)
+    @Bean
+    public CredentialVerifier credentialVerifier(PasswordEncoder passwordEncoder,
+                                                 HashingExecutor hashingExecutor,
+                                                 @Value("${credential.verifier:bcrypt}") String mode,
+                                                 @Value("${credential.pepper:}") String pepper) {
+        CredentialVerifier bcrypt = new BCryptCredentialVerifier(passwordEncoder, hashingExecutor);
+
+        return switch (mode) {
+            case "bcrypt" -> bcrypt;
+            case "hmac" -> {
+                if (pepper.isBlank()) throw new IllegalStateException("credential.pepper 설정이 필요합니다 (Base64)");
+                yield new HmacCredentialVerifier(Decoders.BASE64.decode(pepper), bcrypt);
+            }
+            default -> throw new IllegalStateException("지원하지 않는 credential.verifier: " + mode);
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.seungwook.jwt.config;
+
+import com.seungwook.jwt.jwt.JwtTokenProvider;
+import com.seungwook.jwt.jwt.ReactiveJwtAuthenticationEntryPoint;
+import com.seungwook.jwt.jwt.ReactiveJwtAuthenticationFilter;
+import com.seungwook.jwt.metrics.AuthMetrics;
+import com.seungwook.jwt.service.auth.ReactiveTokenService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+// 리액티브(Netty) 실행용 (spring.main.web-application-type=reactive), 접근 규칙은 SecurityConfig와 같음
+// WebFlux 런타임은 -Pweb=reactive 빌드에만 포함되며, 없으면 REACTIVE 조건이 맞지 않아 만들어지지 않음
+@Configuration
+@EnableWebFluxSecurity
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    private final JwtTokenProvider jwtProvider;
+    private final ReactiveTokenService reactiveTokenService;
+    private final ReactiveJwtAuthenticationEntryPoint reactiveJwtAuthenticationEntryPoint;
+    private final AuthMetrics authMetrics;
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(auth -> auth
+                        .pathMatchers("/login", "/register", "/refresh").permitAll()
+                        .pathMatchers("/admin/**", "/revoke-token", "/revoke-all", "/introspect").hasRole("ADMIN")
+                        .pathMatchers("/user/**").hasAnyRole("ADMIN", "USER")
+                        .anyExchange().authenticated()
+                )
+                .addFilterAt(new ReactiveJwtAuthenticationFilter(jwtProvider, reactiveTokenService, authMetrics), SecurityWebFiltersOrder.AUTHENTICATION)
+                .exceptionHandling(ex -> ex.authenticationEntryPoint(reactiveJwtAuthenticationEntryPoint))
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.seungwook.jwt.config;
+
+import com.seungwook.jwt.metrics.AuthMetrics;
+import com.seungwook.jwt.service.auth.TokenGenerationService;
+import com.seungwook.jwt.service.redis.BlacklistNearCache;
+import com.seungwook.jwt.service.redis.RedisCircuitBreaker;
+import com.seungwook.jwt.service.redis.RedisCommandBudget;
+import com.seungwook.jwt.service.redis.RedisGuard;
+import com.seungwook.jwt.service.redis.RedisShardListeners;
+import com.seungwook.jwt.service.redis.RedisShards;
+import io.lettuce.core.ClientOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+// 토큰 상태 저장소가 redis인 경우에만 사용 (jwt.state-store=memory 이면 Redis 빈을 만들지 않음)
+@Configuration
+@ConditionalOnProperty(name = "jwt.state-store", havingValue = "redis", matchIfMissing = true)
+public class RedisConfig {
+
+    // Redis 명령의 지연 예산 (기본: 읽기 50ms, 쓰기 200ms), Lettuce 명령 타임아웃으로 적용
+    @Bean
+    public RedisCommandBudget redisCommandBudget(@Value("${jwt.redis.budget.read-ms:50}") long readBudgetMillis,
+                                                 @Value("${jwt.redis.budget.write-ms:200}") long writeBudgetMillis) {
+        return new RedisCommandBudget(readBudgetMillis, writeBudgetMillis);
+    }
+
+    // 기본 연결(spring.data.redis.*)에도 같은 명령 타임아웃 적용 (Spring Boot가 만든 클라이언트 옵션은 유지)
+    // 같은 연결을 쓰는 다른 기능(Spring Session 등)의 명령에도 적용됨
+    @Bean
+    public LettuceClientConfigurationBuilderCustomizer redisCommandBudgetCustomizer(RedisCommandBudget redisCommandBudget) {
+        return builder -> builder.clientOptions(redisCommandBudget.apply(
+                builder.build().getClientOptions().orElseGet(ClientOptions::create)));
+    }
+
+    // 인증 경로 Redis 호출의 차단기, 저하 모드 (기본: 연속 5회 실패 시 5초간 차단)
+    @Bean
+    public RedisGuard redisGuard(AuthMetrics authMetrics, MeterRegistry meterRegistry,
+                                 @Value("${jwt.redis.budget.read-ms:50}") long readBudgetMillis,
+                                 @Value("${jwt.redis.circuit.failure-threshold:5}") int failureThreshold,
+                                 @Value("${jwt.redis.circuit.open-ms:5000}") long openMillis,
+                                 @Value("${jwt.redis.degraded-mode.enabled:true}") boolean degradedMode,
+                                 @Value("${jwt.redis.replay.capacity:10000}") int replayCapacity) {
+        return new RedisGuard(authMetrics, meterRegistry, new RedisCircuitBreaker(failureThreshold, openMillis),
+                readBudgetMillis, degradedMode, replayCapacity);
+    }
+
+    // 토큰 상태 저장 샤드 (jwt.redis.shard.endpoints=host:port,host:port 로 기본 연결 외의 노드 추가)
+    // 노드를 바꿀 때는 변경 전 목록(previous-endpoints)과 이관 종료 시각(migration-until, ISO-8601)을 함께 지정
+    @Bean(destroyMethod = "destroy")
+    public RedisShards redisShards(StringRedisTemplate stringRedisTemplate,
+                                   @Value("${jwt.redis.shard.endpoints:}") String endpoints,
+                                   @Value("${jwt.redis.shard.previous-endpoints:}") String previousEndpoints,
+                                   @Value("${jwt.redis.shard.migration-until:}") String migrationUntil,
+                                   @Value("${spring.data.redis.password:}") String password,
+                                   @Value("${jwt.redis.shard.virtual-nodes:160}") int virtualNodes,
+                                   RedisCommandBudget redisCommandBudget) {
+        long migrationUntilMillis = migrationUntil.isBlank() ? 0 : Instant.parse(migrationUntil).toEpochMilli();
+        return new RedisShards(stringRedisTemplate, endpoints(endpoints), endpoints(previousEndpoints), migrationUntilMillis,
+                password, virtualNodes, redisCommandBudget.clientConfiguration());
+    }
+
+    // 블랙리스트, 토큰 세대 변경 이벤트 구독 (노드 간 로컬 복제본 동기화, 모든 샤드의 채널 구독)
+    @Bean(destroyMethod = "destroy")
+    public RedisShardListeners redisShardListeners(RedisShards redisShards, BlacklistNearCache blacklistNearCache,
+                                                   TokenGenerationService tokenGenerationService,
+                                                   @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        RedisShardListeners listeners = new RedisShardListeners(redisShards, virtualThreads);
+        listeners.addMessageListener(blacklistNearCache, new ChannelTopic(BlacklistNearCache.CHANNEL));
+        listeners.addMessageListener(tokenGenerationService, new ChannelTopic(TokenGenerationService.CHANNEL));
+        listeners.start();
+        return listeners;
+    }
+
+    private static List<String> endpoints(String endpoints) {
+        return Arrays.stream(endpoints.split(","))
+                .map(String::trim)
+                .filter(endpoint -> !endpoint.isEmpty())
+                .toList();
+    }
+}
@@ -3,27 +3,32 @@ package com.seungwook.jwt.config;
 import com.seungwook.jwt.jwt.JwtAuthenticationEntryPoint;
 import com.seungwook.jwt.jwt.JwtAuthenticationFilter;
 import com.seungwook.jwt.jwt.JwtTokenProvider;
+import com.seungwook.jwt.metrics.AuthMetrics;
 import com.seungwook.jwt.service.auth.RedisSessionService;
+import com.seungwook.jwt.service.auth.TokenGenerationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+// 서블릿(Tomcat) 실행용, 리액티브 실행(spring.main.web-application-type=reactive)은 ReactiveSecurityConfig
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SecurityConfig {
 
     private final JwtTokenProvider jwtProvider;
     private final RedisSessionService redisService;
+    private final TokenGenerationService tokenGenerationService;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
+    private final AuthMetrics authMetrics;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -32,18 +37,13 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/login", "/register", "/refresh").permitAll()
-                        .requestMatchers("/admin/**", "/revoke-token").hasRole("ADMIN")
+                        .requestMatchers("/admin/**", "/revoke-token", "/revoke-all", "/introspect").hasRole("ADMIN")
                         .requestMatchers("/user/**").hasAnyRole("ADMIN", "USER")
                         .anyRequest().authenticated()
                 )
                 .logout(AbstractHttpConfigurer::disable)
-                .addFilterBefore(new JwtAuthenticationFilter(jwtProvider, redisService), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JwtAuthenticationFilter(jwtProvider, redisService, tokenGenerationService, authMetrics), UsernamePasswordAuthenticationFilter.class)
                 .exceptionHandling(ex -> ex.authenticationEntryPoint(jwtAuthenticationEntryPoint))
                 .build();
     }
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
 }
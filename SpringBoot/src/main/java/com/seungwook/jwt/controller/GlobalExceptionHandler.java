@@ -0,0 +1,42 @@
+package com.seungwook.jwt.controller;
+
+import com.seungwook.jwt.dto.Response;
+import com.seungwook.jwt.exception.HashingCapacityExceededException;
+import com.seungwook.jwt.exception.RedisUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@Slf4j
+@RestControllerAdvice
+public class GlobalExceptionHandler
+{
+    // 해시 작업 과부하 - 요청 스레드를 붙잡지 않고 즉시 503 응답
+    @ExceptionHandler(HashingCapacityExceededException.class)
+    public ResponseEntity<Response<Void>> handleHashingCapacityExceeded(HashingCapacityExceededException e)
+    {
+        log.warn("해시 작업 거절: {}", e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Response.<Void>builder()
+                        .message("요청이 많아 잠시 후 다시 시도해주세요")
+                        .build());
+    }
+
+    // Redis 지연 예산 초과 또는 차단기 열림 - 대체 수단이 없는 호출(토큰 발급, 교체 등)은 즉시 503 응답
+    @ExceptionHandler(RedisUnavailableException.class)
+    public ResponseEntity<Response<Void>> handleRedisUnavailable(RedisUnavailableException e)
+    {
+        log.warn("Redis 호출 거절: {}", e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Response.<Void>builder()
+                        .message("일시적으로 요청을 처리할 수 없습니다. 잠시 후 다시 시도해주세요")
+                        .build());
+    }
+}
@@ -0,0 +1,46 @@
+package com.seungwook.jwt.controller.auth;
+
+import com.seungwook.jwt.dto.Response;
+import com.seungwook.jwt.dto.auth.request.IntrospectRequest;
+import com.seungwook.jwt.dto.auth.response.IntrospectResponse;
+import com.seungwook.jwt.dto.auth.response.TokenIntrospection;
+import com.seungwook.jwt.service.auth.AuthService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class IntrospectController
+{
+    private final AuthService authService;
+
+    // 관리자 전용 토큰 일괄 확인 API (게이트웨이가 여러 토큰의 상태를 한 번에 확인)
+    @PostMapping("/introspect")
+    public ResponseEntity<Response<List<TokenIntrospection>>> introspect(@RequestBody IntrospectRequest request)
+    {
+        IntrospectResponse result = authService.introspect(request.getTokens());
+
+        if (!result.isSuccess())
+        {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Response.<List<TokenIntrospection>>builder()
+                            .message(result.getErrorMessage())
+                            .build());
+        }
+
+        return ResponseEntity.ok(Response.<List<TokenIntrospection>>builder()
+                .message("토큰 확인 완료")
+                .data(result.getResults())
+                .build());
+    }
+}
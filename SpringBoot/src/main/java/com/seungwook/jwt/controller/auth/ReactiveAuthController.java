@@ -0,0 +1,142 @@
+package com.seungwook.jwt.controller.auth;
+
+import com.seungwook.jwt.dto.Response;
+import com.seungwook.jwt.dto.auth.request.IntrospectRequest;
+import com.seungwook.jwt.dto.auth.request.LoginRequest;
+import com.seungwook.jwt.dto.auth.request.RefreshRequest;
+import com.seungwook.jwt.dto.auth.request.RegisterRequest;
+import com.seungwook.jwt.dto.auth.request.RevokeAllRequest;
+import com.seungwook.jwt.dto.auth.request.RevokeTokenRequest;
+import com.seungwook.jwt.dto.auth.response.AuthResponse;
+import com.seungwook.jwt.dto.auth.response.TokenIntrospection;
+import com.seungwook.jwt.service.auth.ReactiveAuthService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * 리액티브(WebFlux) 실행용 인증 API
+ * 경로, 요청/응답 형식은 서블릿 컨트롤러(Login, Refresh, Register, Revoke, IntrospectController)와 같음
+ */
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveAuthController
+{
+    private final ReactiveAuthService reactiveAuthService;
+
+    @PostMapping("/register")
+    public Mono<ResponseEntity<Response<AuthResponse>>> register(@RequestBody RegisterRequest request)
+    {
+        return reactiveAuthService.registerAndAuthenticate(request.getRole())
+                .map(result -> ResponseEntity.ok(Response.<AuthResponse>builder()
+                        .message("회원가입에 성공했습니다")
+                        .data(result.getAuthResponse())
+                        .build()));
+    }
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<Response<AuthResponse>>> login(@RequestBody LoginRequest request)
+    {
+        return reactiveAuthService.login(request.getUuid())
+                .map(result -> result.isSuccess()
+                        ? ok("로그인에 성공했습니다", result.getAuthResponse())
+                        : unauthorized(result.getErrorMessage()));
+    }
+
+    @PostMapping("/logout")
+    public Mono<ResponseEntity<Response<Void>>> logout(@RequestHeader(value = "Authorization", required = false) String authHeader)
+    {
+        ResponseEntity<Response<Void>> response = ResponseEntity.ok(Response.<Void>builder()
+                .message("로그아웃 되었습니다")
+                .build());
+
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) return Mono.just(response);
+
+        return reactiveAuthService.logout(authHeader.substring(7)).thenReturn(response);
+    }
+
+    @PostMapping("/refresh")
+    public Mono<ResponseEntity<Response<AuthResponse>>> refresh(@RequestHeader("Authorization") String authHeader, @RequestBody RefreshRequest refreshRequest)
+    {
+        return reactiveAuthService.refreshTokens(authHeader.substring(7), refreshRequest.getRefreshToken())
+                .map(result -> result.isSuccess()
+                        ? ok("토큰이 갱신되었습니다", result.getAuthResponse())
+                        : unauthorized(result.getErrorMessage()));
+    }
+
+    // 관리자 전용 토큰 무효화 API (토큰 탈취 대응)
+    @PostMapping("/revoke-token")
+    public Mono<ResponseEntity<Response<Void>>> revokeToken(@RequestBody RevokeTokenRequest request)
+    {
+        return reactiveAuthService.revokeToken(request.getToken())
+                .map(success -> success
+                        ? ResponseEntity.ok(Response.<Void>builder()
+                                .message("토큰이 무효화되었습니다")
+                                .build())
+                        : ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                .body(Response.<Void>builder()
+                                        .message("유효하지 않은 토큰입니다")
+                                        .build()));
+    }
+
+    // 관리자 전용 사용자 전체 토큰 무효화 API (계정 탈취 대응)
+    @PostMapping("/revoke-all")
+    public Mono<ResponseEntity<Response<Void>>> revokeAll(@RequestBody RevokeAllRequest request)
+    {
+        if (request.getUuid() == null || request.getUuid().isBlank())
+        {
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Response.<Void>builder()
+                            .message("사용자 UUID가 필요합니다")
+                            .build()));
+        }
+
+        return reactiveAuthService.revokeAllTokens(request.getUuid())
+                .thenReturn(ResponseEntity.ok(Response.<Void>builder()
+                        .message("사용자의 모든 토큰이 무효화되었습니다")
+                        .build()));
+    }
+
+    // 관리자 전용 토큰 일괄 확인 API (게이트웨이가 여러 토큰의 상태를 한 번에 확인)
+    @PostMapping("/introspect")
+    public Mono<ResponseEntity<Response<List<TokenIntrospection>>>> introspect(@RequestBody IntrospectRequest request)
+    {
+        return reactiveAuthService.introspect(request.getTokens())
+                .map(result -> result.isSuccess()
+                        ? ResponseEntity.ok(Response.<List<TokenIntrospection>>builder()
+                                .message("토큰 확인 완료")
+                                .data(result.getResults())
+                                .build())
+                        : ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                .body(Response.<List<TokenIntrospection>>builder()
+                                        .message(result.getErrorMessage())
+                                        .build()));
+    }
+
+    private static ResponseEntity<Response<AuthResponse>> ok(String message, AuthResponse data)
+    {
+        return ResponseEntity.ok(Response.<AuthResponse>builder()
+                .message(message)
+                .data(data)
+                .build());
+    }
+
+    private static ResponseEntity<Response<AuthResponse>> unauthorized(String message)
+    {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Response.<AuthResponse>builder()
+                        .message(message)
+                        .build());
+    }
+}
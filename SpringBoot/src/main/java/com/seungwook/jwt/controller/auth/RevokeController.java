@@ -1,10 +1,12 @@
 package com.seungwook.jwt.controller.auth;
 
 import com.seungwook.jwt.dto.Response;
+import com.seungwook.jwt.dto.auth.request.RevokeAllRequest;
 import com.seungwook.jwt.dto.auth.request.RevokeTokenRequest;
 import com.seungwook.jwt.service.auth.AuthService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -13,6 +15,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 @Slf4j
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class RevokeController
 {
@@ -36,4 +39,23 @@ public class RevokeController
                         .message("유효하지 않은 토큰입니다")
                         .build());
     }
+
+    // 관리자 전용 사용자 전체 토큰 무효화 API (계정 탈취 대응)
+    @PostMapping("/revoke-all")
+    public ResponseEntity<Response<Void>> revokeAll(@RequestBody RevokeAllRequest request)
+    {
+        if (request.getUuid() == null || request.getUuid().isBlank())
+        {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Response.<Void>builder()
+                            .message("사용자 UUID가 필요합니다")
+                            .build());
+        }
+
+        authService.revokeAllTokens(request.getUuid());
+
+        return ResponseEntity.ok(Response.<Void>builder()
+                .message("사용자의 모든 토큰이 무효화되었습니다")
+                .build());
+    }
 }
\ No newline at end of file
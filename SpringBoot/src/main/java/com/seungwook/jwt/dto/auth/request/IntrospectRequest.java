@@ -0,0 +1,13 @@
+package com.seungwook.jwt.dto.auth.request;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor
+public class IntrospectRequest {
+    private List<String> tokens;
+}
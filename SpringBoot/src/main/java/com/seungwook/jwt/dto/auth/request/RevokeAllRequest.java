@@ -0,0 +1,11 @@
+package com.seungwook.jwt.dto.auth.request;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter
+@NoArgsConstructor
+public class RevokeAllRequest {
+    private String uuid;
+}
@@ -0,0 +1,22 @@
+package com.seungwook.jwt.dto.auth.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class IntrospectResponse {
+    private final boolean success;
+    private final List<TokenIntrospection> results;
+    private final String errorMessage;
+
+    public static IntrospectResponse success(List<TokenIntrospection> results) {
+        return new IntrospectResponse(true, results, null);
+    }
+
+    public static IntrospectResponse failure(String errorMessage) {
+        return new IntrospectResponse(false, null, errorMessage);
+    }
+}
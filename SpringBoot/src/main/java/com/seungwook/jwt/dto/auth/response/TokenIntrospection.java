@@ -0,0 +1,26 @@
+package com.seungwook.jwt.dto.auth.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 토큰 하나의 확인 결과 (비활성 토큰은 active만 포함)
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TokenIntrospection {
+    private static final TokenIntrospection INACTIVE = new TokenIntrospection(false, null, null, null);
+
+    private final boolean active;
+    private final String uuid;
+    private final String role;
+    private final Long expiresIn;   // 남은 유효기간 (초)
+
+    public static TokenIntrospection active(String uuid, String role, long remainingTimeMillis) {
+        return new TokenIntrospection(true, uuid, role, remainingTimeMillis / 1000);
+    }
+
+    public static TokenIntrospection inactive() {
+        return INACTIVE;
+    }
+}
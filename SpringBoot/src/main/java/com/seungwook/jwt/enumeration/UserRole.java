@@ -1,5 +1,12 @@
 package com.seungwook.jwt.enumeration;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
 public enum UserRole {
-    ADMIN, USER
+    ADMIN("A"), USER("U");
+
+    private final String code;   // compact 토큰 프로필에서 사용하는 짧은 권한 코드
 }
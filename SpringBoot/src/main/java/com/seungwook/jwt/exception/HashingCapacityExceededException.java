@@ -0,0 +1,17 @@
+package com.seungwook.jwt.exception;
+
+/**
+ * 해시 작업 대기열이 가득 차 요청을 즉시 거절하거나, 최대 대기 시간 안에 해시가 끝나지 않을 때 발생
+ */
+public class HashingCapacityExceededException extends RuntimeException
+{
+    public HashingCapacityExceededException(String message)
+    {
+        super(message);
+    }
+
+    public HashingCapacityExceededException(String message, Throwable cause)
+    {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,17 @@
+package com.seungwook.jwt.exception;
+
+/**
+ * Redis 호출이 지연 예산을 넘겼거나, 실패했거나, 차단기가 열려 있어 즉시 거절할 때 발생
+ */
+public class RedisUnavailableException extends RuntimeException
+{
+    public RedisUnavailableException(String message)
+    {
+        super(message);
+    }
+
+    public RedisUnavailableException(String message, Throwable cause)
+    {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,242 @@
+package com.seungwook.jwt.jwt;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+/**
+ * 이 서비스가 발급하는 고정 클레임 구성(TokenProfile)의 HMAC 토큰 전용 발급기
+ * - 헤더 세그먼트는 JJWT가 만든 값을 그대로 재사용 (매번 직렬화하지 않음)
+ * - 클레임은 재사용 버퍼에 JSON으로 직접 기록하고, 재사용 Mac으로 서명 (ScratchPool)
+ * - 결과 토큰은 JJWT 발급 토큰과 같은 형식이므로 JJWT와 HmacTokenVerifier 모두로 검증 가능
+ *
+ * 문자열 클레임에 JSON 이스케이프가 필요한 문자가 있으면 null을 반환하여 호출 측이 JJWT로 발급하도록 함
+ */
+final class HmacTokenMinter
+{
+    private static final byte[] BASE64URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[] headerSegment;
+    private final int signatureLength;
+    private final ScratchPool<Scratch> scratch;
+
+    /**
+     * @param algorithm     JCA MAC 알고리즘 (HmacSHA512, HmacSHA256)
+     * @param headerSegment 같은 알고리즘으로 JJWT가 발급하는 토큰의 Base64URL 헤더
+     */
+    HmacTokenMinter(SecretKey key, String algorithm, String headerSegment)
+    {
+        this.headerSegment = headerSegment.getBytes(StandardCharsets.US_ASCII);
+        this.scratch = new ScratchPool<>(() -> new Scratch(key, algorithm));
+
+        Scratch probe = scratch.acquire();
+        this.signatureLength = probe.mac.getMacLength();
+        scratch.release(probe);
+    }
+
+    /**
+     * subject, role이 null이면 해당 클레임을 생략 (리프레시 토큰), family가 null이면 fam 클레임 생략 (액세스 토큰)
+     * generation이 0이면 gen 클레임 생략
+     * role은 프로필의 클레임 이름으로 그대로 기록하며, nbf는 프로필에 따라 iat와 같은 값으로 기록
+     *
+     * @return 발급된 토큰, 직접 기록할 수 없는 값이면 null
+     */
+    String mint(TokenProfile profile, String jti, String subject, String role, String family, long generation, long issuedAtSeconds, long expirationSeconds)
+    {
+        Scratch s = scratch.acquire();
+        try
+        {
+            return mint(s, profile, jti, subject, role, family, generation, issuedAtSeconds, expirationSeconds);
+        }
+        finally
+        {
+            scratch.release(s);
+        }
+    }
+
+    private String mint(Scratch s, TokenProfile profile, String jti, String subject, String role, String family, long generation, long issuedAtSeconds, long expirationSeconds)
+    {
+        Payload payload = s.payload.reset();
+
+        payload.raw('{');
+        if (!payload.string("jti", jti, false)) return null;
+        if (!payload.string("sub", subject, true)) return null;
+        if (!payload.string(profile.roleClaim(), role, true)) return null;
+        if (!payload.string("fam", family, true)) return null;
+        if (generation > 0) payload.number("gen", generation);
+        payload.number("iat", issuedAtSeconds);
+        if (profile.includeNbf()) payload.number("nbf", issuedAtSeconds);
+        payload.number("exp", expirationSeconds);
+        payload.raw('}');
+
+        // 헤더.페이로드.서명 (Base64URL, 패딩 없음)
+        int payloadSegmentLength = encodedLength(payload.length);
+        byte[] out = s.out(headerSegment.length + 1 + payloadSegmentLength + 1 + encodedLength(signatureLength));
+
+        System.arraycopy(headerSegment, 0, out, 0, headerSegment.length);
+        int position = headerSegment.length;
+        out[position++] = '.';
+        position = encode(payload.bytes, payload.length, out, position);
+
+        try
+        {
+            s.mac.update(out, 0, position);
+            s.mac.doFinal(s.signature, 0);
+        }
+        catch (GeneralSecurityException e)
+        {
+            return null;
+        }
+
+        out[position++] = '.';
+        position = encode(s.signature, signatureLength, out, position);
+
+        return new String(out, 0, position, StandardCharsets.US_ASCII);
+    }
+
+    private static int encodedLength(int length)
+    {
+        return (length * 4 + 2) / 3;
+    }
+
+    // src[0, length)를 Base64URL(패딩 없음)로 out[position]부터 기록, 다음 위치 반환
+    private static int encode(byte[] src, int length, byte[] out, int position)
+    {
+        int i = 0;
+        for (; i + 3 <= length; i += 3)
+        {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+            out[position++] = BASE64URL[bits >>> 18 & 0x3F];
+            out[position++] = BASE64URL[bits >>> 12 & 0x3F];
+            out[position++] = BASE64URL[bits >>> 6 & 0x3F];
+            out[position++] = BASE64URL[bits & 0x3F];
+        }
+
+        int remaining = length - i;
+        if (remaining == 1)
+        {
+            int bits = (src[i] & 0xFF) << 16;
+            out[position++] = BASE64URL[bits >>> 18 & 0x3F];
+            out[position++] = BASE64URL[bits >>> 12 & 0x3F];
+        }
+        else if (remaining == 2)
+        {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8;
+            out[position++] = BASE64URL[bits >>> 18 & 0x3F];
+            out[position++] = BASE64URL[bits >>> 12 & 0x3F];
+            out[position++] = BASE64URL[bits >>> 6 & 0x3F];
+        }
+
+        return position;
+    }
+
+    // 재사용 객체 (한 번에 한 스레드만 사용)
+    private static final class Scratch
+    {
+        private final Mac mac;
+        private final byte[] signature;
+        private final Payload payload = new Payload();
+        private byte[] out = new byte[512];
+
+        Scratch(SecretKey key, String algorithm)
+        {
+            try
+            {
+                this.mac = Mac.getInstance(algorithm);
+                this.mac.init(key);
+                this.signature = new byte[mac.getMacLength()];
+            }
+            catch (GeneralSecurityException e)
+            {
+                throw new IllegalStateException("HMAC 초기화 실패", e);
+            }
+        }
+
+        byte[] out(int length)
+        {
+            if (out.length < length) out = new byte[length];
+            return out;
+        }
+    }
+
+    /**
+     * 클레임 JSON을 기록하는 재사용 버퍼
+     */
+    private static final class Payload
+    {
+        private byte[] bytes = new byte[256];
+        private int length;
+
+        Payload reset()
+        {
+            length = 0;
+            return this;
+        }
+
+        void raw(char c)
+        {
+            ensure(1);
+            bytes[length++] = (byte) c;
+        }
+
+        // 이스케이프가 필요 없는 출력 가능한 ASCII 문자열만 기록 (그 외에는 false)
+        boolean string(String name, String value, boolean optional)
+        {
+            if (value == null) return optional;
+
+            ensure(name.length() + value.length() + 6);
+            if (length > 1) bytes[length++] = ',';
+            length = ascii(name, length);
+            bytes[length++] = ':';
+            bytes[length++] = '"';
+            for (int i = 0; i < value.length(); i++)
+            {
+                char c = value.charAt(i);
+                if (c < 0x20 || c > 0x7E || c == '"' || c == '\\') return false;
+                bytes[length++] = (byte) c;
+            }
+            bytes[length++] = '"';
+            return true;
+        }
+
+        void number(String name, long value)
+        {
+            ensure(name.length() + 25);
+            if (length > 1) bytes[length++] = ',';
+            length = ascii(name, length);
+            bytes[length++] = ':';
+
+            if (value < 0)
+            {
+                bytes[length++] = '-';
+                value = -value;
+            }
+
+            // 자릿수만큼 뒤에서부터 기록 (중간 문자열 없이)
+            int digits = 1;
+            for (long v = value / 10; v > 0; v /= 10) digits++;
+            for (int i = length + digits - 1; i >= length; i--)
+            {
+                bytes[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            length += digits;
+        }
+
+        private int ascii(String name, int position)
+        {
+            bytes[position++] = '"';
+            for (int i = 0; i < name.length(); i++) bytes[position++] = (byte) name.charAt(i);
+            bytes[position++] = '"';
+            return position;
+        }
+
+        private void ensure(int extra)
+        {
+            if (length + extra > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package com.seungwook.jwt.jwt;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 이 서비스가 발급하는 형태(HMAC, 고정 헤더, 평탄한 클레임)의 토큰 전용 검증기
+ * - Mac과 버퍼를 재사용하여(ScratchPool) 요청마다 파서, JSON 트리, 중간 문자열을 만들지 않음
+ * - 서명은 원본 바이트 기준으로 계산하여 상수 시간 비교
+ * - 페이로드는 필요한 클레임(sub, role 또는 rl, jti, fam, gen, exp, nbf)만 직접 읽음
+ *
+ * 헤더가 다르거나, 페이로드에 이스케이프/중첩 객체 등 예상하지 못한 형태가 있으면 fallback(JJWT)에 위임
+ */
+final class HmacTokenVerifier
+{
+    private static final byte[] SUB = "sub".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ROLE = "role".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ROLE_CODE = "rl".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JTI = "jti".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FAM = "fam".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] GEN = "gen".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EXP = "exp".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NBF = "nbf".getBytes(StandardCharsets.US_ASCII);
+
+    private static final String[] LITERALS = {"true", "false", "null"};
+    private static final int[] BASE64URL = new int[128];
+
+    static
+    {
+        Arrays.fill(BASE64URL, -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) BASE64URL[alphabet.charAt(i)] = i;
+    }
+
+    private final String headerSegment;
+    private final int signatureLength;
+    private final int signatureSegmentLength;  // 서명의 Base64URL(패딩 없음) 길이
+    private final ScratchPool<Scratch> scratch;
+    private final LongSupplier clock;          // 현재 시각 (epoch millis)
+
+    /**
+     * @param algorithm     JCA MAC 알고리즘 (HmacSHA512, HmacSHA256)
+     * @param headerSegment 같은 알고리즘으로 JJWT가 발급하는 토큰의 Base64URL 헤더 (이 헤더를 가진 토큰만 직접 검증)
+     */
+    HmacTokenVerifier(SecretKey key, String algorithm, String headerSegment)
+    {
+        this(key, algorithm, headerSegment, System::currentTimeMillis);
+    }
+
+    // 만료 및 사용 시작 시각의 경계를 시험할 수 있도록 시계 주입
+    HmacTokenVerifier(SecretKey key, String algorithm, String headerSegment, LongSupplier clock)
+    {
+        this.headerSegment = headerSegment;
+        this.clock = clock;
+        this.scratch = new ScratchPool<>(() -> new Scratch(key, algorithm));
+
+        Scratch probe = scratch.acquire();
+        this.signatureLength = probe.mac.getMacLength();
+        scratch.release(probe);
+        this.signatureSegmentLength = (signatureLength * 4 + 2) / 3;
+    }
+
+    Optional<VerifiedToken> verify(String token, Function<String, Optional<VerifiedToken>> fallback)
+    {
+        int headerLength = headerSegment.length();
+        if (!token.startsWith(headerSegment) || token.length() <= headerLength || token.charAt(headerLength) != '.')
+        {
+            return fallback.apply(token);
+        }
+
+        int signatureDot = token.indexOf('.', headerLength + 1);
+        if (signatureDot < 0 || token.length() - signatureDot - 1 != signatureSegmentLength) return Optional.empty();
+
+        Scratch s = scratch.acquire();
+        try
+        {
+            return verify(token, signatureDot, fallback, s);
+        }
+        finally
+        {
+            scratch.release(s);
+        }
+    }
+
+    private Optional<VerifiedToken> verify(String token, int signatureDot, Function<String, Optional<VerifiedToken>> fallback, Scratch s)
+    {
+        int headerLength = headerSegment.length();
+
+        // 1. 서명 검증 (헤더.페이로드 원본 바이트)
+        byte[] signingInput = s.buffer(signatureDot);
+        for (int i = 0; i < signatureDot; i++)
+        {
+            char c = token.charAt(i);
+            if (c > 0x7F) return Optional.empty();
+            signingInput[i] = (byte) c;
+        }
+
+        try
+        {
+            s.mac.update(signingInput, 0, signatureDot);
+            s.mac.doFinal(s.expected, 0);
+        }
+        catch (GeneralSecurityException e)
+        {
+            return fallback.apply(token);
+        }
+
+        if (decode(token, signatureDot + 1, token.length(), s.actual) != signatureLength) return Optional.empty();
+        if (!MessageDigest.isEqual(s.expected, s.actual)) return Optional.empty();
+
+        // 2. 페이로드 디코딩 및 필요한 클레임만 추출
+        int payloadLength = decode(token, headerLength + 1, signatureDot, s.payload(signatureDot));
+        if (payloadLength < 0) return Optional.empty();
+
+        Claims claims = s.claims;
+        if (!claims.parse(s.payload, payloadLength)) return fallback.apply(token);
+
+        // 3. 만료 및 사용 시작 시각 확인
+        long now = clock.getAsLong();
+        if (!claims.hasExp || now > claims.exp * 1000) return Optional.empty();
+        if (claims.hasNbf && now < claims.nbf * 1000) return Optional.empty();
+
+        // 짧은 권한 코드(rl)는 권한 전체 이름으로 변환 (알 수 없는 코드는 권한 없음)
+        String role = claims.role != null ? claims.role : TokenProfile.decodeRole(claims.roleCode);
+
+        return Optional.of(new VerifiedToken(claims.sub, role, claims.jti, claims.exp * 1000, claims.gen, claims.fam));
+    }
+
+    // Base64URL(패딩 없음) 구간을 out에 디코딩, 디코딩된 길이 반환 (형식 오류, 비정규 인코딩 또는 버퍼 초과 시 -1)
+    // 남는 비트가 0이 아닌 비정규 인코딩을 거부하여, 같은 서명을 다른 문자열로 표현한 토큰을 받지 않음
+    private static int decode(String s, int from, int to, byte[] out)
+    {
+        int length = to - from;
+        if (length % 4 == 1) return -1;
+
+        int outLength = length * 3 / 4;
+        if (outLength > out.length) return -1;
+
+        int buffer = 0;
+        int bits = 0;
+        int position = 0;
+        for (int i = from; i < to; i++)
+        {
+            char c = s.charAt(i);
+            int value = c < 128 ? BASE64URL[c] : -1;
+            if (value < 0) return -1;
+
+            buffer = (buffer << 6) | value;
+            bits += 6;
+            if (bits >= 8)
+            {
+                bits -= 8;
+                out[position++] = (byte) (buffer >> bits);
+            }
+        }
+
+        // 남는 비트는 반드시 0 (정규 인코딩)
+        if ((buffer & ((1 << bits) - 1)) != 0) return -1;
+
+        return position;
+    }
+
+    // 재사용 객체 (한 번에 한 스레드만 사용)
+    private static final class Scratch
+    {
+        private final Mac mac;
+        private final byte[] expected;
+        private final byte[] actual;
+        private final Claims claims = new Claims();
+        private byte[] signingInput = new byte[512];
+        private byte[] payload = new byte[512];
+
+        Scratch(SecretKey key, String algorithm)
+        {
+            try
+            {
+                this.mac = Mac.getInstance(algorithm);
+                this.mac.init(key);
+                this.expected = new byte[mac.getMacLength()];
+                this.actual = new byte[mac.getMacLength()];
+            }
+            catch (GeneralSecurityException e)
+            {
+                throw new IllegalStateException("HMAC 초기화 실패", e);
+            }
+        }
+
+        byte[] buffer(int length)
+        {
+            if (signingInput.length < length) signingInput = new byte[length];
+            return signingInput;
+        }
+
+        byte[] payload(int length)
+        {
+            if (payload.length < length) payload = new byte[length];
+            return payload;
+        }
+    }
+
+    /**
+     * 평탄한 JSON 객체에서 필요한 클레임만 읽는 최소 파서
+     * 문자열 이스케이프, 중첩 객체/배열, 소수 등을 만나면 false를 반환하여 JJWT로 위임
+     */
+    private static final class Claims
+    {
+        private String sub;
+        private String role;
+        private String roleCode;
+        private String jti;
+        private String fam;
+        private long gen;
+        private long exp;
+        private long nbf;
+        private boolean hasExp;
+        private boolean hasNbf;
+
+        private byte[] b;
+        private int n;
+        private int i;
+
+        boolean parse(byte[] bytes, int length)
+        {
+            sub = role = roleCode = jti = fam = null;
+            hasExp = hasNbf = false;
+            gen = 0;
+            b = bytes;
+            n = length;
+            i = 0;
+
+            skipWhitespace();
+            if (!consume('{')) return false;
+
+            skipWhitespace();
+            if (consume('}')) return atEnd();
+
+            while (true)
+            {
+                skipWhitespace();
+                if (!consume('"')) return false;
+
+                int keyStart = i;
+                int keyEnd = stringEnd();
+                if (keyEnd < 0) return false;
+                i = keyEnd + 1;
+
+                skipWhitespace();
+                if (!consume(':')) return false;
+                skipWhitespace();
+                if (i >= n) return false;
+
+                if (b[i] == '"')
+                {
+                    i++;
+                    int valueStart = i;
+                    int valueEnd = stringEnd();
+                    if (valueEnd < 0) return false;
+                    i = valueEnd + 1;
+
+                    String value = null;
+                    if (keyEquals(keyStart, keyEnd, SUB)) sub = value = ascii(valueStart, valueEnd);
+                    else if (keyEquals(keyStart, keyEnd, ROLE)) role = value = ascii(valueStart, valueEnd);
+                    else if (keyEquals(keyStart, keyEnd, ROLE_CODE)) roleCode = value = ascii(valueStart, valueEnd);
+                    else if (keyEquals(keyStart, keyEnd, JTI)) jti = value = ascii(valueStart, valueEnd);
+                    else if (keyEquals(keyStart, keyEnd, FAM)) fam = value = ascii(valueStart, valueEnd);
+                    if (value == null && (keyEquals(keyStart, keyEnd, EXP) || keyEquals(keyStart, keyEnd, NBF) || keyEquals(keyStart, keyEnd, GEN))) return false;
+                }
+                else if (b[i] == '-' || (b[i] >= '0' && b[i] <= '9'))
+                {
+                    boolean negative = consume('-');
+                    int digitsStart = i;
+                    long value = 0;
+                    while (i < n && b[i] >= '0' && b[i] <= '9')
+                    {
+                        if (i - digitsStart >= 18) return false;
+                        value = value * 10 + (b[i++] - '0');
+                    }
+                    if (i == digitsStart) return false;
+                    if (negative) value = -value;
+
+                    if (keyEquals(keyStart, keyEnd, EXP))
+                    {
+                        exp = value;
+                        hasExp = true;
+                    }
+                    else if (keyEquals(keyStart, keyEnd, NBF))
+                    {
+                        nbf = value;
+                        hasNbf = true;
+                    }
+                    else if (keyEquals(keyStart, keyEnd, GEN))
+                    {
+                        gen = value;
+                    }
+                    else if (keyEquals(keyStart, keyEnd, SUB) || keyEquals(keyStart, keyEnd, ROLE) || keyEquals(keyStart, keyEnd, ROLE_CODE) || keyEquals(keyStart, keyEnd, JTI)
+                            || keyEquals(keyStart, keyEnd, FAM))
+                    {
+                        return false;
+                    }
+                }
+                else if (!skipLiteral())
+                {
+                    return false;
+                }
+
+                skipWhitespace();
+                if (consume(',')) continue;
+                if (consume('}')) return atEnd();
+                return false;
+            }
+        }
+
+        // 이스케이프가 없는 문자열의 닫는 따옴표 위치 (이스케이프 또는 비 ASCII면 -1)
+        private int stringEnd()
+        {
+            for (int j = i; j < n; j++)
+            {
+                byte c = b[j];
+                if (c == '"') return j;
+                if (c == '\\' || c < 0x20) return -1;
+            }
+            return -1;
+        }
+
+        private boolean skipLiteral()
+        {
+            for (String literal : LITERALS)
+            {
+                if (i + literal.length() > n) continue;
+
+                boolean matched = true;
+                for (int j = 0; j < literal.length(); j++)
+                {
+                    if (b[i + j] != literal.charAt(j))
+                    {
+                        matched = false;
+                        break;
+                    }
+                }
+
+                if (matched)
+                {
+                    i += literal.length();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean keyEquals(int start, int end, byte[] key)
+        {
+            if (end - start != key.length) return false;
+            for (int j = 0; j < key.length; j++)
+            {
+                if (b[start + j] != key[j]) return false;
+            }
+            return true;
+        }
+
+        private String ascii(int start, int end)
+        {
+            return new String(b, start, end - start, StandardCharsets.US_ASCII);
+        }
+
+        private void skipWhitespace()
+        {
+            while (i < n && (b[i] == ' ' || b[i] == '\t' || b[i] == '\n' || b[i] == '\r')) i++;
+        }
+
+        private boolean consume(char c)
+        {
+            if (i < n && b[i] == c)
+            {
+                i++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean atEnd()
+        {
+            skipWhitespace();
+            return i == n;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.seungwook.jwt.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 새로 발급한 토큰과 발급 시점에 결정된 메타데이터
+ * 발급 직후 저장소 TTL 계산을 위해 토큰을 다시 파싱하지 않도록 함께 전달
+ */
+@Getter
+@AllArgsConstructor
+public class IssuedToken
+{
+    private final String token;
+    private final String jti;
+    private final long expiration;   // 만료 시각 (epoch millis)
+
+    // 토큰 남은 유효기간
+    public long getRemainingTimeMillis()
+    {
+        return Math.max(0, expiration - System.currentTimeMillis());
+    }
+}
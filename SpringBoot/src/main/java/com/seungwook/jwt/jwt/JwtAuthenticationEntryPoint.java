@@ -2,6 +2,7 @@ package com.seungwook.jwt.jwt;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
@@ -10,16 +11,19 @@ import java.io.IOException;
 
 /**
  * 인증 실패 시, JSON 형태로 401 응답을 반환하는 진입 지점
+ * 필터가 토큰을 거른 이유가 있으면 그에 맞는 응답을 사용 (미리 만들어 둔 본문)
  */
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint
 {
     @Override
     public void commence(HttpServletRequest request, HttpServletResponse response, AuthenticationException authException) throws IOException
     {
+        TokenErrorResponse rejection = request.getAttribute(JwtAuthenticationFilter.REJECTION_ATTRIBUTE) instanceof TokenErrorResponse reason
+                ? reason
+                : TokenErrorResponse.UNAUTHORIZED;
 
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-        response.setContentType("application/json;charset=UTF-8");
-        response.getWriter().write("{\"error\": \"Unauthorized\"}");
+        rejection.write(response);
     }
 }
@@ -1,6 +1,10 @@
 package com.seungwook.jwt.jwt;
 
+import com.seungwook.jwt.exception.RedisUnavailableException;
+import com.seungwook.jwt.metrics.AuthMetrics;
+import com.seungwook.jwt.metrics.AuthMetrics.FilterOutcome;
 import com.seungwook.jwt.service.auth.RedisSessionService;
+import com.seungwook.jwt.service.auth.TokenGenerationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,41 +24,83 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtProvider;
     private final RedisSessionService redisService;
+    private final TokenGenerationService tokenGenerationService;
+    private final AuthMetrics authMetrics;
 
+    // 토큰 형태 또는 서명/만료 검증에 실패한 이유 (보호된 경로라면 JwtAuthenticationEntryPoint가 이 응답을 기록)
+    public static final String REJECTION_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".rejection";
+
+    /**
+     * 비용이 낮은 순서로 확인하여 위조/만료 토큰은 Redis에 닿지 않도록 함
+     * 1. 형태 확인 (문자 순회) 2. 서명/만료 검증 (로컬 CPU) 3. 무효화 확인 (로컬 복제본 또는 Redis)
+     *
+     * 형태나 서명이 잘못된 토큰은 인증 없이 다음 필터로 넘겨 공개 경로(/login 등)는 그대로 처리됨
+     */
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException
     {
 
         String header = request.getHeader("Authorization");
 
-        if (header != null && header.startsWith("Bearer "))
+        if (header == null || !header.startsWith("Bearer "))
         {
-            String token = header.substring(7);
+            authMetrics.filter(FilterOutcome.NO_HEADER);
+            chain.doFilter(request, response);
+            return;
+        }
 
-            // 블랙리스트 확인
-            if (redisService.isBlacklisted(token))
-            {
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.setContentType("application/json;charset=UTF-8");
-                response.getWriter().write("{\"error\": \"Revoked token\"}");
-                return;
-            }
+        String token = header.substring(7);
+
+        // 형태 확인 (다이제스트 계산, 캐시 조회, 서명 계산 없이 거름)
+        if (!TokenFormat.isWellFormed(token))
+        {
+            unauthenticated(request, response, chain, FilterOutcome.MALFORMED, TokenErrorResponse.MALFORMED);
+            return;
+        }
+
+        // 한 번의 파싱으로 서명 검증과 클레임 추출을 함께 처리 (Redis에서 조회하지 않음)
+        VerifiedToken verified = jwtProvider.verify(token).orElse(null);
+        if (verified == null || verified.getSubject() == null || verified.getRole() == null)
+        {
+            unauthenticated(request, response, chain, FilterOutcome.INVALID, TokenErrorResponse.INVALID);
+            return;
+        }
 
-            if (jwtProvider.validate(token))
+        try
+        {
+            // 블랙리스트 확인, 사용자 전체 무효화 확인 (토큰의 세대가 사용자의 현재 세대보다 낮으면 거부)
+            if (redisService.isBlacklisted(token, verified.getSubject()) || !tokenGenerationService.isCurrent(verified))
             {
-                // JWT 토큰에서 직접 정보 추출 (Redis에서 조회하지 않음)
-                String uuid = jwtProvider.getUuid(token);
-                String role = jwtProvider.getRole(token);
-
-                if (uuid != null && role != null)
-                {
-                    SimpleGrantedAuthority authority = new SimpleGrantedAuthority(role);
-                    Authentication auth = new UsernamePasswordAuthenticationToken(uuid, null, Collections.singletonList(authority));
-                    SecurityContextHolder.getContext().setAuthentication(auth);
-                }
+                reject(response, FilterOutcome.REVOKED, TokenErrorResponse.REVOKED);
+                return;
             }
         }
+        catch (RedisUnavailableException e)
+        {
+            // 저하 모드를 끈 상태에서 무효화 여부를 확인할 수 없으면 통과시키지 않음
+            reject(response, FilterOutcome.UNAVAILABLE, TokenErrorResponse.UNAVAILABLE);
+            return;
+        }
+
+        SimpleGrantedAuthority authority = new SimpleGrantedAuthority(verified.getRole());
+        Authentication auth = new UsernamePasswordAuthenticationToken(verified.getSubject(), null, Collections.singletonList(authority));
+        SecurityContextHolder.getContext().setAuthentication(auth);
+        authMetrics.filter(FilterOutcome.VALID);
 
         chain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private void unauthenticated(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                                 FilterOutcome outcome, TokenErrorResponse rejection) throws ServletException, IOException
+    {
+        authMetrics.filter(outcome);
+        request.setAttribute(REJECTION_ATTRIBUTE, rejection);
+        chain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletResponse response, FilterOutcome outcome, TokenErrorResponse rejection) throws IOException
+    {
+        authMetrics.filter(outcome);
+        rejection.write(response);
+    }
+}
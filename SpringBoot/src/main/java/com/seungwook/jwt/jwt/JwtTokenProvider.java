@@ -1,26 +1,41 @@
 package com.seungwook.jwt.jwt;
 
+import com.seungwook.jwt.enumeration.UserRole;
+import com.seungwook.jwt.metrics.AuthMetrics;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.MacAlgorithm;
 import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.Mac;
 import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
-import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtTokenProvider
 {
 
-    private final RedisTemplate<String, String> redisTemplate;
-    private static final String USED_TOKEN_PREFIX = "used_refresh_token:";
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AuthMetrics authMetrics;
 
     @Value("${jwt.secret}")
     private String secretKey;
@@ -31,7 +46,36 @@ public class JwtTokenProvider
     @Value("${jwt.refresh-token-expiration}")
     private long refreshTokenExpiration;
 
+    @Value("${jwt.fast-verify.enabled:true}")
+    private boolean fastVerifyEnabled;
+
+    @Value("${jwt.fast-mint.enabled:true}")
+    private boolean fastMintEnabled;
+
+    // 발급 프로필 (검증은 두 프로필 모두 허용)
+    @Value("${jwt.token-profile:STANDARD}")
+    private TokenProfile tokenProfile;
+
+    // compact 프로필 서명 알고리즘 (HS256 또는 HS512)
+    @Value("${jwt.compact.algorithm:HS256}")
+    private String compactAlgorithm;
+
+    // compact 프로필 전용 비밀키 (Base64, 비어 있으면 jwt.secret에서 HKDF로 파생)
+    @Value("${jwt.compact.secret:}")
+    private String compactSecret;
+
+    // 프로필을 STANDARD로 되돌린 뒤에도 compact 알고리즘 토큰을 받는 기한 (ISO-8601, 비어 있으면 받지 않음)
+    @Value("${jwt.compact.accept-until:}")
+    private String compactAcceptUntil;
+
     private SecretKey key;
+    private SecretKey compactKey;
+    private MacAlgorithm compactSignature;
+    private long compactAcceptUntilMillis;
+    private JwtParser parser;
+    private Function<String, Optional<VerifiedToken>> fastVerifier;
+    private HmacTokenMinter standardMinter;
+    private HmacTokenMinter compactMinter;
 
     @PostConstruct
     public void init()
@@ -39,141 +83,272 @@ public class JwtTokenProvider
         // Base64 디코딩된 비밀키를 사용하여 SecretKey 생성
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         this.key = Keys.hmacShaKeyFor(keyBytes);
-    }
 
-    public String createAccessToken(String uuid, String role)
-    {
-        Date now = new Date();
-        Date expiry = new Date(now.getTime() + accessTokenExpiration);
+        // compact 프로필이 다른 알고리즘을 쓰면 같은 비밀키를 두 알고리즘에 쓰지 않도록 별도 키 사용
+        this.compactSignature = switch (compactAlgorithm)
+        {
+            case "HS256" -> Jwts.SIG.HS256;
+            case "HS512" -> Jwts.SIG.HS512;
+            default -> throw new IllegalStateException("지원하지 않는 compact 서명 알고리즘: " + compactAlgorithm);
+        };
+        if (compactSignature == Jwts.SIG.HS512)
+        {
+            this.compactKey = key;
+        }
+        else
+        {
+            byte[] compactKeyBytes = compactSecret.isBlank()
+                    ? hkdf(keyBytes, "jwt-compact-" + compactSignature.getId(), compactSignature.getKeyBitLength() / 8)
+                    : Decoders.BASE64.decode(compactSecret);
+            if (MessageDigest.isEqual(compactKeyBytes, keyBytes)) throw new IllegalStateException("jwt.compact.secret은 jwt.secret과 달라야 합니다");
+            this.compactKey = new SecretKeySpec(compactKeyBytes, jcaName(compactSignature));
+        }
+        this.compactAcceptUntilMillis = compactAcceptUntil.isBlank() ? Long.MIN_VALUE : Instant.parse(compactAcceptUntil).toEpochMilli();
 
-        return Jwts.builder()
-                .subject(uuid)
-                .claim("role", role)
-                .issuedAt(now)
-                .claim("nbf", now.getTime() / 1000)
-                .expiration(expiry)
-                .signWith(key, Jwts.SIG.HS512)
-                .compact();
-    }
+        // 파서는 불변 객체이므로 한 번만 생성하여 재사용
+        // 헤더의 알고리즘에 맞는 키 사용, compact 알고리즘은 받는 동안에만 허용하고 그 외 알고리즘은 거부
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>()
+                {
+                    @Override
+                    protected Key locate(ProtectedHeader header)
+                    {
+                        String algorithm = header.getAlgorithm();
+                        if (Jwts.SIG.HS512.getId().equals(algorithm)) return key;
+                        if (compactSignature.getId().equals(algorithm) && acceptsCompact()) return compactKey;
+                        throw new UnsupportedJwtException("허용하지 않는 서명 알고리즘: " + algorithm);
+                    }
+                })
+                .build();
 
-    public String createRefreshToken()
-    {
-        String jti = UUID.randomUUID().toString();
-        Date now = new Date();
-        Date expiry = new Date(now.getTime() + refreshTokenExpiration);
+        // 실제 발급되는 헤더를 기준으로 전용 검증기/발급기 구성 (다른 헤더의 토큰은 JJWT로 검증)
+        String standardHeader = headerSegment(key, Jwts.SIG.HS512);
+        String compactHeader = headerSegment(compactKey, compactSignature);
 
-        String token = Jwts.builder()
-                .id(jti)
-                .issuedAt(now)
-                .claim("nbf", now.getTime() / 1000)
-                .expiration(expiry)
-                .signWith(key, Jwts.SIG.HS512)
-                .compact();
+        HmacTokenVerifier standardVerifier = new HmacTokenVerifier(key, jcaName(Jwts.SIG.HS512), standardHeader);
+        if (compactHeader.equals(standardHeader))
+        {
+            this.fastVerifier = token -> standardVerifier.verify(token, this::parseWithJjwt);
+        }
+        else
+        {
+            HmacTokenVerifier compactVerifier = new HmacTokenVerifier(compactKey, jcaName(compactSignature), compactHeader);
+            Function<String, Optional<VerifiedToken>> compactThenJjwt = token -> acceptsCompact()
+                    ? compactVerifier.verify(token, this::parseWithJjwt)
+                    : parseWithJjwt(token);
+            this.fastVerifier = token -> standardVerifier.verify(token, compactThenJjwt);
+        }
+
+        this.standardMinter = new HmacTokenMinter(key, jcaName(Jwts.SIG.HS512), standardHeader);
+        this.compactMinter = new HmacTokenMinter(compactKey, jcaName(compactSignature), compactHeader);
 
-        // Redis에 리프레시 토큰 사용 상태 저장 (false = 미사용)
-        redisTemplate.opsForValue().set(USED_TOKEN_PREFIX + jti, "false", Duration.ofMillis(refreshTokenExpiration));
+        reportTokenSizes();
+    }
 
-        return token;
+    // compact 프로필로 발급 중이거나, 되돌린 뒤 이미 발급된 토큰을 받는 기한 안이면 compact 알고리즘 토큰 허용
+    private boolean acceptsCompact()
+    {
+        return tokenProfile == TokenProfile.COMPACT || System.currentTimeMillis() < compactAcceptUntilMillis;
     }
 
-    public boolean isRefreshTokenUsed(String token)
+    // HKDF-SHA256 (RFC 5869, salt 없음): 같은 비밀값에서 용도별로 독립된 키 파생
+    private static byte[] hkdf(byte[] inputKey, String info, int length)
     {
         try
         {
-            String jti = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload()
-                    .getId();
-
-            // Redis에서 토큰 사용 상태 확인
-            String value = redisTemplate.opsForValue().get(USED_TOKEN_PREFIX + jti);
-
-            // null인 경우 (존재하지 않는 경우) 또는 "true"인 경우 사용된 것으로 간주
-            return value == null || "true".equals(value);
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(new byte[32], "HmacSHA256"));
+            byte[] pseudoRandomKey = mac.doFinal(inputKey);
+
+            mac.init(new SecretKeySpec(pseudoRandomKey, "HmacSHA256"));
+            byte[] infoBytes = info.getBytes(StandardCharsets.UTF_8);
+            byte[] output = new byte[length];
+            byte[] block = new byte[0];
+            for (int position = 0, counter = 1; position < length; counter++)
+            {
+                mac.update(block);
+                mac.update(infoBytes);
+                mac.update((byte) counter);
+                block = mac.doFinal();
+
+                int copied = Math.min(block.length, length - position);
+                System.arraycopy(block, 0, output, position, copied);
+                position += copied;
+            }
+            return output;
         }
-        catch (Exception e)
+        catch (GeneralSecurityException e)
         {
-            return true;
+            throw new IllegalStateException("compact 키 파생 실패", e);
         }
     }
 
-    public void markRefreshTokenAsUsed(String token)
+    private static String headerSegment(SecretKey signingKey, MacAlgorithm algorithm)
     {
-        try
-        {
-            String jti = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload()
-                    .getId();
+        String probe = Jwts.builder()
+                .subject("probe")
+                .signWith(signingKey, algorithm)
+                .compact();
+        return probe.substring(0, probe.indexOf('.'));
+    }
 
-            // 토큰 남은 유효기간 계산
-            long remainingTime = getTokenRemainingTimeMillis(token);
+    private static String jcaName(MacAlgorithm algorithm)
+    {
+        return "HmacSHA" + algorithm.getId().substring(2);
+    }
 
-            // Redis에 사용됨으로 표시
-            redisTemplate.opsForValue().set(USED_TOKEN_PREFIX + jti, "true", Duration.ofMillis(remainingTime));
-        } catch (Exception ignored) {}
+    // 프로필별 액세스 토큰 크기 비교 (Authorization 헤더로 매 요청 전송되는 바이트 수)
+    private void reportTokenSizes()
+    {
+        long now = System.currentTimeMillis();
+        String uuid = UUID.randomUUID().toString();
+        String role = TokenProfile.roleName(UserRole.ADMIN);
+
+        int standard = mint(TokenProfile.STANDARD, newJti(TokenProfile.STANDARD), uuid, role, null, 0, now, now + accessTokenExpiration).length();
+        int compact = mint(TokenProfile.COMPACT, newJti(TokenProfile.COMPACT), uuid, role, null, 0, now, now + accessTokenExpiration).length();
+
+        log.info("토큰 프로필: {} (액세스 토큰 standard {}B, compact[{}] {}B, 토큰당 {}B / {}% 절감)",
+                tokenProfile, standard, compactSignature.getId(), compact, standard - compact, (standard - compact) * 100 / standard);
     }
 
-    public String createToken(String uuid, String role)
+    /**
+     * 토큰을 한 번만 파싱하여 서명과 만료를 검증하고 클레임을 반환
+     * 이미 검증한 토큰은 캐시에서 바로 반환하며, 검증에 실패하면 빈 값 리턴
+     */
+    public Optional<VerifiedToken> verify(String token)
     {
-        return createAccessToken(uuid, role);
+        return verifiedTokenCache.get(token, this::parse);
     }
 
-    public String getUuid(String token)
+    private Optional<VerifiedToken> parse(String token)
     {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        long start = System.nanoTime();
+        Optional<VerifiedToken> verified = parseClaims(token);
+        authMetrics.verifyTimer(verified.isPresent()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        return verified;
     }
 
-    public String getRole(String token)
+    private Optional<VerifiedToken> parseClaims(String token)
     {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("role", String.class);
+        if (fastVerifyEnabled) return fastVerifier.apply(token);
+        return parseWithJjwt(token);
     }
 
-    public boolean validate(String token)
+    private Optional<VerifiedToken> parseWithJjwt(String token)
     {
         try
         {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            Date expiration = claims.getExpiration();
+            if (expiration == null) return Optional.empty(); // 발급하는 모든 토큰은 만료 시각을 가짐
+
+            // compact 프로필 토큰은 짧은 권한 코드(rl)를 권한 전체 이름으로 변환
+            String role = claims.get("role", String.class);
+            if (role == null) role = TokenProfile.decodeRole(claims.get("rl", String.class));
+
+            Number generation = claims.get("gen", Number.class);
+
+            return Optional.of(new VerifiedToken(
+                    claims.getSubject(),
+                    role,
+                    claims.getId(),
+                    expiration.getTime(),
+                    generation == null ? 0 : generation.longValue(),
+                    claims.get("fam", String.class)));
         }
-        catch (JwtException e)
+        catch (JwtException | IllegalArgumentException e)
         {
-            return false;
+            return Optional.empty();
         }
     }
 
-    public long getTokenRemainingTimeMillis(String token)
+    public String createAccessToken(String uuid, UserRole role, long generation)
     {
-        try {
-            Date expiration = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload()
-                    .getExpiration();
+        return createAccessToken(uuid, TokenProfile.roleName(role), generation);
+    }
 
-            return Math.max(0, expiration.getTime() - System.currentTimeMillis());
+    public String createAccessToken(String uuid, String role)
+    {
+        return createAccessToken(uuid, role, 0);
+    }
+
+    /**
+     * @param generation 사용자의 현재 토큰 세대 (이후 세대가 올라가면 이 토큰은 거부됨)
+     */
+    public String createAccessToken(String uuid, String role, long generation)
+    {
+        long now = System.currentTimeMillis();
+        long expiry = now + accessTokenExpiration;
+
+        // jti: 같은 초에 같은 사용자에게 발급된 토큰도 서로 구분되도록 부여 (블랙리스트 키가 토큰마다 고유)
+        return authMetrics.sign("access", () -> mint(tokenProfile, newJti(tokenProfile), uuid, role, null, generation, now, expiry));
+    }
+
+    /**
+     * 패밀리에 속한 리프레시 토큰 발급 (fam 클레임 포함, Redis 상태 저장은 호출 측에서 처리)
+     * 같은 로그인 세션에서 교체된 리프레시 토큰은 모두 같은 패밀리를 가짐
+     */
+    public IssuedToken issueRefreshToken(String family)
+    {
+        String jti = newJti(tokenProfile);
+        long now = System.currentTimeMillis();
+        long expiry = now + refreshTokenExpiration;
+
+        String token = authMetrics.sign("refresh", () -> mint(tokenProfile, jti, null, null, family, 0, now, expiry));
+
+        return new IssuedToken(token, jti, expiry);
+    }
+
+    // 토큰 식별자 (standard: UUID 문자열 36자, compact: 같은 128비트를 Base64URL 22자로)
+    private static String newJti(TokenProfile profile)
+    {
+        UUID id = UUID.randomUUID();
+        if (profile == TokenProfile.STANDARD) return id.toString();
+
+        byte[] bytes = ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * 프로필의 클레임 구성으로 토큰 발급
+     * 전용 발급기를 우선 사용하고, 비활성화되었거나 직접 기록할 수 없는 값이면 JJWT로 발급
+     * subject, role이 null이면 해당 클레임 생략, 짧은 코드가 없는 권한은 standard 프로필로 발급
+     * family가 null이면 fam 클레임, generation이 0이면 gen 클레임 생략
+     */
+    private String mint(TokenProfile profile, String jti, String subject, String role, String family, long generation, long issuedAt, long expiration)
+    {
+        String roleValue = profile.encodeRole(role);
+        if (role != null && roleValue == null)
+        {
+            profile = TokenProfile.STANDARD;
+            roleValue = role;
         }
-        catch (Exception e)
+
+        boolean compact = profile == TokenProfile.COMPACT;
+
+        if (fastMintEnabled)
         {
-            return 0;
+            HmacTokenMinter minter = compact ? compactMinter : standardMinter;
+            String token = minter.mint(profile, jti, subject, roleValue, family, generation, issuedAt / 1000, expiration / 1000);
+            if (token != null) return token;
         }
+
+        JwtBuilder builder = Jwts.builder()
+                .id(jti)
+                .subject(subject)
+                .claim(profile.roleClaim(), roleValue)
+                .claim("fam", family)
+                .claim("gen", generation > 0 ? generation : null)
+                .issuedAt(new Date(issuedAt));
+        if (profile.includeNbf()) builder.claim("nbf", issuedAt / 1000);
+
+        return builder
+                .expiration(new Date(expiration))
+                .signWith(compact ? compactKey : key, compact ? compactSignature : Jwts.SIG.HS512)
+                .compact();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package com.seungwook.jwt.jwt;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * JwtAuthenticationEntryPoint의 리액티브(WebFlux) 버전
+ * 필터가 토큰을 거른 이유가 있으면 그에 맞는 응답을 사용 (미리 만들어 둔 본문)
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveJwtAuthenticationEntryPoint implements ServerAuthenticationEntryPoint
+{
+    @Override
+    public Mono<Void> commence(ServerWebExchange exchange, AuthenticationException ex)
+    {
+        TokenErrorResponse rejection = exchange.getAttributes().get(JwtAuthenticationFilter.REJECTION_ATTRIBUTE) instanceof TokenErrorResponse reason
+                ? reason
+                : TokenErrorResponse.UNAUTHORIZED;
+
+        return rejection.write(exchange.getResponse());
+    }
+}
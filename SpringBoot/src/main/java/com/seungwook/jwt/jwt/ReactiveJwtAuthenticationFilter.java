@@ -0,0 +1,93 @@
+package com.seungwook.jwt.jwt;
+
+import com.seungwook.jwt.exception.RedisUnavailableException;
+import com.seungwook.jwt.metrics.AuthMetrics;
+import com.seungwook.jwt.metrics.AuthMetrics.FilterOutcome;
+import com.seungwook.jwt.service.auth.ReactiveTokenService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+
+/**
+ * JwtAuthenticationFilter의 리액티브(WebFlux) 버전
+ * 확인 순서와 응답은 서블릿 필터와 같으며, 무효화 확인만 논블로킹으로 처리하여 요청마다 스레드를 점유하지 않음
+ */
+@RequiredArgsConstructor
+public class ReactiveJwtAuthenticationFilter implements WebFilter
+{
+    private final JwtTokenProvider jwtProvider;
+    private final ReactiveTokenService reactiveTokenService;
+    private final AuthMetrics authMetrics;
+
+    /**
+     * 1. 형태 확인 (문자 순회) 2. 서명/만료 검증 (로컬 CPU) 3. 무효화 확인 (로컬 복제본 또는 ReactiveRedisTemplate)
+     * 형태나 서명이 잘못된 토큰은 인증 없이 다음 필터로 넘겨 공개 경로(/login 등)는 그대로 처리됨
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain)
+    {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (header == null || !header.startsWith("Bearer "))
+        {
+            authMetrics.filter(FilterOutcome.NO_HEADER);
+            return chain.filter(exchange);
+        }
+
+        String token = header.substring(7);
+
+        if (!TokenFormat.isWellFormed(token))
+        {
+            return unauthenticated(exchange, chain, FilterOutcome.MALFORMED, TokenErrorResponse.MALFORMED);
+        }
+
+        VerifiedToken verified = jwtProvider.verify(token).orElse(null);
+        if (verified == null || verified.getSubject() == null || verified.getRole() == null)
+        {
+            return unauthenticated(exchange, chain, FilterOutcome.INVALID, TokenErrorResponse.INVALID);
+        }
+
+        return reactiveTokenService.isRevoked(token, verified)
+                .map(revoked -> revoked ? FilterOutcome.REVOKED : FilterOutcome.VALID)
+                // 저하 모드를 끈 상태에서 무효화 여부를 확인할 수 없으면 통과시키지 않음
+                // (확인 단계의 오류만 처리, 이후 필터와 핸들러의 오류는 그대로 전파)
+                .onErrorResume(RedisUnavailableException.class, e -> Mono.just(FilterOutcome.UNAVAILABLE))
+                .flatMap(outcome -> switch (outcome)
+                {
+                    case REVOKED -> reject(exchange, outcome, TokenErrorResponse.REVOKED);
+                    case UNAVAILABLE -> reject(exchange, outcome, TokenErrorResponse.UNAVAILABLE);
+                    default -> authenticated(exchange, chain, verified);
+                });
+    }
+
+    private Mono<Void> authenticated(ServerWebExchange exchange, WebFilterChain chain, VerifiedToken verified)
+    {
+        SimpleGrantedAuthority authority = new SimpleGrantedAuthority(verified.getRole());
+        Authentication auth = new UsernamePasswordAuthenticationToken(verified.getSubject(), null, Collections.singletonList(authority));
+        authMetrics.filter(FilterOutcome.VALID);
+
+        return chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth));
+    }
+
+    private Mono<Void> unauthenticated(ServerWebExchange exchange, WebFilterChain chain, FilterOutcome outcome, TokenErrorResponse rejection)
+    {
+        authMetrics.filter(outcome);
+        exchange.getAttributes().put(JwtAuthenticationFilter.REJECTION_ATTRIBUTE, rejection);
+        return chain.filter(exchange);
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, FilterOutcome outcome, TokenErrorResponse rejection)
+    {
+        authMetrics.filter(outcome);
+        return rejection.write(exchange.getResponse());
+    }
+}
@@ -0,0 +1,53 @@
+package com.seungwook.jwt.jwt;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 재사용 객체(Mac, 버퍼) 보관
+ * - 플랫폼 스레드: 스레드별 객체 (ThreadLocal, 풀 스레드 수만큼만 생성)
+ * - 가상 스레드: 요청마다 새 스레드라 ThreadLocal로는 재사용되지 않으므로 공유 대기열에서 빌려 쓰고 반납
+ *   대기열이 비어 있으면 새로 만들고, 반납 시 상한을 넘으면 버림
+ *
+ * 빌린 객체를 사용하는 동안에는 블로킹 호출을 하지 않으므로 동시에 빌려 간 수는 캐리어 스레드 수 정도로 유지됨
+ */
+final class ScratchPool<T>
+{
+    private final Supplier<T> factory;
+    private final ThreadLocal<T> perThread;
+    private final ConcurrentLinkedQueue<T> shared = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int capacity;
+
+    ScratchPool(Supplier<T> factory)
+    {
+        this.factory = factory;
+        this.perThread = ThreadLocal.withInitial(factory);
+        this.capacity = Runtime.getRuntime().availableProcessors() * 2;
+    }
+
+    T acquire()
+    {
+        if (!Thread.currentThread().isVirtual()) return perThread.get();
+
+        T item = shared.poll();
+        if (item == null) return factory.get();
+
+        size.decrementAndGet();
+        return item;
+    }
+
+    void release(T item)
+    {
+        if (!Thread.currentThread().isVirtual()) return;
+
+        if (size.incrementAndGet() > capacity)
+        {
+            size.decrementAndGet();
+            return;
+        }
+
+        shared.offer(item);
+    }
+}
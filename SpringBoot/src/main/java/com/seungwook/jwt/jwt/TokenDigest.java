@@ -0,0 +1,30 @@
+package com.seungwook.jwt.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * 토큰 원문 대신 사용할 고정 길이 식별자 생성 (SHA-256, Base64URL)
+ * 수백 바이트의 JWT 문자열을 캐시나 저장소 키로 그대로 보관하지 않기 위해 사용
+ */
+public final class TokenDigest
+{
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private TokenDigest() {}
+
+    public static String of(String token)
+    {
+        try
+        {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return ENCODER.encodeToString(md.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException("해시 생성 실패", e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.seungwook.jwt.jwt;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 인증 실패 응답 (본문을 미리 바이트로 만들어 두고 그대로 기록)
+ * 위조/만료 토큰이 대량으로 들어와도 요청마다 문자열 생성이나 인코딩이 일어나지 않도록 함
+ * 서블릿(JwtAuthenticationFilter)과 리액티브(ReactiveJwtAuthenticationFilter) 필터가 같은 응답을 사용
+ */
+public enum TokenErrorResponse
+{
+    UNAUTHORIZED(HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized"),
+    MALFORMED(HttpServletResponse.SC_UNAUTHORIZED, "Malformed token"),
+    INVALID(HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired token"),
+    REVOKED(HttpServletResponse.SC_UNAUTHORIZED, "Revoked token"),
+    UNAVAILABLE(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Token status unavailable");
+
+    private static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+    private static final MediaType MEDIA_TYPE = MediaType.parseMediaType(CONTENT_TYPE);
+
+    private final int status;
+    private final byte[] body;
+
+    TokenErrorResponse(int status, String error)
+    {
+        this.status = status;
+        this.body = ("{\"error\": \"" + error + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    public int status()
+    {
+        return status;
+    }
+
+    public byte[] body()
+    {
+        return body;
+    }
+
+    public void write(HttpServletResponse response) throws IOException
+    {
+        response.setStatus(status);
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(body.length);
+        if (status == HttpServletResponse.SC_SERVICE_UNAVAILABLE) response.setHeader("Retry-After", "1");
+        response.getOutputStream().write(body);
+    }
+
+    public Mono<Void> write(ServerHttpResponse response)
+    {
+        response.setStatusCode(HttpStatusCode.valueOf(status));
+        response.getHeaders().setContentType(MEDIA_TYPE);
+        response.getHeaders().setContentLength(body.length);
+        if (status == HttpServletResponse.SC_SERVICE_UNAVAILABLE) response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
@@ -0,0 +1,43 @@
+package com.seungwook.jwt.jwt;
+
+/**
+ * 서명 검증 전 토큰 형태 확인 (JWS Compact: Base64URL 세 부분, 점 두 개)
+ * 해시, 캐시 조회, 서명 계산 없이 한 번의 문자 순회로 처리하여 임의의 문자열을 가장 먼저 걸러냄
+ */
+public final class TokenFormat
+{
+    // 발급하는 토큰은 300바이트 이하 (여유를 두되 비정상적으로 긴 헤더는 검증하지 않음)
+    static final int MAX_LENGTH = 4096;
+
+    private TokenFormat() {}
+
+    public static boolean isWellFormed(String token)
+    {
+        int length = token.length();
+        if (length == 0 || length > MAX_LENGTH) return false;
+
+        int dots = 0;
+        int segmentStart = 0;
+        for (int i = 0; i < length; i++)
+        {
+            char c = token.charAt(i);
+            if (c == '.')
+            {
+                // 헤더와 페이로드는 비어 있을 수 없음
+                if (i == segmentStart || ++dots > 2) return false;
+                segmentStart = i + 1;
+            }
+            else if (!isBase64Url(c))
+            {
+                return false;
+            }
+        }
+
+        return dots == 2 && segmentStart < length;
+    }
+
+    private static boolean isBase64Url(char c)
+    {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+    }
+}
@@ -0,0 +1,70 @@
+package com.seungwook.jwt.jwt;
+
+import com.seungwook.jwt.enumeration.UserRole;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 발급 토큰의 클레임 구성
+ * - STANDARD: role에 권한 전체 이름("ROLE_ADMIN"), iat와 같은 값의 nbf 포함, UUID 형식 jti
+ * - COMPACT: rl에 짧은 권한 코드("A"), nbf 생략, 128비트 Base64URL jti
+ *
+ * 검증은 두 프로필의 클레임을 모두 받으므로 STANDARD -> COMPACT 전환 시 이미 발급된 토큰은 만료까지 유효
+ * compact 알고리즘이 HS512가 아니면 별도 키로 서명하며, COMPACT -> STANDARD로 되돌릴 때는
+ * 이미 발급된 토큰이 만료될 때까지 jwt.compact.accept-until로 받는 기한을 지정
+ */
+public enum TokenProfile
+{
+    STANDARD("role", true),
+    COMPACT("rl", false);
+
+    static final String ROLE_PREFIX = "ROLE_";
+
+    // 권한 전체 이름 <-> 짧은 코드 (검증마다 문자열을 만들지 않도록 미리 구성)
+    private static final Map<String, String> CODE_BY_ROLE = Arrays.stream(UserRole.values())
+            .collect(Collectors.toUnmodifiableMap(role -> ROLE_PREFIX + role.name(), UserRole::getCode));
+    private static final Map<UserRole, String> NAME_BY_ROLE = Arrays.stream(UserRole.values())
+            .collect(Collectors.toUnmodifiableMap(role -> role, role -> ROLE_PREFIX + role.name()));
+    private static final Map<String, String> ROLE_BY_CODE = Arrays.stream(UserRole.values())
+            .collect(Collectors.toUnmodifiableMap(UserRole::getCode, role -> ROLE_PREFIX + role.name()));
+
+    private final String roleClaim;
+    private final boolean includeNbf;
+
+    TokenProfile(String roleClaim, boolean includeNbf)
+    {
+        this.roleClaim = roleClaim;
+        this.includeNbf = includeNbf;
+    }
+
+    String roleClaim()
+    {
+        return roleClaim;
+    }
+
+    boolean includeNbf()
+    {
+        return includeNbf;
+    }
+
+    // 토큰에 기록할 권한 값 (COMPACT는 짧은 코드, 코드가 없는 권한이면 null)
+    String encodeRole(String role)
+    {
+        if (this == STANDARD || role == null) return role;
+        return CODE_BY_ROLE.get(role);
+    }
+
+    // 권한 전체 이름 ("ROLE_ADMIN")
+    static String roleName(UserRole role)
+    {
+        return NAME_BY_ROLE.get(role);
+    }
+
+    // 짧은 권한 코드를 권한 전체 이름으로 변환 (알 수 없는 코드면 null)
+    static String decodeRole(String code)
+    {
+        return code == null ? null : ROLE_BY_CODE.get(code);
+    }
+}
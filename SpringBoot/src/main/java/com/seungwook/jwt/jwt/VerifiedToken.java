@@ -0,0 +1,26 @@
+package com.seungwook.jwt.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 서명 및 만료 검증을 통과한 토큰의 클레임 (불변)
+ * 한 번의 파싱 결과를 필터와 서비스 전반에서 재사용하기 위해 사용
+ */
+@Getter
+@AllArgsConstructor
+public class VerifiedToken
+{
+    private final String subject;    // 사용자 UUID
+    private final String role;       // 권한 (리프레시 토큰은 null)
+    private final String jti;        // 토큰 식별자
+    private final long expiration;   // 만료 시각 (epoch millis)
+    private final long generation;   // 발급 시점의 사용자 토큰 세대 (gen 클레임, 없으면 0)
+    private final String family;     // 리프레시 토큰 패밀리 (fam 클레임, 액세스 토큰과 이전 리프레시 토큰은 null)
+
+    // 토큰 남은 유효기간
+    public long getRemainingTimeMillis()
+    {
+        return Math.max(0, expiration - System.currentTimeMillis());
+    }
+}
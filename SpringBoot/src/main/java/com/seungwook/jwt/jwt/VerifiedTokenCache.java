@@ -0,0 +1,91 @@
+package com.seungwook.jwt.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 검증을 마친 토큰의 클레임을 보관하는 로컬 캐시
+ * - 키: 토큰의 SHA-256 다이제스트 (원문 토큰은 보관하지 않음)
+ * - 만료: 토큰의 exp 시각에 맞춰 항목별로 제거
+ * - 용량: W-TinyLFU(빈도 기반) 정책으로 최대 크기 제한
+ */
+@Component
+public class VerifiedTokenCache
+{
+    private final Cache<String, VerifiedToken> cache;
+
+    @Autowired
+    public VerifiedTokenCache(@Value("${jwt.verified-cache.max-size:10000}") long maxSize, MeterRegistry meterRegistry)
+    {
+        this(maxSize, meterRegistry, Ticker.systemTicker());
+    }
+
+    // ticker: 만료 판단에 사용할 시계 (테스트에서 시간을 직접 진행)
+    VerifiedTokenCache(long maxSize, MeterRegistry meterRegistry, Ticker ticker)
+    {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+
+        // 적중/실패/제거 지표를 Actuator(Prometheus)로 노출
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-token");
+    }
+
+    /**
+     * 캐시에 있으면 그대로 반환하고, 없으면 verifier로 검증한 뒤 성공한 결과만 저장
+     */
+    public Optional<VerifiedToken> get(String token, Function<String, Optional<VerifiedToken>> verifier)
+    {
+        String digest = TokenDigest.of(token);
+
+        VerifiedToken cached = cache.getIfPresent(digest);
+        if (cached != null && cached.getRemainingTimeMillis() > 0) return Optional.of(cached);
+
+        Optional<VerifiedToken> verified = verifier.apply(token);
+        verified.ifPresent(v -> cache.put(digest, v));
+
+        return verified;
+    }
+
+    // 블랙리스트 등록 등으로 더 이상 신뢰할 수 없는 토큰 제거
+    public void invalidate(String token)
+    {
+        cache.invalidate(TokenDigest.of(token));
+    }
+
+    // 토큰의 남은 유효기간을 항목별 만료 시간으로 사용
+    private static class TokenExpiry implements Expiry<String, VerifiedToken>
+    {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime)
+        {
+            return TimeUnit.MILLISECONDS.toNanos(value.getRemainingTimeMillis());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration)
+        {
+            return TimeUnit.MILLISECONDS.toNanos(value.getRemainingTimeMillis());
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration)
+        {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.seungwook.jwt.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 인증 파이프라인 지표 (Actuator / Prometheus)
+ * - auth.jwt.sign{type}: 토큰 서명
+ * - auth.jwt.verify{result}: 서명 검증 및 파싱 (검증 캐시 미적중 시에만 발생, 적중률은 jwt.verified-token 캐시 지표)
+ * - auth.redis{op}: Redis 호출
+ * - auth.credential{op}: 자격 증명 해시 생성/검증 (BCrypt 작업의 대기/실행 시간은 auth.hash.*)
+ * - auth.filter{outcome}: 인증 필터 처리 결과
+ *
+ * MySQL 조회 시간은 Spring Data 리포지토리 지표(spring.data.repository.invocations)로 함께 확인
+ */
+@Component
+public class AuthMetrics
+{
+    public enum FilterOutcome
+    {
+        VALID, MALFORMED, INVALID, REVOKED, NO_HEADER, UNAVAILABLE
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+    private final Map<FilterOutcome, Counter> filterOutcomes = new EnumMap<>(FilterOutcome.class);
+
+    public AuthMetrics(MeterRegistry meterRegistry)
+    {
+        this.meterRegistry = meterRegistry;
+
+        for (FilterOutcome outcome : FilterOutcome.values())
+        {
+            filterOutcomes.put(outcome, Counter.builder("auth.filter")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    public <T> T sign(String type, Supplier<T> task)
+    {
+        return timer("auth.jwt.sign", "type", type).record(task);
+    }
+
+    public Timer verifyTimer(boolean valid)
+    {
+        return timer("auth.jwt.verify", "result", valid ? "valid" : "invalid");
+    }
+
+    public <T> T redis(String operation, Supplier<T> call)
+    {
+        return timer("auth.redis", "op", operation).record(call);
+    }
+
+    public void redis(String operation, Runnable call)
+    {
+        timer("auth.redis", "op", operation).record(call);
+    }
+
+    public <T> T credential(String operation, Supplier<T> task)
+    {
+        return timer("auth.credential", "op", operation).record(task);
+    }
+
+    public void filter(FilterOutcome outcome)
+    {
+        filterOutcomes.get(outcome).increment();
+    }
+
+    private Timer timer(String name, String tagKey, String tagValue)
+    {
+        Map<String, Timer> byTag = timers.computeIfAbsent(name, key -> new ConcurrentHashMap<>());
+
+        Timer timer = byTag.get(tagValue);
+        if (timer != null) return timer;
+
+        return byTag.computeIfAbsent(tagValue, value -> Timer.builder(name)
+                .tag(tagKey, value)
+                .register(meterRegistry));
+    }
+}
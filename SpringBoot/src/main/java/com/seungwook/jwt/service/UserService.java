@@ -3,44 +3,66 @@ package com.seungwook.jwt.service;
 import com.seungwook.jwt.domain.User;
 import com.seungwook.jwt.dto.auth.response.RegisterResponse;
 import com.seungwook.jwt.enumeration.UserRole;
+import com.seungwook.jwt.metrics.AuthMetrics;
 import com.seungwook.jwt.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.seungwook.jwt.service.credential.CredentialVerifier;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
-
-    // UUID 해시 캐싱을 위한 맵 (성능 최적화)
-    private final ConcurrentHashMap<String, String> uuidHashCache = new ConcurrentHashMap<>();
+    private final CredentialVerifier credentialVerifier;
+    private final AuthMetrics authMetrics;
+
+    // 검증을 마친 사용자 캐시 (키: UUID 원문의 검색용 해시, 크기 및 TTL 제한)
+    private final Cache<String, User> userCache;
+
+    public UserService(UserRepository userRepository,
+                       CredentialVerifier credentialVerifier,
+                       AuthMetrics authMetrics,
+                       MeterRegistry meterRegistry,
+                       @Value("${user.cache.max-size:10000}") long maxSize,
+                       @Value("${user.cache.ttl-ms:600000}") long ttlMillis)
+    {
+        this.userRepository = userRepository;
+        this.credentialVerifier = credentialVerifier;
+        this.authMetrics = authMetrics;
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, userCache, "user.lookup");
+    }
 
     // 회원가입 - UUID 생성 및 해시 후 저장
     public RegisterResponse registerNewUser(UserRole role)
     {
         String rawUuid = UUID.randomUUID().toString();
-        String bcryptHashed = passwordEncoder.encode(rawUuid);
-        String searchableHash = sha256Hash(rawUuid);  // 검색용 해시 생성
+        String encoded = authMetrics.credential("encode", () -> credentialVerifier.encode(rawUuid));
+        String searchableHash = credentialVerifier.index(rawUuid);  // 검색용 해시 생성
 
         User user = userRepository.save(User.builder()
-                .uuid(bcryptHashed)
+                .uuid(encoded)
                 .searchableHash(searchableHash)  // 검색용 해시 저장
                 .role(role)
                 .build());
 
-        // 캐시에 UUID 해시 저장
-        uuidHashCache.put(rawUuid, user.getUuid());
+        // 캐시에 사용자 저장
+        userCache.put(searchableHash, user);
 
         return new RegisterResponse(rawUuid, user);
     }
@@ -48,51 +70,55 @@ public class UserService {
     // UUID 원문으로 사용자 조회 (로그인)
     public Optional<User> findByRawUuid(String rawUuid)
     {
-        // 1. 캐시에서 먼저 확인
-        String cachedHash = uuidHashCache.get(rawUuid);
-        if (cachedHash != null)
-        {
-            User user = userRepository.findByUuid(cachedHash).orElse(null);
-            if (user != null) return Optional.of(user);
-            uuidHashCache.remove(rawUuid);
-        }
+        String searchableHash = credentialVerifier.index(rawUuid);
+
+        // 1. 캐시에서 먼저 확인 (검증을 통과한 사용자만 저장되므로 해시 검증과 DB 조회 생략)
+        User cachedUser = userCache.getIfPresent(searchableHash);
+        if (cachedUser != null) return Optional.of(cachedUser);
 
-        // 2. searchableHash를 사용하여 빠르게 검색
-        String searchableHash = sha256Hash(rawUuid);
+        // 2. searchableHash를 사용하여 빠르게 검색 (없으면 이전 방식의 검색용 해시로 재시도)
         Optional<User> userOpt = userRepository.findBySearchableHash(searchableHash);
+        if (userOpt.isEmpty())
+        {
+            String legacyHash = credentialVerifier.legacyIndex(rawUuid);
+            if (legacyHash != null) userOpt = userRepository.findBySearchableHash(legacyHash);
+        }
         if (userOpt.isEmpty()) return Optional.empty(); // 못 찾았다면 빈 값 리턴
 
         User user = userOpt.get();
 
         // 3. 최종 보안 검증
-        if (passwordEncoder.matches(rawUuid, user.getUuid()))
-        {
-            // 캐시에 추가
-            uuidHashCache.put(rawUuid, user.getUuid());
-            return Optional.of(user);
-        }
+        String encoded = user.getUuid();
+        if (!authMetrics.credential("match", () -> credentialVerifier.matches(rawUuid, encoded))) return Optional.empty();
+
+        // 4. 이전 방식으로 저장된 사용자는 현재 방식으로 재저장
+        if (credentialVerifier.needsUpgrade(user.getUuid())) user = upgrade(user, rawUuid, searchableHash);
 
-        return Optional.empty();
+        // 캐시에 추가
+        userCache.put(searchableHash, user);
+        return Optional.of(user);
     }
 
     // 캐시 무효화 (사용자 정보 변경 시 호출)
     public void invalidateCache(String rawUuid)
     {
-        uuidHashCache.remove(rawUuid);
+        userCache.invalidate(credentialVerifier.index(rawUuid));
     }
 
-    // SHA-256 해시 생성 (검색용)
-    private String sha256Hash(String input)
+    // 자격 증명 저장 방식 업그레이드 (실패해도 로그인은 유지하고 다음 로그인 때 재시도)
+    private User upgrade(User user, String rawUuid, String searchableHash)
     {
         try
         {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] hashBytes = md.digest(input.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(hashBytes);
+            return userRepository.save(user.toBuilder()
+                    .uuid(authMetrics.credential("encode", () -> credentialVerifier.encode(rawUuid)))
+                    .searchableHash(searchableHash)
+                    .build());
         }
-        catch (NoSuchAlgorithmException e)
+        catch (Exception e)
         {
-            throw new RuntimeException("해시 생성 실패", e);
+            log.warn("자격 증명 업그레이드 실패 (userId={}): {}", user.getId(), e.getMessage());
+            return user;
         }
     }
-}
\ No newline at end of file
+}
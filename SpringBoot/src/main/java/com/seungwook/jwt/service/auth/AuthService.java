@@ -2,17 +2,21 @@ package com.seungwook.jwt.service.auth;
 
 import com.seungwook.jwt.domain.User;
 import com.seungwook.jwt.dto.auth.response.AuthResponse;
+import com.seungwook.jwt.dto.auth.response.IntrospectResponse;
 import com.seungwook.jwt.dto.auth.response.LoginResponse;
 import com.seungwook.jwt.dto.auth.response.RefreshResponse;
 import com.seungwook.jwt.dto.auth.response.RegisterAndAuthResponse;
 import com.seungwook.jwt.dto.auth.response.RegisterResponse;
 import com.seungwook.jwt.enumeration.UserRole;
+import com.seungwook.jwt.jwt.VerifiedToken;
 import com.seungwook.jwt.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 /*
@@ -28,6 +32,9 @@ public class AuthService
     private final UserService userService;
     private final TokenService tokenService;
 
+    @Value("${jwt.introspection.max-batch:100}")
+    private int maxIntrospectionBatch;
+
     /**
      * 회원가입 및 인증 통합 처리
      */
@@ -39,15 +46,10 @@ public class AuthService
         String rawUuid = registerResult.getRawUuid();
         User user = registerResult.getUser();
 
-        // 2. 토큰 생성 및 저장
-        String accessToken = tokenService.createAccessToken(rawUuid, user.getRole());
-        String refreshToken = tokenService.createRefreshToken();
-
-        // 3. 리프레시 토큰 저장
-        tokenService.save(rawUuid, refreshToken, tokenService.getTokenRemainingTimeMillis(refreshToken));
+        // 2. 토큰 생성 및 저장 (Redis 기록은 한 번의 파이프라인으로 처리)
+        AuthResponse authResponse = tokenService.issueTokens(rawUuid, user.getRole());
 
-        // 4. 결과 생성
-        AuthResponse authResponse = new AuthResponse(accessToken, refreshToken, rawUuid);
+        // 3. 결과 생성
         return new RegisterAndAuthResponse(registerResult, authResponse);
     }
 
@@ -62,12 +64,8 @@ public class AuthService
 
         User user = userOpt.get();
 
-        // 2. 토큰 생성 및 저장
-        String accessToken = tokenService.createAccessToken(uuid, user.getRole());
-        String refreshToken = tokenService.createRefreshToken();
-        tokenService.save(uuid, refreshToken, tokenService.getTokenRemainingTimeMillis(refreshToken));
-
-        return LoginResponse.success(new AuthResponse(accessToken, refreshToken, uuid));
+        // 2. 토큰 생성 및 저장 (Redis 기록은 한 번의 파이프라인으로 처리)
+        return LoginResponse.success(tokenService.issueTokens(uuid, user.getRole()));
     }
 
     /**
@@ -91,14 +89,44 @@ public class AuthService
      */
     public boolean revokeToken(String token)
     {
-        if (!tokenService.validateToken(token)) return false;
+        Optional<VerifiedToken> verifiedOpt = tokenService.verifyToken(token);
+        if (verifiedOpt.isEmpty()) return false;
+
+        VerifiedToken verified = verifiedOpt.get();
 
         // 토큰 블랙리스트 추가 및 리프레시 토큰 삭제
-        String uuid = tokenService.getUuidFromToken(token);
-        if (uuid != null) tokenService.delete(uuid);
+        if (verified.getSubject() != null) tokenService.delete(verified.getSubject());
 
-        tokenService.blacklistToken(token);
+        tokenService.blacklistToken(token, verified);
 
         return true;
     }
-}
\ No newline at end of file
+
+    /**
+     * 사용자의 모든 토큰 무효화 처리 (관리자용)
+     * 토큰 세대 증가 한 번으로 처리하므로 무효화할 토큰 목록이 필요 없음
+     */
+    public void revokeAllTokens(String uuid)
+    {
+        tokenService.revokeAll(uuid);
+    }
+
+    /**
+     * 여러 액세스 토큰의 상태 일괄 확인 (게이트웨이용, 한 번에 최대 jwt.introspection.max-batch 개)
+     */
+    public IntrospectResponse introspect(List<String> tokens)
+    {
+        IntrospectResponse rejected = rejectBatch(tokens);
+        if (rejected != null) return rejected;
+
+        return IntrospectResponse.success(tokenService.introspect(tokens));
+    }
+
+    // 일괄 확인 요청의 크기 확인 (문제가 없으면 null, ReactiveAuthService도 같은 기준 사용)
+    IntrospectResponse rejectBatch(List<String> tokens)
+    {
+        if (tokens == null || tokens.isEmpty()) return IntrospectResponse.failure("확인할 토큰이 필요합니다");
+        if (tokens.size() > maxIntrospectionBatch) return IntrospectResponse.failure("한 번에 최대 " + maxIntrospectionBatch + "개의 토큰만 확인할 수 있습니다");
+        return null;
+    }
+}
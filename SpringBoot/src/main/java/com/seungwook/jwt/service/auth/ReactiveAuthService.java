@@ -0,0 +1,73 @@
+package com.seungwook.jwt.service.auth;
+
+import com.seungwook.jwt.dto.auth.response.IntrospectResponse;
+import com.seungwook.jwt.dto.auth.response.LoginResponse;
+import com.seungwook.jwt.dto.auth.response.RefreshResponse;
+import com.seungwook.jwt.dto.auth.response.RegisterAndAuthResponse;
+import com.seungwook.jwt.enumeration.UserRole;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * 리액티브(WebFlux) 컨트롤러용 인증 서비스
+ * 회원가입, 로그인은 MySQL(JPA), BCrypt를 거치는 블로킹 작업이므로 AuthService를 그대로 호출하되 이벤트 루프가 아닌 boundedElastic 스케줄러에서 실행
+ * 토큰 교체, 로그아웃, 무효화, 일괄 확인은 토큰 상태 저장소만 거치므로 ReactiveTokenService로 논블로킹 처리
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthService
+{
+    private final AuthService authService;
+    private final ReactiveTokenService reactiveTokenService;
+
+    public Mono<RegisterAndAuthResponse> registerAndAuthenticate(UserRole role)
+    {
+        return blocking(() -> authService.registerAndAuthenticate(role));
+    }
+
+    public Mono<LoginResponse> login(String uuid)
+    {
+        return blocking(() -> authService.login(uuid));
+    }
+
+    public Mono<RefreshResponse> refreshTokens(String accessToken, String refreshToken)
+    {
+        return reactiveTokenService.refreshTokens(accessToken, refreshToken);
+    }
+
+    public Mono<Boolean> logout(String accessToken)
+    {
+        return reactiveTokenService.logout(accessToken);
+    }
+
+    public Mono<Boolean> revokeToken(String token)
+    {
+        return reactiveTokenService.revokeToken(token);
+    }
+
+    public Mono<Void> revokeAllTokens(String uuid)
+    {
+        return reactiveTokenService.revokeAll(uuid);
+    }
+
+    // 요청 크기 확인은 AuthService와 같은 기준
+    public Mono<IntrospectResponse> introspect(List<String> tokens)
+    {
+        IntrospectResponse rejected = authService.rejectBatch(tokens);
+        if (rejected != null) return Mono.just(rejected);
+
+        return reactiveTokenService.introspect(tokens).map(IntrospectResponse::success);
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> task)
+    {
+        return Mono.fromCallable(task).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,220 @@
+package com.seungwook.jwt.service.auth;
+
+import com.seungwook.jwt.dto.auth.response.RefreshResponse;
+import com.seungwook.jwt.dto.auth.response.TokenIntrospection;
+import com.seungwook.jwt.jwt.JwtTokenProvider;
+import com.seungwook.jwt.jwt.VerifiedToken;
+import com.seungwook.jwt.service.store.ReactiveTokenStateStore;
+import com.seungwook.jwt.service.store.TokenStateStore.RefreshState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 리액티브(WebFlux) 경로의 토큰 상태 작업
+ * - 형태 확인, 서명/만료 검증, 토큰 발급은 JwtTokenProvider와 TokenService의 로컬 처리를 그대로 사용 (CPU 작업이므로 이벤트 루프에서 바로 실행)
+ * - 무효화 확인, 토큰 교체, 로그아웃, 무효화, 일괄 확인의 저장소 작업은 ReactiveTokenStateStore로 논블로킹 처리
+ *
+ * 규칙과 응답은 TokenService와 같음
+ * 세션 시작(회원가입, 로그인)은 사용자 조회(JPA)와 함께 실행되므로 TokenService를 그대로 사용 (ReactiveAuthService가 별도 스케줄러에서 실행)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTokenService
+{
+    private final TokenGenerationService tokenGenerationService;
+    private final ReactiveTokenStateStore tokenStateStore;
+    private final TokenService tokenService;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final RedisSessionService redisSessionService;
+
+    /**
+     * 블랙리스트에 있거나 사용자 전체 무효화 이전 세대의 토큰인지 여부
+     */
+    public Mono<Boolean> isRevoked(String token, VerifiedToken verified)
+    {
+        return tokenStateStore.isRevoked(token, verified.getSubject())
+                .flatMap(revoked -> revoked ? Mono.just(true) : isCurrent(verified).map(current -> !current));
+    }
+
+    /**
+     * 토큰 갱신 (TokenService.refreshTokens와 같은 순서와 규칙)
+     */
+    public Mono<RefreshResponse> refreshTokens(String accessToken, String refreshToken)
+    {
+        // 1. 리프레시 토큰 확인
+        RefreshState presented = tokenService.presented(refreshToken);
+        VerifiedToken verifiedAccess = jwtTokenProvider.verify(accessToken).orElse(null);
+
+        // 보안 위협 대응 - 토큰 무효화
+        if (presented == null)
+        {
+            return invalidateTokens(accessToken, verifiedAccess)
+                    .thenReturn(RefreshResponse.failure(TokenService.INVALID_REFRESH_TOKEN));
+        }
+
+        // 2. UUID 및 Role 추출
+        if (verifiedAccess == null || verifiedAccess.getSubject() == null)
+        {
+            return Mono.just(RefreshResponse.failure(TokenService.INVALID_ACCESS_TOKEN));
+        }
+
+        String uuid = verifiedAccess.getSubject();
+        return currentGeneration(uuid).flatMap(generation -> {
+            // 사용자 전체 무효화 이전에 발급된 액세스 토큰으로는 갱신 불가
+            if (!TokenService.canRotate(presented, verifiedAccess, generation))
+            {
+                return Mono.just(RefreshResponse.failure(TokenService.INVALID_ACCESS_TOKEN));
+            }
+
+            // 3, 4. 새 리프레시 토큰 발급 후 재사용 확인, 기존 토큰 무효화, 새 토큰 저장을 원자적으로 처리
+            return tokenStateStore.rotate(tokenService.rotation(presented, accessToken, verifiedAccess))
+                    .map(rotated -> tokenService.refreshed(uuid, generation, rotated))
+                    // 보안 위협 대응 - 없거나, 다른 사용자의 것이거나, 이미 교체된 리프레시 토큰 (저장소에서 패밀리 무효화 완료)
+                    .defaultIfEmpty(RefreshResponse.failure(TokenService.INVALID_REFRESH_TOKEN))
+                    // 블랙리스트 기록은 성공/실패 모두 저장소에서 수행되므로 이 노드의 검증 캐시에서도 즉시 제거
+                    .doOnSuccess(response -> redisSessionService.evictVerified(accessToken));
+        });
+    }
+
+    /**
+     * 로그아웃 (TokenService.logout과 같이 실패하면 false)
+     */
+    public Mono<Boolean> logout(String accessToken)
+    {
+        return Mono.defer(() -> {
+                    VerifiedToken verified = jwtTokenProvider.verify(accessToken).orElse(null);
+                    if (verified == null || verified.getSubject() == null) return Mono.just(false);
+
+                    return delete(verified.getSubject())
+                            .then(blacklistToken(accessToken, verified))
+                            .thenReturn(true);
+                })
+                .onErrorResume(e -> {
+                    log.error("로그아웃 처리 중 오류 발생: {}", e.getMessage(), e);
+                    return Mono.just(false);
+                });
+    }
+
+    /**
+     * 토큰 무효화 (관리자용, AuthService.revokeToken과 같음)
+     */
+    public Mono<Boolean> revokeToken(String token)
+    {
+        VerifiedToken verified = jwtTokenProvider.verify(token).orElse(null);
+        if (verified == null) return Mono.just(false);
+
+        Mono<Void> deleted = verified.getSubject() == null ? Mono.empty() : delete(verified.getSubject());
+        return deleted.then(blacklistToken(token, verified)).thenReturn(true);
+    }
+
+    /**
+     * 사용자에게 발급된 모든 토큰 무효화 (세대를 올리고 현재 리프레시 토큰 삭제)
+     */
+    public Mono<Void> revokeAll(String uuid)
+    {
+        return tokenStateStore.bumpGeneration(uuid, tokenGenerationService.retentionMillis())
+                .doOnNext(generation -> tokenGenerationService.remember(uuid, generation))
+                .then(delete(uuid));
+    }
+
+    /**
+     * 여러 액세스 토큰의 상태 일괄 확인 (TokenService.introspect와 같은 결과)
+     * 블랙리스트 다중 키 조회와 캐시에 없는 사용자의 세대 조회를 함께 실행
+     */
+    public Mono<List<TokenIntrospection>> introspect(List<String> tokens)
+    {
+        VerifiedToken[] verified = tokenService.verifyAccessTokens(tokens);
+        List<Integer> candidates = TokenService.candidates(verified);
+        if (candidates.isEmpty()) return Mono.just(TokenService.introspection(verified, candidates, new boolean[0], Map.of()));
+
+        List<String> candidateTokens = candidates.stream().map(tokens::get).toList();
+        List<String> subjects = candidates.stream().map(i -> verified[i].getSubject()).toList();
+
+        return Mono.zip(tokenStateStore.isRevoked(candidateTokens, subjects), currentGenerations(new HashSet<>(subjects)))
+                .map(state -> TokenService.introspection(verified, candidates, state.getT1(), state.getT2()));
+    }
+
+    // TokenGenerationService.isCurrent와 같은 규칙
+    private Mono<Boolean> isCurrent(VerifiedToken token)
+    {
+        if (token.getSubject() == null) return Mono.just(true);
+        return currentGeneration(token.getSubject()).map(current -> token.getGeneration() >= current);
+    }
+
+    // TokenGenerationService.current와 같은 규칙 (캐시에 없으면 논블로킹 조회, 조회할 수 없으면 0으로 간주하고 캐시하지 않음)
+    private Mono<Long> currentGeneration(String uuid)
+    {
+        Long cached = tokenGenerationService.cached(uuid);
+        if (cached != null) return Mono.just(cached);
+
+        return tokenStateStore.generation(uuid)
+                .map(generation -> tokenGenerationService.remember(uuid, generation))
+                .defaultIfEmpty(0L);
+    }
+
+    // 캐시에 없는 사용자만 한 번에 조회
+    private Mono<Map<String, Long>> currentGenerations(Collection<String> uuids)
+    {
+        Map<String, Long> result = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String uuid : uuids)
+        {
+            Long cached = tokenGenerationService.cached(uuid);
+            if (cached != null) result.put(uuid, cached);
+            else missing.add(uuid);
+        }
+
+        if (missing.isEmpty()) return Mono.just(result);
+
+        return tokenStateStore.generations(missing)
+                .defaultIfEmpty(Map.of())
+                .map(loaded -> {
+                    for (String uuid : missing)
+                    {
+                        Long generation = loaded.get(uuid);
+                        result.put(uuid, generation == null ? 0L : tokenGenerationService.remember(uuid, generation));
+                    }
+                    return result;
+                });
+    }
+
+    // 리프레시 토큰 삭제 (현재 리프레시 토큰의 패밀리 또는 핸들 상태도 함께 삭제)
+    private Mono<Void> delete(String uuid)
+    {
+        return tokenStateStore.findRefreshToken(uuid)
+                .map(current -> Optional.ofNullable(tokenService.presented(current)))
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(state -> tokenStateStore.deleteRefreshToken(uuid, state.orElse(null)));
+    }
+
+    // 블랙리스트 추가 후 이 노드의 검증 캐시에서도 즉시 제거
+    private Mono<Void> blacklistToken(String token, VerifiedToken verified)
+    {
+        long remainingTime = verified.getRemainingTimeMillis();
+        if (remainingTime <= 0) return Mono.empty();
+
+        return tokenStateStore.revoke(token, verified.getSubject(), remainingTime)
+                .then(Mono.fromRunnable(() -> redisSessionService.evictVerified(token)));
+    }
+
+    private Mono<Void> invalidateTokens(String accessToken, VerifiedToken verifiedAccess)
+    {
+        if (verifiedAccess == null) return Mono.empty();
+
+        Mono<Void> deleted = verifiedAccess.getSubject() == null ? Mono.empty() : delete(verifiedAccess.getSubject());
+        return deleted.then(blacklistToken(accessToken, verifiedAccess));
+    }
+}
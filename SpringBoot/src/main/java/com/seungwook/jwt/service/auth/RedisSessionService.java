@@ -1,27 +1,37 @@
 package com.seungwook.jwt.service.auth;
 
+import com.seungwook.jwt.jwt.VerifiedTokenCache;
+import com.seungwook.jwt.service.store.TokenStateStore;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
-
 @Service
 @RequiredArgsConstructor
 public class RedisSessionService
 {
-    private final RedisTemplate<String, String> redisTemplate;
-    private static final String BLACKLIST_PREFIX = "blacklist:";
+    private final TokenStateStore tokenStateStore;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     // 블랙리스트에 토큰 추가 (토큰의 남은 유효시간만큼 블랙리스트에 보관)
-    public void addToBlacklist(String token, long remainingTimeMillis)
+    public void addToBlacklist(String token, String subject, long remainingTimeMillis)
+    {
+        tokenStateStore.revoke(token, subject, remainingTimeMillis);
+
+        // 이 노드의 검증 캐시에서도 즉시 제거
+        verifiedTokenCache.invalidate(token);
+    }
+
+    /**
+     * 저장소에서 이미 블랙리스트에 기록된 토큰(리프레시 토큰 교체 등)을 이 노드의 검증 캐시에서 제거
+     */
+    public void evictVerified(String token)
     {
-        redisTemplate.opsForValue().set(BLACKLIST_PREFIX + token, "REVOKED", Duration.ofMillis(remainingTimeMillis));
+        verifiedTokenCache.invalidate(token);
     }
 
-    // 블랙리스트 확인
-    public boolean isBlacklisted(String token)
+    // 블랙리스트 확인 (서명 검증을 통과한 토큰만 확인하므로 토큰 사용자를 함께 전달)
+    public boolean isBlacklisted(String token, String subject)
     {
-        return redisTemplate.hasKey(BLACKLIST_PREFIX + token);
+        return tokenStateStore.isRevoked(token, subject);
     }
-}
\ No newline at end of file
+}
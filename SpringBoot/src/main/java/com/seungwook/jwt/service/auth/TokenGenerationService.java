@@ -0,0 +1,164 @@
+package com.seungwook.jwt.service.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.seungwook.jwt.jwt.VerifiedToken;
+import com.seungwook.jwt.service.store.TokenStateStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자별 토큰 세대 번호
+ * - 액세스 토큰은 발급 시점의 세대(gen 클레임)를 가지며, 세대가 현재 값보다 낮은 토큰은 거부
+ * - 세대를 한 번 올리면(INCR) 그 사용자에게 발급된 모든 토큰이 무효화됨 (토큰별 블랙리스트 불필요)
+ * - 현재 세대는 로컬 캐시에 보관하고, 변경은 Redis Pub/Sub 채널로 다른 노드에 즉시 전파
+ *
+ * 메시지가 유실된 경우 다른 노드에 반영되기까지의 최대 지연은 jwt.generation.cache.ttl-ms 로 제한됨
+ */
+@Slf4j
+@Component
+public class TokenGenerationService implements MessageListener
+{
+    public static final String CHANNEL = "token-generation-events";
+    private final TokenStateStore tokenStateStore;
+    private final Cache<String, Long> generations;
+    private final long retentionMillis;
+
+    public TokenGenerationService(TokenStateStore tokenStateStore,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${jwt.generation.cache.max-size:100000}") long maxSize,
+                                  @Value("${jwt.generation.cache.ttl-ms:30000}") long ttlMillis,
+                                  @Value("${jwt.access-token-expiration}") long accessTokenExpiration,
+                                  @Value("${jwt.refresh-token-expiration}") long refreshTokenExpiration)
+    {
+        this.tokenStateStore = tokenStateStore;
+        this.retentionMillis = Math.max(accessTokenExpiration, refreshTokenExpiration);
+
+        this.generations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, generations, "jwt.token-generation");
+    }
+
+    /**
+     * 사용자의 현재 세대 (한 번도 올린 적 없으면 0)
+     */
+    public long current(String uuid)
+    {
+        Long cached = generations.getIfPresent(uuid);
+        if (cached != null) return cached;
+
+        // 저장소를 조회할 수 없으면 0으로 간주하되 캐시에는 넣지 않음 (복구 후 바로 다시 조회)
+        Long loaded = tokenStateStore.generation(uuid);
+        if (loaded == null) return 0L;
+
+        return update(uuid, loaded);
+    }
+
+    /**
+     * 여러 사용자의 현재 세대 (캐시에 없는 사용자만 저장소에서 한 번에 조회)
+     */
+    public Map<String, Long> current(Collection<String> uuids)
+    {
+        Map<String, Long> result = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String uuid : uuids)
+        {
+            Long cached = generations.getIfPresent(uuid);
+            if (cached != null) result.put(uuid, cached);
+            else missing.add(uuid);
+        }
+
+        if (missing.isEmpty()) return result;
+
+        // 저장소를 조회할 수 없으면 0으로 간주하되 캐시에는 넣지 않음
+        Map<String, Long> loaded = tokenStateStore.generations(missing);
+        for (String uuid : missing)
+        {
+            Long generation = loaded == null ? null : loaded.get(uuid);
+            result.put(uuid, generation == null ? 0L : update(uuid, generation));
+        }
+        return result;
+    }
+
+    /**
+     * 로컬 캐시에 있는 현재 세대 (없으면 null, 저장소를 조회하지 않음)
+     * 리액티브 경로는 캐시에 없을 때 ReactiveTokenStateStore로 조회하고 remember()로 반영
+     */
+    public Long cached(String uuid)
+    {
+        return generations.getIfPresent(uuid);
+    }
+
+    /**
+     * 저장소에서 조회한 세대를 로컬 캐시에 반영
+     * @return 반영 후 현재 세대
+     */
+    public long remember(String uuid, long generation)
+    {
+        return update(uuid, generation);
+    }
+
+    /**
+     * 토큰이 발급된 세대가 사용자의 현재 세대 이상인지 여부
+     */
+    public boolean isCurrent(VerifiedToken token)
+    {
+        return token.getSubject() == null || token.getGeneration() >= current(token.getSubject());
+    }
+
+    /**
+     * 세대를 올려 사용자에게 발급된 모든 토큰을 무효화
+     * @return 새 세대
+     */
+    public long bump(String uuid)
+    {
+        return update(uuid, tokenStateStore.bumpGeneration(uuid, retentionMillis));
+    }
+
+    // 세대 키 보관 기간 (리액티브 경로가 ReactiveTokenStateStore로 세대를 올릴 때 사용)
+    long retentionMillis()
+    {
+        return retentionMillis;
+    }
+
+    // 메시지 형식: "세대:UUID"
+    @Override
+    public void onMessage(Message message, byte[] pattern)
+    {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator <= 0) return;
+
+        try
+        {
+            update(body.substring(separator + 1), Long.parseLong(body.substring(0, separator)));
+        }
+        catch (NumberFormatException e)
+        {
+            log.warn("잘못된 토큰 세대 이벤트 무시: {}", body);
+        }
+    }
+
+    // 세대는 증가만 하므로 늦게 도착한 이전 값으로 덮어쓰지 않음
+    private long update(String uuid, long generation)
+    {
+        return generations.asMap().merge(uuid, generation, Math::max);
+    }
+}
@@ -2,14 +2,30 @@ package com.seungwook.jwt.service.auth;
 
 import com.seungwook.jwt.dto.auth.response.AuthResponse;
 import com.seungwook.jwt.dto.auth.response.RefreshResponse;
+import com.seungwook.jwt.dto.auth.response.TokenIntrospection;
 import com.seungwook.jwt.enumeration.UserRole;
+import com.seungwook.jwt.jwt.IssuedToken;
 import com.seungwook.jwt.jwt.JwtTokenProvider;
+import com.seungwook.jwt.jwt.TokenFormat;
+import com.seungwook.jwt.jwt.VerifiedToken;
+import com.seungwook.jwt.service.store.TokenStateStore;
+import com.seungwook.jwt.service.store.TokenStateStore.RefreshState;
+import com.seungwook.jwt.service.store.TokenStateStore.Rotated;
+import com.seungwook.jwt.service.store.TokenStateStore.Rotation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
 
 @Slf4j
 @Service
@@ -17,74 +33,119 @@ import java.time.Duration;
 public class TokenService
 {
     private final RedisSessionService redisSessionService;
-    private final StringRedisTemplate redisTemplate;
+    private final TokenStateStore tokenStateStore;
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenGenerationService tokenGenerationService;
+
+    private static final char HANDLE_SEPARATOR = '~';
+
+    // 이 개수 이상의 토큰을 한 번에 확인할 때만 검증을 병렬로 처리 (적은 수는 스레드 분배 비용이 더 큼)
+    private static final int PARALLEL_VERIFY_THRESHOLD = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder HANDLE_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    static final String INVALID_REFRESH_TOKEN = "refresh 토큰이 유효하지 않습니다";
+    static final String INVALID_ACCESS_TOKEN = "유효하지 않은 액세스 토큰입니다";
+
+    // 리프레시 토큰 형식 (true = Redis 해시로 조회하는 불투명 핸들, false = 서명된 JWT)
+    // 어느 쪽이든 이미 발급된 다른 형식의 리프레시 토큰도 만료될 때까지 사용 가능
+    @Value("${jwt.refresh-token.opaque:false}")
+    private boolean opaqueRefresh;
+
+    @Value("${jwt.refresh-token-expiration}")
+    private long refreshTokenExpiration;
+
+    // 교체 직후 같은 요청의 재시도를 재사용으로 보지 않는 시간 (응답을 받지 못한 클라이언트의 재시도)
+    @Value("${jwt.refresh-token.retry-grace-ms:10000}")
+    private long retryGraceMillis;
 
     // 토큰 저장
     public void save(String uuid, String refreshToken, long refreshTokenValidityMs)
     {
-        redisTemplate.opsForValue().set("refresh:" + uuid, refreshToken, Duration.ofMillis(refreshTokenValidityMs));
+        tokenStateStore.saveRefreshToken(uuid, refreshToken, refreshTokenValidityMs);
     }
 
     // 토큰 조회
     public String get(String uuid)
     {
-        return redisTemplate.opsForValue().get("refresh:" + uuid);
+        return tokenStateStore.findRefreshToken(uuid);
     }
 
-    // 토큰 삭제
+    // 토큰 삭제 (현재 리프레시 토큰의 패밀리 또는 핸들 상태도 함께 삭제)
     public void delete(String uuid)
     {
-        redisTemplate.delete("refresh:" + uuid);
+        String current = get(uuid);
+        tokenStateStore.deleteRefreshToken(uuid, current == null ? null : presented(current));
     }
 
-    /**
-     * 액세스 토큰 생성
-     */
-    public String createAccessToken(String uuid, UserRole role)
+    // 불투명 핸들 여부 (JWT는 항상 '.'을 포함)
+    static boolean isOpaqueHandle(String refreshToken)
+    {
+        return refreshToken.indexOf('.') < 0;
+    }
+
+    // 난수 식별자 (Base64URL, 16바이트 = 22자, 32바이트 = 43자)
+    private static String randomId(int bytes)
     {
-        return jwtTokenProvider.createAccessToken(uuid, "ROLE_" + role.name());
+        byte[] random = new byte[bytes];
+        RANDOM.nextBytes(random);
+        return HANDLE_ENCODER.encodeToString(random);
     }
 
     /**
-     * 리프레시 토큰 생성
+     * 패밀리에 속한 새 리프레시 토큰 발급 (상태 저장은 호출 측에서 처리)
+     * - 불투명 핸들: "패밀리~난수" 형식, jti 자리에는 난수를 담음
+     * - JWT: fam 클레임에 패밀리를 담은 토큰
+     * 어느 쪽이든 jti가 패밀리 해시의 current 값이 됨
      */
-    public String createRefreshToken()
+    private IssuedToken issueRefreshToken(String family)
     {
-        return jwtTokenProvider.createRefreshToken();
+        if (!opaqueRefresh) return jwtTokenProvider.issueRefreshToken(family);
+
+        String secret = randomId(32);
+        return new IssuedToken(family + HANDLE_SEPARATOR + secret, secret, System.currentTimeMillis() + refreshTokenExpiration);
     }
 
     /**
-     * 토큰 남은 유효 시간 확인
+     * 액세스 토큰 생성 (사용자의 현재 토큰 세대를 함께 기록)
      */
-    public long getTokenRemainingTimeMillis(String token)
+    public String createAccessToken(String uuid, UserRole role)
     {
-        return jwtTokenProvider.getTokenRemainingTimeMillis(token);
+        return jwtTokenProvider.createAccessToken(uuid, role, tokenGenerationService.current(uuid));
     }
 
     /**
-     * 토큰 검증
+     * 로그인/회원가입 시 토큰 발급
+     * 새 패밀리와 사용자 리프레시 토큰을 한 번에 저장하며,
+     * TTL은 토큰을 다시 파싱하지 않고 발급 시각 기준으로 계산
      */
-    public boolean validateToken(String token)
+    public AuthResponse issueTokens(String uuid, UserRole role)
     {
-        return jwtTokenProvider.validate(token);
+        String accessToken = createAccessToken(uuid, role);
+
+        String family = randomId(16);
+        IssuedToken refreshToken = issueRefreshToken(family);
+
+        tokenStateStore.startSession(uuid, family, "ROLE_" + role.name(), refreshToken.getJti(), refreshToken.getToken(), refreshToken.getRemainingTimeMillis());
+
+        return new AuthResponse(accessToken, refreshToken.getToken(), uuid);
     }
 
     /**
-     * 토큰에서 UUID 추출
+     * 토큰 검증 및 클레임 추출 (한 번만 파싱)
      */
-    public String getUuidFromToken(String token)
+    public Optional<VerifiedToken> verifyToken(String token)
     {
-        return jwtTokenProvider.getUuid(token);
+        return jwtTokenProvider.verify(token);
     }
 
     /**
      * 토큰 블랙리스트 추가
      */
-    public void blacklistToken(String token)
+    public void blacklistToken(String token, VerifiedToken verified)
     {
-        long remainingTime = jwtTokenProvider.getTokenRemainingTimeMillis(token);
-        if (remainingTime > 0) redisSessionService.addToBlacklist(token, remainingTime);
+        long remainingTime = verified.getRemainingTimeMillis();
+        if (remainingTime > 0) redisSessionService.addToBlacklist(token, verified.getSubject(), remainingTime);
     }
 
     /**
@@ -95,17 +156,14 @@ public class TokenService
         try
         {
             // 토큰 검증 및 UUID 추출
-            if (!jwtTokenProvider.validate(accessToken)) return false;
-
-            String uuid = jwtTokenProvider.getUuid(accessToken);
-            if (uuid == null) return false;
+            VerifiedToken verified = jwtTokenProvider.verify(accessToken).orElse(null);
+            if (verified == null || verified.getSubject() == null) return false;
 
             // 리프레시 토큰 삭제
-            delete(uuid);
+            delete(verified.getSubject());
 
             // 액세스 토큰 블랙리스트 추가
-            long remainingTime = jwtTokenProvider.getTokenRemainingTimeMillis(accessToken);
-            if (remainingTime > 0) redisSessionService.addToBlacklist(accessToken, remainingTime);
+            blacklistToken(accessToken, verified);
 
             return true;
         }
@@ -116,58 +174,191 @@ public class TokenService
         }
     }
 
+    /**
+     * 사용자에게 발급된 모든 토큰 무효화
+     * 토큰 세대를 올려 기존 액세스 토큰을 한 번에 거부하고, 현재 리프레시 토큰을 삭제
+     */
+    public void revokeAll(String uuid)
+    {
+        tokenGenerationService.bump(uuid);
+        delete(uuid);
+    }
+
+    /**
+     * 여러 액세스 토큰의 상태 일괄 확인 (게이트웨이용)
+     * 1. 형태 확인과 서명/만료 검증은 로컬에서 병렬 처리 (저장소 조회 없음)
+     * 2. 검증을 통과한 토큰의 블랙리스트 여부는 한 번의 다중 키 조회로 확인
+     * 3. 사용자 세대는 캐시에 없는 사용자만 한 번에 조회
+     * @return 같은 순서의 확인 결과
+     */
+    public List<TokenIntrospection> introspect(List<String> tokens)
+    {
+        VerifiedToken[] verified = verifyAccessTokens(tokens);
+        List<Integer> candidates = candidates(verified);
+        if (candidates.isEmpty()) return introspection(verified, candidates, new boolean[0], Map.of());
+
+        List<String> candidateTokens = candidates.stream().map(tokens::get).toList();
+        List<String> subjects = candidates.stream().map(i -> verified[i].getSubject()).toList();
+
+        boolean[] revoked = tokenStateStore.isRevoked(candidateTokens, subjects);
+        Map<String, Long> generations = tokenGenerationService.current(new HashSet<>(subjects));
+
+        return introspection(verified, candidates, revoked, generations);
+    }
+
+    // 형태 확인과 서명/만료 검증 (로컬 CPU 작업, 통과하지 못한 토큰은 null)
+    VerifiedToken[] verifyAccessTokens(List<String> tokens)
+    {
+        VerifiedToken[] verified = new VerifiedToken[tokens.size()];
+        IntStream indices = IntStream.range(0, verified.length);
+        if (verified.length >= PARALLEL_VERIFY_THRESHOLD) indices = indices.parallel();
+        indices.forEach(i -> verified[i] = verifyAccessToken(tokens.get(i)));
+        return verified;
+    }
+
+    // 검증을 통과한 토큰의 위치 (저장소에서 상태를 확인할 대상)
+    static List<Integer> candidates(VerifiedToken[] verified)
+    {
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < verified.length; i++)
+        {
+            if (verified[i] != null) candidates.add(i);
+        }
+        return candidates;
+    }
+
+    // 검증 결과와 저장소 조회 결과(candidates 순서의 블랙리스트 여부, 사용자별 세대)를 합친 같은 순서의 확인 결과
+    static List<TokenIntrospection> introspection(VerifiedToken[] verified, List<Integer> candidates,
+                                                  boolean[] revoked, Map<String, Long> generations)
+    {
+        TokenIntrospection[] results = new TokenIntrospection[verified.length];
+        Arrays.fill(results, TokenIntrospection.inactive());
+
+        for (int j = 0; j < revoked.length; j++)
+        {
+            VerifiedToken token = verified[candidates.get(j)];
+            if (revoked[j] || token.getGeneration() < generations.getOrDefault(token.getSubject(), 0L)) continue;
+
+            results[candidates.get(j)] = TokenIntrospection.active(token.getSubject(), token.getRole(), token.getRemainingTimeMillis());
+        }
+
+        return Arrays.asList(results);
+    }
+
+    // 인증 필터와 같은 기준 (형태, 서명/만료, 사용자와 권한이 있는 액세스 토큰)
+    private VerifiedToken verifyAccessToken(String token)
+    {
+        if (token == null || !TokenFormat.isWellFormed(token)) return null;
+
+        VerifiedToken verified = jwtTokenProvider.verify(token).orElse(null);
+        if (verified == null || verified.getSubject() == null || verified.getRole() == null) return null;
+        return verified;
+    }
+
     /**
      * 토큰 갱신 로직 처리
+     * 불투명 핸들은 서명 검증 없이, JWT 리프레시 토큰은 검증 후 패밀리와 비교하여 한 번의 저장소 호출로 교체
      */
     public RefreshResponse refreshTokens(String accessToken, String refreshToken)
     {
-        // 1. 리프레시 토큰 검증
-        if (jwtTokenProvider.isRefreshTokenUsed(refreshToken))
+        // 1. 리프레시 토큰 확인
+        RefreshState presented = presented(refreshToken);
+        VerifiedToken verifiedAccess = jwtTokenProvider.verify(accessToken).orElse(null);
+
+        if (presented == null)
         {
             // 보안 위협 대응 - 토큰 무효화
-            invalidateTokens(accessToken);
-            return RefreshResponse.failure("refresh 토큰이 유효하지 않습니다");
+            invalidateTokens(accessToken, verifiedAccess);
+            return RefreshResponse.failure(INVALID_REFRESH_TOKEN);
         }
 
         // 2. UUID 및 Role 추출
-        String uuid = jwtTokenProvider.getUuid(accessToken);
-        if (uuid == null) return RefreshResponse.failure("유효하지 않은 액세스 토큰입니다");
+        if (verifiedAccess == null || verifiedAccess.getSubject() == null) return RefreshResponse.failure(INVALID_ACCESS_TOKEN);
 
-        String role = jwtTokenProvider.getRole(accessToken);
-        if (role == null) return RefreshResponse.failure("유효하지 않은 액세스 토큰입니다");
+        String uuid = verifiedAccess.getSubject();
 
-        // 3. 토큰 갱신 처리
-        jwtTokenProvider.markRefreshTokenAsUsed(refreshToken);
+        // 사용자 전체 무효화 이전에 발급된 액세스 토큰으로는 갱신 불가
+        long generation = tokenGenerationService.current(uuid);
+        if (!canRotate(presented, verifiedAccess, generation)) return RefreshResponse.failure(INVALID_ACCESS_TOKEN);
 
-        // 새 토큰 발급
-        String newAccessToken = jwtTokenProvider.createAccessToken(uuid, role);
-        String newRefreshToken = jwtTokenProvider.createRefreshToken();
+        // 3, 4. 새 리프레시 토큰 발급 후 재사용 확인, 기존 토큰 무효화, 새 토큰 저장을 원자적으로 처리
+        // 재시도면 앞선 요청에서 이미 기록된 리프레시 토큰을 돌려받음
+        Rotated rotated = tokenStateStore.rotate(rotation(presented, accessToken, verifiedAccess));
 
-        // 4. 기존 토큰 무효화 및 새 토큰 저장
-        invalidateAccessToken(accessToken);
-        save(uuid, newRefreshToken, jwtTokenProvider.getTokenRemainingTimeMillis(newRefreshToken));
+        // 블랙리스트 기록은 성공/실패 모두 저장소에서 수행되므로 이 노드의 검증 캐시에서도 즉시 제거
+        redisSessionService.evictVerified(accessToken);
 
-        // 5. 결과 반환
-        return RefreshResponse.success(new AuthResponse(newAccessToken, newRefreshToken, uuid));
+        // 5. 패밀리에 기록된 role로 새 액세스 토큰 발급
+        return refreshed(uuid, generation, rotated);
     }
 
     /**
-     * 토큰 무효화 (액세스 토큰, 리프레시 토큰 모두)
+     * 저장소 조회 없이 판단하는 갱신 조건
+     * 사용자 전체 무효화 이전 세대의 액세스 토큰이 아니어야 하고, 패밀리가 없는 이전 형식은 새 패밀리에 기록할 role이 있어야 함
+     */
+    static boolean canRotate(RefreshState presented, VerifiedToken verifiedAccess, long generation)
+    {
+        if (verifiedAccess.getGeneration() < generation) return false;
+        return presented.kind() != RefreshState.Kind.USED_FLAG || verifiedAccess.getRole() != null;
+    }
+
+    /**
+     * 새 리프레시 토큰을 발급하여 저장소에 보낼 교체 요청 생성 (기존 패밀리 유지, 이전 형식은 새 패밀리 시작)
      */
-    private void invalidateTokens(String accessToken)
+    Rotation rotation(RefreshState presented, String accessToken, VerifiedToken verifiedAccess)
     {
-        String uuid = jwtTokenProvider.getUuid(accessToken);
-        if (uuid != null) delete(uuid);
+        String family = presented.family() != null ? presented.family() : randomId(16);
+        IssuedToken newRefreshToken = issueRefreshToken(family);
 
-        invalidateAccessToken(accessToken);
+        return new Rotation(verifiedAccess.getSubject(), verifiedAccess.getRole(), presented,
+                accessToken, verifiedAccess.getRemainingTimeMillis(), verifiedAccess.getExpiration(),
+                family, newRefreshToken.getJti(), newRefreshToken.getToken(), newRefreshToken.getRemainingTimeMillis(),
+                retryGraceMillis);
     }
 
     /**
-     * 액세스 토큰 무효화 (블랙리스트에 추가)
+     * 교체 결과로 갱신 응답 생성 (패밀리에 기록된 role로 새 액세스 토큰 발급)
+     * rotated가 null이면 보안 위협 대응 - 없거나, 다른 사용자의 것이거나, 이미 교체된 리프레시 토큰 (저장소에서 패밀리 무효화 완료)
      */
-    private void invalidateAccessToken(String accessToken)
+    RefreshResponse refreshed(String uuid, long generation, Rotated rotated)
     {
-        long remainingTime = jwtTokenProvider.getTokenRemainingTimeMillis(accessToken);
-        if (remainingTime > 0) redisSessionService.addToBlacklist(accessToken, remainingTime);
+        if (rotated == null) return RefreshResponse.failure(INVALID_REFRESH_TOKEN);
+
+        String newAccessToken = jwtTokenProvider.createAccessToken(uuid, rotated.role(), generation);
+        return RefreshResponse.success(new AuthResponse(newAccessToken, rotated.refreshToken(), uuid));
+    }
+
+    // 리프레시 토큰 형식 판별 (서명이 유효하지 않은 JWT면 null)
+    RefreshState presented(String refreshToken)
+    {
+        if (isOpaqueHandle(refreshToken))
+        {
+            int separator = refreshToken.indexOf(HANDLE_SEPARATOR);
+            if (separator < 0) return new RefreshState(RefreshState.Kind.LEGACY_HANDLE, refreshToken, null, 0);
+
+            return new RefreshState(RefreshState.Kind.FAMILY, refreshToken.substring(0, separator), refreshToken.substring(separator + 1), 0);
+        }
+
+        VerifiedToken verified = jwtTokenProvider.verify(refreshToken).orElse(null);
+        if (verified == null || verified.getJti() == null) return null;
+
+        if (verified.getFamily() != null)
+        {
+            return new RefreshState(RefreshState.Kind.FAMILY, verified.getFamily(), verified.getJti(), 0);
+        }
+
+        return new RefreshState(RefreshState.Kind.USED_FLAG, verified.getJti(), null, verified.getRemainingTimeMillis());
+    }
+
+    /**
+     * 토큰 무효화 (액세스 토큰, 리프레시 토큰 모두)
+     */
+    private void invalidateTokens(String accessToken, VerifiedToken verifiedAccess)
+    {
+        if (verifiedAccess == null) return;
+
+        if (verifiedAccess.getSubject() != null) delete(verifiedAccess.getSubject());
+
+        blacklistToken(accessToken, verifiedAccess);
     }
-}
\ No newline at end of file
+}
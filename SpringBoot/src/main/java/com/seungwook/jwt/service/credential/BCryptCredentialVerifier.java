@@ -0,0 +1,47 @@
+package com.seungwook.jwt.service.credential;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * 기존 방식: 검색용 SHA-256 해시 + BCrypt 검증
+ * BCrypt 연산은 요청 스레드가 아닌 전용 실행기(HashingExecutor)에서 수행
+ */
+@RequiredArgsConstructor
+public class BCryptCredentialVerifier implements CredentialVerifier
+{
+    private final PasswordEncoder passwordEncoder;
+    private final HashingExecutor hashingExecutor;
+
+    @Override
+    public String index(String rawUuid)
+    {
+        try
+        {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] hashBytes = md.digest(rawUuid.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hashBytes);
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new RuntimeException("해시 생성 실패", e);
+        }
+    }
+
+    @Override
+    public String encode(String rawUuid)
+    {
+        return hashingExecutor.execute(() -> passwordEncoder.encode(rawUuid));
+    }
+
+    @Override
+    public boolean matches(String rawUuid, String encoded)
+    {
+        return hashingExecutor.execute(() -> passwordEncoder.matches(rawUuid, encoded));
+    }
+}
@@ -0,0 +1,27 @@
+package com.seungwook.jwt.service.credential;
+
+/**
+ * UUID 자격 증명 저장 및 검증 전략
+ * - index: searchableHash 컬럼에 저장되는 검색용 값
+ * - encode: uuid 컬럼에 저장되는 검증용 값
+ */
+public interface CredentialVerifier
+{
+    String index(String rawUuid);
+
+    String encode(String rawUuid);
+
+    boolean matches(String rawUuid, String encoded);
+
+    // 현재 전략과 다른 방식으로 저장되어 있어 재저장(업그레이드)이 필요한지 여부
+    default boolean needsUpgrade(String encoded)
+    {
+        return false;
+    }
+
+    // 이전 전략의 검색용 값 (업그레이드 전 사용자 조회용, 없으면 null)
+    default String legacyIndex(String rawUuid)
+    {
+        return null;
+    }
+}
@@ -0,0 +1,127 @@
+package com.seungwook.jwt.service.credential;
+
+import com.seungwook.jwt.exception.HashingCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt 등 CPU를 많이 쓰는 해시 작업 전용 실행기
+ * - 고정 크기 스레드 풀 + 크기 제한 대기열로 요청 스레드(Tomcat)와 분리
+ * - 대기열이 가득 차면 기다리지 않고 HashingCapacityExceededException 발생 (503 응답)
+ * - 요청 스레드는 최대 maxWaitMillis까지만 기다리고, 넘기면 작업을 취소하고 같은 예외 발생
+ * - 대기열 길이, 대기 시간, 해시 소요 시간, 거절 횟수, 시간 초과 횟수를 지표로 노출
+ *
+ * 가상 스레드 모드에서도 플랫폼 스레드를 유지 (CPU 작업이 가상 스레드의 캐리어 스레드를 오래 점유하지 않도록 하고,
+ * 동시 해시 수를 코어 수로 제한하는 역할은 그대로 필요)
+ */
+public class HashingExecutor
+{
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+    private final Timer waitTimer;
+    private final Timer hashTimer;
+    private final Counter rejectedCounter;
+    private final Counter timeoutCounter;
+
+    /**
+     * @param maxWaitMillis 제출부터 해시 완료까지 요청 스레드가 기다리는 최대 시간
+     */
+    public HashingExecutor(int poolSize, int queueCapacity, long maxWaitMillis, MeterRegistry meterRegistry)
+    {
+        this.maxWaitMillis = maxWaitMillis;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "credential-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.hash.queue.depth", executor, e -> e.getQueue().size())
+                .description("해시 작업 대기열 길이")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("auth.hash.wait")
+                .description("해시 작업 대기 시간")
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("auth.hash.duration")
+                .description("해시 작업 소요 시간")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.hash.rejected")
+                .description("대기열 초과로 거절된 해시 작업 수")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("auth.hash.timeout")
+                .description("최대 대기 시간을 넘겨 취소된 해시 작업 수")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> task)
+    {
+        long submittedAt = System.nanoTime();
+
+        Future<T> future;
+        try
+        {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.record(task);
+            });
+        }
+        catch (RejectedExecutionException e)
+        {
+            rejectedCounter.increment();
+            throw new HashingCapacityExceededException("해시 작업 대기열 초과");
+        }
+
+        try
+        {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        }
+        catch (TimeoutException e)
+        {
+            cancel(future);
+            timeoutCounter.increment();
+            throw new HashingCapacityExceededException("해시 작업 대기 시간 초과 (" + maxWaitMillis + "ms)", e);
+        }
+        catch (InterruptedException e)
+        {
+            // 요청을 끝까지 처리할 수 없으므로 과부하와 같이 503으로 응답
+            cancel(future);
+            Thread.currentThread().interrupt();
+            throw new HashingCapacityExceededException("해시 작업 대기 중 인터럽트", e);
+        }
+        catch (ExecutionException e)
+        {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException("해시 작업 실패", e.getCause());
+        }
+    }
+
+    // 아직 대기열에 있으면 빼서 다른 요청의 자리를 비움 (실행 중인 해시는 끝까지 실행되고 결과만 버려짐)
+    private void cancel(Future<?> future)
+    {
+        future.cancel(true);
+        if (future instanceof Runnable queued) executor.remove(queued);
+    }
+
+    public void shutdown()
+    {
+        executor.shutdown();
+    }
+}
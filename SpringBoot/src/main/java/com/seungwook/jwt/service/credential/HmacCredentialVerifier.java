@@ -0,0 +1,76 @@
+package com.seungwook.jwt.service.credential;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * 고엔트로피(122비트 난수) UUID 전용 검증 방식: 서버 비밀값(pepper)을 키로 한 HMAC-SHA256
+ * 추측 불가능한 자격 증명이므로 느린 해시 없이도 안전하며, BCrypt 대비 수천 배 빠름
+ *
+ * HMAC 값은 searchableHash 컬럼에 저장되어 조회와 검증을 겸하고,
+ * BCrypt로 저장된 기존 사용자는 다음 로그인 성공 시 이 방식으로 재저장됨
+ */
+public class HmacCredentialVerifier implements CredentialVerifier
+{
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String ENCODED_PREFIX = "{hmac}";
+
+    private final SecretKeySpec pepper;
+    private final CredentialVerifier legacy;
+
+    public HmacCredentialVerifier(byte[] pepper, CredentialVerifier legacy)
+    {
+        if (pepper.length < 32) throw new IllegalArgumentException("pepper는 최소 256비트 이상이어야 합니다");
+
+        this.pepper = new SecretKeySpec(pepper, ALGORITHM);
+        this.legacy = legacy;
+    }
+
+    @Override
+    public String index(String rawUuid)
+    {
+        try
+        {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(pepper);
+            return Base64.getEncoder().encodeToString(mac.doFinal(rawUuid.getBytes(StandardCharsets.UTF_8)));
+        }
+        catch (GeneralSecurityException e)
+        {
+            throw new IllegalStateException("HMAC 생성 실패", e);
+        }
+    }
+
+    @Override
+    public String encode(String rawUuid)
+    {
+        return ENCODED_PREFIX + index(rawUuid);
+    }
+
+    @Override
+    public boolean matches(String rawUuid, String encoded)
+    {
+        if (!encoded.startsWith(ENCODED_PREFIX)) return legacy.matches(rawUuid, encoded);
+
+        // 상수 시간 비교
+        return MessageDigest.isEqual(
+                encode(rawUuid).getBytes(StandardCharsets.UTF_8),
+                encoded.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean needsUpgrade(String encoded)
+    {
+        return !encoded.startsWith(ENCODED_PREFIX);
+    }
+
+    @Override
+    public String legacyIndex(String rawUuid)
+    {
+        return legacy.index(rawUuid);
+    }
+}
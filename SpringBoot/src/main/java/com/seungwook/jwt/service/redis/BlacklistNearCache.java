@@ -0,0 +1,407 @@
+package com.seungwook.jwt.service.redis;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 노드 로컬 블랙리스트 복제본
+ * - 블랙리스트 추가 시 Redis Pub/Sub 채널로 전파된 항목을 받아 보관 (만료 시각까지만 유지)
+ * - 채널 구독이 확인될 때(기동, 재연결)마다 모든 샤드의 블랙리스트 색인(blacklist_index)을 다시 읽어 그 사이 유실된 메시지를 보정
+ *   색인은 블랙리스트 키를 만료 시각 순으로 보관하는 정렬 집합이므로 키 공간 전체를 훑지 않고 유효한 항목만 읽음
+ * - 주기적으로 각 샤드에 확인 메시지를 발행하고, 일정 시간 받지 못하면 구독이 끊긴 것으로 보고 비활성화
+ * - 비활성 상태(동기화 전, 구독 끊김, 용량 초과)에서는 Redis를 직접 조회하도록 함
+ *
+ * 보관 항목 수는 jwt.blacklist.near-cache.max-entries 로 제한하며, 넘으면 만료로 충분히 줄어들 때까지 비활성 상태로 둠
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jwt.state-store", havingValue = "redis", matchIfMissing = true)
+public class BlacklistNearCache implements MessageListener, SubscriptionListener
+{
+    public static final String CHANNEL = "blacklist-events";
+    private static final String HEARTBEAT_PREFIX = "ping:";
+    private static final int SCAN_BATCH_SIZE = 1000;
+
+    // 확인 메시지를 이 횟수만큼 연속으로 받지 못하면 구독이 끊긴 것으로 판단
+    private static final int MISSED_HEARTBEATS = 3;
+
+    private final RedisShards redisShards;
+    private final RedisGuard redisGuard;
+
+    @Value("${jwt.blacklist.near-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jwt.blacklist.legacy-key-check:true}")
+    private boolean legacyKeyCheck;
+
+    @Value("${jwt.blacklist.near-cache.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${jwt.blacklist.near-cache.heartbeat-ms:5000}")
+    private long heartbeatMillis;
+
+    // 블랙리스트 키 -> 만료 시각 (epoch millis)
+    private final ConcurrentHashMap<String, Long> entries = new ConcurrentHashMap<>();
+
+    // 전체 동기화 성공 여부
+    private volatile boolean synced = false;
+
+    // 보관 항목 수 초과 여부 (초과한 동안 추가된 항목은 로컬에 없으므로 다시 동기화해야 활성화)
+    private volatile boolean overflowed = false;
+
+    // 동기화 요청 수 (구독 확인, 구독 끊김, 용량 회복 시 증가)와 마지막으로 반영한 요청 수 (점검 스레드만 사용)
+    // 동기화 도중 새 요청이 들어오면 그 동기화로는 활성화하지 않음
+    private final AtomicLong resyncRequests = new AtomicLong(1);
+    private long handledRequests = 0;
+
+    // 샤드별 마지막 확인 메시지 수신 시각
+    private volatile AtomicLongArray lastHeartbeat;
+
+    // 로컬 복제본만으로 판단해도 되는지 여부
+    public boolean isActive()
+    {
+        return enabled && synced;
+    }
+
+    public boolean contains(String key)
+    {
+        Long expiresAt = entries.get(key);
+        if (expiresAt == null) return false;
+        if (expiresAt > System.currentTimeMillis()) return true;
+
+        entries.remove(key, expiresAt);
+        return false;
+    }
+
+    public void add(String key, long expiresAt)
+    {
+        if (!enabled) return;
+
+        if (entries.size() >= maxEntries && !entries.containsKey(key))
+        {
+            if (!overflowed) log.warn("로컬 블랙리스트 용량 초과 ({}건), Redis 직접 조회로 전환", maxEntries);
+            overflowed = true;
+            synced = false;
+            return;
+        }
+
+        entries.merge(key, expiresAt, Math::max);
+    }
+
+    // 로컬에 반영 후 다른 노드로 전파 (메시지 형식: "만료시각:키", Redis 장애 중에는 복구 후 전파)
+    public void publish(String key, long expiresAt)
+    {
+        add(key, expiresAt);
+        redisGuard.write("blacklist_publish", expiresAt, remaining -> () -> redisShards.primary().convertAndSend(CHANNEL, expiresAt + ":" + key));
+    }
+
+    // publish()의 리액티브 버전 (ReactiveRedisTokenStateStore)
+    public Mono<Void> publishReactive(String key, long expiresAt)
+    {
+        return Mono.fromRunnable(() -> add(key, expiresAt))
+                .then(redisGuard.writeReactive("blacklist_publish", expiresAt,
+                        remaining -> redisShards.reactivePrimary().convertAndSend(CHANNEL, expiresAt + ":" + key)));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern)
+    {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (body.startsWith(HEARTBEAT_PREFIX))
+        {
+            heartbeatReceived(body.substring(HEARTBEAT_PREFIX.length()));
+            return;
+        }
+
+        int separator = body.indexOf(':');
+        if (separator <= 0) return;
+
+        try
+        {
+            add(body.substring(separator + 1), Long.parseLong(body.substring(0, separator)));
+        }
+        catch (NumberFormatException e)
+        {
+            log.warn("잘못된 블랙리스트 이벤트 무시: {}", body);
+        }
+    }
+
+    /**
+     * 채널 구독 확인 (기동 시, 그리고 연결이 끊겼다가 구독을 복구할 때마다 호출됨)
+     * 끊긴 동안 유실된 메시지가 있을 수 있으므로 다시 동기화할 때까지 비활성화
+     */
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count)
+    {
+        if (!enabled) return;
+
+        synced = false;
+        resyncRequests.incrementAndGet();
+    }
+
+    /**
+     * 주기 점검
+     * - 동기화 요청(구독 확인, 용량 회복)이 있으면 다시 동기화
+     * - 각 샤드에 확인 메시지를 발행하고, 받지 못한 샤드가 있으면 비활성화 후 다음 주기에 다시 동기화
+     * - 만료된 항목 정리
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${jwt.blacklist.near-cache.heartbeat-ms:5000}")
+    public void maintain()
+    {
+        if (!enabled) return;
+
+        purgeExpired();
+        if (overflowed && entries.size() < maxEntries * 9L / 10)
+        {
+            overflowed = false;
+            resyncRequests.incrementAndGet();
+        }
+
+        long requested = resyncRequests.get();
+        if (requested != handledRequests && resync(requested)) handledRequests = requested;
+
+        if (synced && !heartbeatsHealthy())
+        {
+            log.warn("블랙리스트 전파 채널 응답 없음, Redis 직접 조회로 전환");
+            synced = false;
+            resyncRequests.incrementAndGet();
+        }
+
+        sendHeartbeats();
+    }
+
+    /**
+     * 모든 샤드의 블랙리스트 색인을 다시 읽어 로컬 복제본에 병합
+     * @param requested 이 동기화가 반영하는 요청 수 (끝날 때까지 새 요청이 없어야 활성화)
+     * @return 동기화를 마쳤는지 여부 (실패하면 비활성 상태를 유지하고 다음 점검 주기에 다시 시도)
+     */
+    boolean resync(long requested)
+    {
+        try
+        {
+            List<StringRedisTemplate> shards = redisShards.all();
+            for (int i = 0; i < shards.size(); i++)
+            {
+                migrateToIndex(shards.get(i), i == 0);
+            }
+
+            long now = System.currentTimeMillis();
+
+            // 유효한 항목이 용량을 넘으면 읽지 않음 (Redis 직접 조회 유지)
+            long live = 0;
+            for (StringRedisTemplate shard : shards)
+            {
+                Long count = shard.opsForZSet().count(RedisTokenStateStore.BLACKLIST_INDEX, now, Double.POSITIVE_INFINITY);
+                live += count == null ? 0 : count;
+            }
+            if (live > maxEntries)
+            {
+                if (!overflowed) log.warn("블랙리스트 항목이 로컬 용량을 넘음 ({}건 > {}건), Redis 직접 조회 유지", live, maxEntries);
+                overflowed = true;
+                synced = false;
+                return true;
+            }
+
+            for (StringRedisTemplate shard : shards)
+            {
+                loadIndex(shard, now);
+            }
+
+            resetHeartbeats(shards.size(), now);
+            synced = !overflowed && resyncRequests.get() == requested;
+            if (synced) log.info("로컬 블랙리스트 동기화 완료 ({}건)", entries.size());
+            return true;
+        }
+        catch (Exception e)
+        {
+            log.warn("로컬 블랙리스트 동기화 실패, Redis 직접 조회 유지: {}", e.getMessage());
+            synced = false;
+            return false;
+        }
+    }
+
+    // 만료 시각이 지나지 않은 색인 항목을 점수(만료 시각) 순으로 나누어 읽음
+    // 점수 기준으로 이어 읽어 조회 중 앞쪽 항목이 정리되어도 건너뛰는 항목이 없도록 함 (같은 점수는 이미 읽은 수만큼 건너뜀)
+    private void loadIndex(StringRedisTemplate shard, long now)
+    {
+        double min = now;
+        long skip = 0;
+        while (true)
+        {
+            Set<TypedTuple<String>> page = shard.opsForZSet()
+                    .rangeByScoreWithScores(RedisTokenStateStore.BLACKLIST_INDEX, min, Double.POSITIVE_INFINITY, skip, SCAN_BATCH_SIZE);
+            if (page == null || page.isEmpty()) return;
+
+            double last = min;
+            long sameScore = skip;
+            for (TypedTuple<String> entry : page)
+            {
+                double score = entry.getScore() == null ? 0 : entry.getScore();
+                if (score == last)
+                {
+                    sameScore++;
+                }
+                else
+                {
+                    last = score;
+                    sameScore = 1;
+                }
+
+                add(entry.getValue(), (long) score);
+            }
+
+            if (page.size() < SCAN_BATCH_SIZE) return;
+            min = last;
+            skip = sameScore;
+        }
+    }
+
+    /**
+     * 색인 도입 이전에 기록된 블랙리스트 키를 색인에 옮김 (샤드마다 한 번만, 처음 동기화하는 노드가 처리하고 표시 키를 남김)
+     * 이전 형식 키(토큰 원문 키)는 첫 번째 샤드에만 있으므로 함께 옮김
+     * 여러 노드가 동시에 옮겨도 같은 값을 ZADD 하므로 결과는 같음
+     */
+    private void migrateToIndex(StringRedisTemplate shard, boolean primary)
+    {
+        if (Boolean.TRUE.equals(shard.hasKey(RedisTokenStateStore.BLACKLIST_INDEX_MIGRATED))) return;
+
+        scan(shard, RedisTokenStateStore.BLACKLIST_PREFIX);
+        if (primary && legacyKeyCheck) scan(shard, RedisTokenStateStore.LEGACY_BLACKLIST_PREFIX);
+
+        shard.opsForValue().set(RedisTokenStateStore.BLACKLIST_INDEX_MIGRATED, "1");
+        log.info("블랙리스트 색인 구성 완료");
+    }
+
+    private void scan(StringRedisTemplate shard, String prefix)
+    {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(prefix + "*")
+                .count(SCAN_BATCH_SIZE)
+                .build();
+
+        try (Cursor<String> cursor = shard.scan(options))
+        {
+            List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+            while (cursor.hasNext())
+            {
+                batch.add(cursor.next());
+                if (batch.size() >= SCAN_BATCH_SIZE)
+                {
+                    index(shard, batch);
+                    batch.clear();
+                }
+            }
+            index(shard, batch);
+        }
+    }
+
+    // 키 목록의 남은 TTL을 한 번의 파이프라인으로 조회하여 색인에 추가
+    private void index(StringRedisTemplate shard, List<String> keys)
+    {
+        if (keys.isEmpty()) return;
+
+        long now = System.currentTimeMillis();
+        List<Object> ttls = shard.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys)
+            {
+                connection.keyCommands().pTtl(key.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+
+        Set<TypedTuple<String>> tuples = new HashSet<>();
+        for (int i = 0; i < keys.size(); i++)
+        {
+            if (ttls.get(i) instanceof Long ttl && ttl > 0) tuples.add(new DefaultTypedTuple<>(keys.get(i), (double) (now + ttl)));
+        }
+
+        if (!tuples.isEmpty()) shard.opsForZSet().add(RedisTokenStateStore.BLACKLIST_INDEX, tuples);
+    }
+
+    // 각 샤드의 채널로 "ping:샤드번호" 발행 (이 노드를 포함한 모든 노드가 수신)
+    private void sendHeartbeats()
+    {
+        List<StringRedisTemplate> shards = redisShards.all();
+        for (int i = 0; i < shards.size(); i++)
+        {
+            try
+            {
+                shards.get(i).convertAndSend(CHANNEL, HEARTBEAT_PREFIX + i);
+            }
+            catch (Exception e)
+            {
+                log.debug("블랙리스트 확인 메시지 발행 실패 (샤드 {}): {}", i, e.getMessage());
+            }
+        }
+    }
+
+    private void heartbeatReceived(String shard)
+    {
+        AtomicLongArray received = lastHeartbeat;
+        if (received == null) return;
+
+        try
+        {
+            int index = Integer.parseInt(shard);
+            if (index >= 0 && index < received.length()) received.set(index, System.currentTimeMillis());
+        }
+        catch (NumberFormatException e)
+        {
+            log.warn("잘못된 블랙리스트 확인 메시지 무시: {}", shard);
+        }
+    }
+
+    // 동기화 직후에는 모든 샤드를 정상으로 간주하고, 이후 확인 메시지로 갱신
+    private void resetHeartbeats(int shards, long now)
+    {
+        AtomicLongArray received = new AtomicLongArray(shards);
+        for (int i = 0; i < shards; i++)
+        {
+            received.set(i, now);
+        }
+        lastHeartbeat = received;
+    }
+
+    private boolean heartbeatsHealthy()
+    {
+        AtomicLongArray received = lastHeartbeat;
+        if (received == null) return false;
+
+        long threshold = System.currentTimeMillis() - heartbeatMillis * MISSED_HEARTBEATS;
+        for (int i = 0; i < received.length(); i++)
+        {
+            if (received.get(i) < threshold) return false;
+        }
+        return true;
+    }
+
+    private void purgeExpired()
+    {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+}
@@ -0,0 +1,81 @@
+package com.seungwook.jwt.service.redis;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 일관 해시 링 (노드마다 여러 개의 가상 노드를 링에 배치)
+ * - 노드를 추가하면 새 노드가 차지한 구간의 키만 옮겨지고 나머지 키의 배치는 그대로 유지됨
+ * - 가상 노드 위치는 노드 식별자로만 정해지므로, 모든 애플리케이션 노드가 같은 설정이면 같은 배치를 얻음
+ *
+ * 조회는 정렬된 배열의 이진 탐색으로 처리 (할당 없음)
+ */
+final class ConsistentHashRing
+{
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long[] points;
+    private final int[] owners;
+
+    ConsistentHashRing(List<String> nodeIds, int virtualNodes)
+    {
+        TreeMap<Long, Integer> ring = new TreeMap<>();
+        for (int node = 0; node < nodeIds.size(); node++)
+        {
+            for (int replica = 0; replica < virtualNodes; replica++)
+            {
+                ring.putIfAbsent(hash(nodeIds.get(node) + "#" + replica), node);
+            }
+        }
+
+        this.points = new long[ring.size()];
+        this.owners = new int[ring.size()];
+
+        int i = 0;
+        for (Map.Entry<Long, Integer> entry : ring.entrySet())
+        {
+            points[i] = entry.getKey();
+            owners[i] = entry.getValue();
+            i++;
+        }
+    }
+
+    /**
+     * 키가 배치될 노드 (링에서 키의 해시 이후 첫 번째 가상 노드의 주인)
+     */
+    int nodeFor(String key)
+    {
+        long hash = hash(key);
+
+        int low = 0;
+        int high = points.length;
+        while (low < high)
+        {
+            int mid = (low + high) >>> 1;
+            if (points[mid] < hash) low = mid + 1;
+            else high = mid;
+        }
+
+        return owners[low == points.length ? 0 : low];
+    }
+
+    // FNV-1a 64비트 + MurmurHash3 마무리 함수 (짧고 비슷한 문자열도 링 전체에 고르게 퍼지도록)
+    static long hash(String value)
+    {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++)
+        {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
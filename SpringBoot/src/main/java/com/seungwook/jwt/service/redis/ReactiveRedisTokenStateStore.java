@@ -0,0 +1,219 @@
+package com.seungwook.jwt.service.redis;
+
+import com.seungwook.jwt.service.auth.TokenGenerationService;
+import com.seungwook.jwt.service.redis.RedisTokenStateStore.KeyBatch;
+import com.seungwook.jwt.service.store.ReactiveTokenStateStore;
+import com.seungwook.jwt.service.store.TokenStateStore.RefreshState;
+import com.seungwook.jwt.service.store.TokenStateStore.Rotated;
+import com.seungwook.jwt.service.store.TokenStateStore.Rotation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuples;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis 토큰 상태의 리액티브 구현 (ReactiveStringRedisTemplate, 이벤트 루프를 막지 않음)
+ * 키 형식, Lua 스크립트, 샤드 선택, 로컬 블랙리스트 복제본, 지연 예산과 차단기는 RedisTokenStateStore와 같은 것을 사용
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jwt.state-store", havingValue = "redis", matchIfMissing = true)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRedisTokenStateStore implements ReactiveTokenStateStore
+{
+    private final RedisShards redisShards;
+    private final RedisGuard redisGuard;
+    private final BlacklistNearCache blacklistNearCache;
+    private final RedisTokenStateStore tokenStateStore;
+
+    // Redis를 조회할 수 없으면 없는 것으로 간주
+    @Override
+    public Mono<String> findRefreshToken(String uuid)
+    {
+        ReactiveStringRedisTemplate shard = redisShards.reactiveForUser(uuid);
+        return redisGuard.readReactive("refresh_get",
+                () -> shard.opsForValue().get(RedisTokenStateStore.REFRESH_PREFIX + uuid), () -> null);
+    }
+
+    // 복구 후 재실행하면 그 사이 새로 로그인한 세션을 지울 수 있으므로 실패 시 예외로 처리
+    @Override
+    public Mono<Void> deleteRefreshToken(String uuid, RefreshState state)
+    {
+        ReactiveStringRedisTemplate shard = redisShards.reactiveForUser(uuid);
+        String[] keys = RedisTokenStateStore.refreshKeys(uuid, state).toArray(String[]::new);
+
+        return redisGuard.callReactive("refresh_delete", () -> shard.delete(keys)).then();
+    }
+
+    @Override
+    public Mono<Rotated> rotate(Rotation rotation)
+    {
+        String blacklistKey = RedisTokenStateStore.blacklistKey(rotation.accessToken());
+        List<String> keys = RedisTokenStateStore.rotateKeys(rotation, blacklistKey);
+        ReactiveStringRedisTemplate shard = redisShards.reactiveForUser(rotation.uuid());
+
+        return redisGuard.callReactive("refresh_rotate", () -> shard.execute(RedisTokenStateStore.ROTATE_SCRIPT, keys,
+                        RedisTokenStateStore.rotateArgs(rotation, System.currentTimeMillis())).collectList())
+                .doOnSuccess(result -> {
+                    // 블랙리스트 기록은 성공/실패 모두 스크립트에서 수행되므로 이 노드의 로컬 복제본에도 즉시 반영
+                    if (rotation.accessRemainingMillis() > 0) blacklistNearCache.add(blacklistKey, rotation.accessExpiresAt());
+                })
+                .mapNotNull(emitted -> RedisTokenStateStore.rotated(scriptResult(emitted)));
+    }
+
+    // Redis 장애 중에는 로컬 블랙리스트에 먼저 반영하고 Redis 기록은 복구 후 재실행
+    @Override
+    public Mono<Void> revoke(String token, String subject, long ttlMillis)
+    {
+        String key = RedisTokenStateStore.blacklistKey(token);
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        ReactiveStringRedisTemplate shard = redisShards.reactiveForUser(subject);
+
+        return redisGuard.writeReactive("blacklist_add", expiresAt,
+                        remaining -> shard.execute(RedisTokenStateStore.REVOKE_SCRIPT,
+                                List.of(key, RedisTokenStateStore.BLACKLIST_INDEX),
+                                List.of(String.valueOf(remaining), String.valueOf(expiresAt), String.valueOf(System.currentTimeMillis()))).then())
+                .then(blacklistNearCache.publishReactive(key, expiresAt));
+    }
+
+    // 로컬 복제본이 동기화된 상태라면 Redis를 조회하지 않음
+    @Override
+    public Mono<Boolean> isRevoked(String token, String subject)
+    {
+        String key = RedisTokenStateStore.blacklistKey(token);
+
+        if (blacklistNearCache.isActive()) return Mono.just(tokenStateStore.isRevokedLocally(key, token));
+
+        ReactiveStringRedisTemplate target = redisShards.reactiveForUser(subject);
+        ReactiveStringRedisTemplate previous = redisShards.reactivePreviousForUser(subject);
+        return redisGuard.readReactive("blacklist_check", () -> {
+            Mono<Boolean> revoked = target.hasKey(key);
+
+            // 이관 기간에 샤드가 바뀐 사용자는 변경 전 샤드에 남은 항목도 확인
+            if (previous != null) revoked = revoked.flatMap(found -> found ? Mono.just(true) : previous.hasKey(key));
+            if (!tokenStateStore.isLegacyKeyCheck()) return revoked;
+
+            // 이전 형식 키는 첫 번째 샤드에만 있음
+            return revoked.flatMap(found -> found
+                    ? Mono.just(true)
+                    : redisShards.reactivePrimary().hasKey(RedisTokenStateStore.LEGACY_BLACKLIST_PREFIX + token));
+        }, () -> tokenStateStore.isRevokedLocally(key, token));
+    }
+
+    // 샤드마다 MGET 한 번 (RedisTokenStateStore와 같은 묶음), 결과 반영은 한 스레드에서 순서대로 처리
+    @Override
+    public Mono<boolean[]> isRevoked(List<String> tokens, List<String> subjects)
+    {
+        String[] keys = new String[tokens.size()];
+        for (int i = 0; i < keys.length; i++)
+        {
+            keys[i] = RedisTokenStateStore.blacklistKey(tokens.get(i));
+        }
+
+        if (blacklistNearCache.isActive()) return Mono.just(tokenStateStore.isRevokedLocally(keys, tokens));
+
+        Map<ReactiveStringRedisTemplate, KeyBatch> batches = new LinkedHashMap<>();
+        for (int i = 0; i < keys.length; i++)
+        {
+            batches.computeIfAbsent(redisShards.reactiveForUser(subjects.get(i)), shard -> new KeyBatch()).add(keys[i], i);
+            ReactiveStringRedisTemplate previous = redisShards.reactivePreviousForUser(subjects.get(i));
+            if (previous != null) batches.computeIfAbsent(previous, shard -> new KeyBatch()).add(keys[i], i);
+            if (tokenStateStore.isLegacyKeyCheck())
+            {
+                batches.computeIfAbsent(redisShards.reactivePrimary(), shard -> new KeyBatch())
+                        .add(RedisTokenStateStore.LEGACY_BLACKLIST_PREFIX + tokens.get(i), i);
+            }
+        }
+
+        return redisGuard.readReactive("blacklist_check_batch", () -> {
+            boolean[] revoked = new boolean[keys.length];
+            return Flux.fromIterable(batches.entrySet())
+                    .flatMap(batch -> batch.getKey().opsForValue().multiGet(batch.getValue().keys())
+                            .map(values -> Tuples.of(batch.getValue(), values)))
+                    .doOnNext(result -> result.getT1().mark(result.getT2(), revoked))
+                    .then(Mono.fromSupplier(() -> revoked));
+        }, () -> tokenStateStore.isRevokedLocally(keys, tokens));
+    }
+
+    // 이관 기간에 샤드가 바뀐 사용자는 두 샤드 중 큰 세대를 사용 (새 샤드로 옮기는 것은 RedisTokenStateStore가 처리)
+    @Override
+    public Mono<Long> generation(String uuid)
+    {
+        ReactiveStringRedisTemplate previous = redisShards.reactivePreviousForUser(uuid);
+        return redisGuard.readReactive("generation_get", () -> {
+            Mono<Long> generation = generationOn(redisShards.reactiveForUser(uuid), uuid);
+            if (previous == null) return generation;
+            return generation.zipWith(generationOn(previous, uuid), Math::max);
+        }, () -> null);
+    }
+
+    // 샤드마다 MGET 한 번, 이관 기간에 샤드가 바뀐 사용자는 이전 샤드의 MGET에도 포함하여 큰 세대를 사용
+    @Override
+    public Mono<Map<String, Long>> generations(Collection<String> uuids)
+    {
+        Map<ReactiveStringRedisTemplate, List<String>> byShard = new LinkedHashMap<>();
+        for (String uuid : uuids)
+        {
+            byShard.computeIfAbsent(redisShards.reactiveForUser(uuid), shard -> new ArrayList<>()).add(uuid);
+            ReactiveStringRedisTemplate previous = redisShards.reactivePreviousForUser(uuid);
+            if (previous != null) byShard.computeIfAbsent(previous, shard -> new ArrayList<>()).add(uuid);
+        }
+
+        return redisGuard.readReactive("generation_get_batch", () -> {
+            Map<String, Long> generations = new HashMap<>();
+            return Flux.fromIterable(byShard.entrySet())
+                    .flatMap(shard -> shard.getKey().opsForValue()
+                            .multiGet(shard.getValue().stream().map(uuid -> RedisTokenStateStore.GENERATION_PREFIX + uuid).toList())
+                            .map(values -> Tuples.of(shard.getValue(), values)))
+                    .doOnNext(result -> {
+                        List<String> users = result.getT1();
+                        for (int i = 0; i < users.size(); i++)
+                        {
+                            generations.merge(users.get(i), RedisTokenStateStore.parseGeneration(result.getT2().get(i)), Math::max);
+                        }
+                    })
+                    .then(Mono.fromSupplier(() -> generations));
+        }, () -> null);
+    }
+
+    // 이관 기간에 샤드가 바뀐 사용자는 이전 샤드의 세대보다 큰 값으로 증가 (이전 세대 토큰이 다시 유효해지지 않도록)
+    @Override
+    public Mono<Long> bumpGeneration(String uuid, long retentionMillis)
+    {
+        String key = RedisTokenStateStore.GENERATION_PREFIX + uuid;
+        ReactiveStringRedisTemplate shard = redisShards.reactiveForUser(uuid);
+        ReactiveStringRedisTemplate previous = redisShards.reactivePreviousForUser(uuid);
+
+        return redisGuard.callReactive("generation_bump", () -> {
+                    Mono<String> floor = previous == null ? Mono.just("0") : previous.opsForValue().get(key).defaultIfEmpty("0");
+                    return floor.flatMap(value -> shard.execute(RedisTokenStateStore.BUMP_SCRIPT, List.of(key),
+                            List.of(String.valueOf(retentionMillis), TokenGenerationService.CHANNEL, uuid, value)).next());
+                })
+                .defaultIfEmpty(0L);
+    }
+
+    // 배열을 반환하는 스크립트의 결과 (리액티브 드라이버는 요소마다 따로 내보내거나 목록 하나로 내보낼 수 있음)
+    private static List<?> scriptResult(List<?> emitted)
+    {
+        return emitted.size() == 1 && emitted.get(0) instanceof List<?> result ? result : emitted;
+    }
+
+    private static Mono<Long> generationOn(ReactiveStringRedisTemplate shard, String uuid)
+    {
+        return shard.opsForValue()
+                .get(RedisTokenStateStore.GENERATION_PREFIX + uuid)
+                .map(Long::parseLong)
+                .defaultIfEmpty(0L);
+    }
+}
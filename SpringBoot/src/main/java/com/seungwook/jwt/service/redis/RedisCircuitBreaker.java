@@ -0,0 +1,113 @@
+package com.seungwook.jwt.service.redis;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Redis 호출 차단기
+ * - CLOSED: 모든 호출 허용, 연속 실패가 기준 이상이면 OPEN
+ * - OPEN: 지정 시간 동안 호출 없이 즉시 거절
+ * - HALF_OPEN: 시간이 지나면 한 번의 시험 호출만 허용, 성공하면 CLOSED, 실패하면 다시 OPEN
+ *   시험 호출의 결과가 지정 시간 안에 보고되지 않으면 실패로 보고 다시 OPEN,
+ *   결과 없이 취소되면(release) 바로 다음 호출이 다시 시험하도록 OPEN으로 되돌림
+ */
+public class RedisCircuitBreaker
+{
+    public enum State
+    {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    /**
+     * 호출 허가 (CALL: CLOSED 상태의 일반 호출, PROBE: HALF_OPEN 상태의 시험 호출)
+     */
+    public enum Permit
+    {
+        DENIED, CALL, PROBE;
+
+        public boolean granted()
+        {
+            return this != DENIED;
+        }
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAt;
+    private volatile long probeStartedAt;
+
+    public RedisCircuitBreaker(int failureThreshold, long openMillis)
+    {
+        this(failureThreshold, openMillis, System::currentTimeMillis);
+    }
+
+    // 상태 전이 시각을 시험할 수 있도록 시계 주입
+    RedisCircuitBreaker(int failureThreshold, long openMillis, LongSupplier clock)
+    {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * 호출 허가 (OPEN 시간이 지났으면 이 호출을 시험 호출로 사용)
+     * 허가받은 호출은 onSuccess, onFailure, release 중 하나로 결과를 보고해야 함
+     */
+    public Permit tryAcquire()
+    {
+        State current = state.get();
+        if (current == State.CLOSED) return Permit.CALL;
+
+        long now = clock.getAsLong();
+        if (current == State.HALF_OPEN)
+        {
+            // 시험 호출이 멈춰 결과를 보고하지 않는 경우 HALF_OPEN에 머물지 않도록 실패로 처리
+            if (now - probeStartedAt >= openMillis)
+            {
+                openedAt = now;
+                state.compareAndSet(State.HALF_OPEN, State.OPEN);
+            }
+            return Permit.DENIED;
+        }
+
+        if (now - openedAt < openMillis) return Permit.DENIED;
+
+        probeStartedAt = now;
+        return state.compareAndSet(State.OPEN, State.HALF_OPEN) ? Permit.PROBE : Permit.DENIED;
+    }
+
+    public void onSuccess()
+    {
+        consecutiveFailures.set(0);
+        state.set(State.CLOSED);
+    }
+
+    public void onFailure()
+    {
+        if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold)
+        {
+            openedAt = clock.getAsLong();
+            state.set(State.OPEN);
+        }
+    }
+
+    /**
+     * 결과 없이 끝난 호출(취소)의 허가 반환
+     * 시험 호출이었다면 OPEN으로 되돌리되 기다리지 않고 다음 호출이 다시 시험하도록 함
+     */
+    public void release(Permit permit)
+    {
+        if (permit != Permit.PROBE) return;
+        if (state.compareAndSet(State.HALF_OPEN, State.OPEN)) openedAt = clock.getAsLong() - openMillis;
+    }
+
+    public State state()
+    {
+        return state.get();
+    }
+}
@@ -0,0 +1,65 @@
+package com.seungwook.jwt.service.redis;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.RedisCommand;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Redis 명령별 지연 예산 (Lettuce 명령 타임아웃으로 적용)
+ * - 조회 명령은 읽기 예산, 그 외(쓰기, Lua 스크립트, 전파)는 쓰기 예산
+ * - 예산을 넘긴 명령은 Lettuce가 RedisCommandTimeoutException으로 끝내므로 호출 스레드는 별도 스레드 없이 바로 실패를 받음
+ *   (StringRedisTemplate에서는 QueryTimeoutException으로 변환됨)
+ * - 한 번의 RedisGuard 호출이 여러 명령을 보내면(이관 기간의 이전 샤드 조회 등) 명령마다 예산이 적용됨
+ *
+ * 기본 연결(spring.data.redis.*)과 직접 만드는 샤드 연결에 모두 적용 (RedisConfig)
+ */
+public class RedisCommandBudget extends TimeoutOptions.TimeoutSource
+{
+    private static final Set<CommandType> READS = EnumSet.of(
+            CommandType.GET, CommandType.MGET, CommandType.EXISTS,
+            CommandType.HGET, CommandType.HMGET, CommandType.HGETALL,
+            CommandType.TTL, CommandType.PTTL,
+            CommandType.ZRANGEBYSCORE, CommandType.ZSCORE, CommandType.ZCARD);
+
+    private final long readBudgetMillis;
+    private final long writeBudgetMillis;
+
+    public RedisCommandBudget(long readBudgetMillis, long writeBudgetMillis)
+    {
+        this.readBudgetMillis = readBudgetMillis;
+        this.writeBudgetMillis = writeBudgetMillis;
+    }
+
+    @Override
+    public long getTimeout(RedisCommand<?, ?, ?> command)
+    {
+        return command.getType() instanceof CommandType type && READS.contains(type) ? readBudgetMillis : writeBudgetMillis;
+    }
+
+    /**
+     * 기존 클라이언트 옵션에 명령별 타임아웃을 더함 (다른 옵션은 유지)
+     */
+    public ClientOptions apply(ClientOptions options)
+    {
+        return options.mutate()
+                .timeoutOptions(TimeoutOptions.builder().timeoutSource(this).build())
+                .build();
+    }
+
+    /**
+     * 직접 만드는 샤드 연결의 클라이언트 설정
+     */
+    public LettuceClientConfiguration clientConfiguration()
+    {
+        return LettuceClientConfiguration.builder()
+                .commandTimeout(Duration.ofMillis(Math.max(readBudgetMillis, writeBudgetMillis)))
+                .clientOptions(apply(ClientOptions.create()))
+                .build();
+    }
+}
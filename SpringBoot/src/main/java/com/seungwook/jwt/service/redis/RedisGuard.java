@@ -0,0 +1,318 @@
+package com.seungwook.jwt.service.redis;
+
+import com.seungwook.jwt.exception.RedisUnavailableException;
+import com.seungwook.jwt.metrics.AuthMetrics;
+import io.lettuce.core.RedisCommandInterruptedException;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisConnectionException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * 인증 경로의 Redis 호출 보호
+ * - 지연 예산: 명령마다 읽기/쓰기 예산을 Lettuce 명령 타임아웃으로 적용 (RedisCommandBudget), 넘기면 실패로 처리
+ * - 차단기: 연속 실패 시 일정 시간 Redis를 호출하지 않고 즉시 실패 (RedisCircuitBreaker)
+ * - 저하 모드: 읽기는 호출 측이 넘긴 로컬 대체값을 사용하고, 쓰기는 대기열에 보관했다가 복구 후 재실행
+ *   저하 모드를 끄면 실패 시 RedisUnavailableException 발생 (503 응답)
+ * - 연결 실패, 명령 타임아웃만 차단기와 저하 모드의 대상이며, Redis가 응답한 오류(Lua 스크립트 오류 등)는 그대로 전달
+ *
+ * 원자성이 필요한 호출(토큰 교체 스크립트, 세션 시작 스크립트 등)과 재실행하면 안 되는 쓰기(리프레시 상태)는 call()로 실행하며 항상 예외로 처리
+ * 리액티브 호출(ReactiveRedisTemplate)은 readReactive(), callReactive(), writeReactive()로 같은 차단기와 저하 모드를 적용하고,
+ * 여러 명령을 묶은 읽기 Mono 전체에도 읽기 예산을 적용
+ *
+ * 호출은 호출한 스레드에서 그대로 실행 (별도 스레드로 넘기지 않음, 가상 스레드 모드에서는 요청의 가상 스레드가 응답을 기다림)
+ */
+@Slf4j
+public class RedisGuard
+{
+    private final RedisCircuitBreaker circuitBreaker;
+    private final AuthMetrics authMetrics;
+    private final long readBudgetMillis;
+    private final boolean degradedMode;
+    private final int replayCapacity;
+
+    private final ConcurrentLinkedQueue<PendingWrite> replayQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger replaySize = new AtomicInteger();
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> fallbackCounters = new ConcurrentHashMap<>();
+    private final Counter replayDropped;
+
+    /**
+     * 복구 후 재실행할 쓰기 (deadline이 지나면 버림, 실행 시점의 남은 시간을 인자로 받음)
+     */
+    private record PendingWrite(String operation, long deadline, LongFunction<Runnable> write) {}
+
+    /**
+     * @param readBudgetMillis 리액티브 읽기 전체의 예산 (동기 호출의 예산은 명령 타임아웃, RedisCommandBudget)
+     */
+    public RedisGuard(AuthMetrics authMetrics, MeterRegistry meterRegistry, RedisCircuitBreaker circuitBreaker,
+                      long readBudgetMillis, boolean degradedMode, int replayCapacity)
+    {
+        this.authMetrics = authMetrics;
+        this.meterRegistry = meterRegistry;
+        this.circuitBreaker = circuitBreaker;
+        this.readBudgetMillis = readBudgetMillis;
+        this.degradedMode = degradedMode;
+        this.replayCapacity = replayCapacity;
+
+        Gauge.builder("auth.redis.circuit.state", circuitBreaker, breaker -> breaker.state().ordinal())
+                .description("Redis 차단기 상태 (0 = CLOSED, 1 = HALF_OPEN, 2 = OPEN)")
+                .register(meterRegistry);
+        Gauge.builder("auth.redis.replay.queue", replaySize, AtomicInteger::get)
+                .description("복구 후 재실행 대기 중인 Redis 쓰기 수")
+                .register(meterRegistry);
+        this.replayDropped = Counter.builder("auth.redis.replay.dropped")
+                .description("대기열 초과 또는 만료로 버려진 Redis 쓰기 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 대체 수단이 없는 호출 (실패 시 항상 예외)
+     */
+    public <T> T call(String operation, Supplier<T> call)
+    {
+        return execute(operation, call);
+    }
+
+    /**
+     * 읽기 호출, 실패 시 저하 모드면 fallback 값 사용
+     */
+    public <T> T read(String operation, Supplier<T> call, Supplier<T> fallback)
+    {
+        try
+        {
+            return execute(operation, call);
+        }
+        catch (RedisUnavailableException e)
+        {
+            if (!degradedMode) throw e;
+
+            fallbackCounter(operation).increment();
+            return fallback.get();
+        }
+    }
+
+    /**
+     * 리액티브 읽기 호출, 예산 초과나 실패 시 저하 모드면 fallback 값 사용
+     */
+    public <T> Mono<T> readReactive(String operation, Supplier<Mono<T>> call, Supplier<T> fallback)
+    {
+        return executeReactive(operation, () -> Mono.defer(call).timeout(Duration.ofMillis(readBudgetMillis)))
+                .onErrorResume(RedisUnavailableException.class, e -> fallback(operation, fallback, e));
+    }
+
+    /**
+     * 대체 수단이 없는 리액티브 호출 (실패 시 항상 RedisUnavailableException, 명령마다 쓰기 예산의 명령 타임아웃 적용)
+     */
+    public <T> Mono<T> callReactive(String operation, Supplier<Mono<T>> call)
+    {
+        return executeReactive(operation, call);
+    }
+
+    /**
+     * 리액티브 쓰기 호출, 실패 시 저하 모드면 대기열에 보관하여 복구 후 재실행 (write()와 같은 대상과 규칙)
+     * 재실행은 스케줄러 스레드에서 하므로 만든 Mono의 결과를 그 스레드에서 기다림
+     */
+    public Mono<Void> writeReactive(String operation, long deadline, LongFunction<Mono<?>> write)
+    {
+        return executeReactive(operation, () -> write.apply(deadline - System.currentTimeMillis()))
+                .then()
+                .onErrorResume(RedisUnavailableException.class, e -> {
+                    if (!degradedMode) return Mono.error(e);
+
+                    fallbackCounter(operation).increment();
+                    enqueue(new PendingWrite(operation, deadline, remaining -> () -> write.apply(remaining).block()));
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * 쓰기 호출, 실패 시 저하 모드면 대기열에 보관하여 복구 후 재실행
+     * 늦게 재실행되어도 결과가 같은 쓰기(블랙리스트 추가, 전파)에만 사용
+     * @param deadline 이 시각 이후에는 재실행할 필요가 없는 쓰기 (epoch millis, 토큰 만료 시각 등)
+     * @param write    실행 시점의 남은 시간(ms)을 받아 쓰기 작업을 만드는 함수 (TTL을 다시 계산하기 위해 사용)
+     */
+    public void write(String operation, long deadline, LongFunction<Runnable> write)
+    {
+        try
+        {
+            execute(operation, () -> {
+                write.apply(deadline - System.currentTimeMillis()).run();
+                return null;
+            });
+        }
+        catch (RedisUnavailableException e)
+        {
+            if (!degradedMode) throw e;
+
+            fallbackCounter(operation).increment();
+            enqueue(new PendingWrite(operation, deadline, write));
+        }
+    }
+
+    public boolean isAvailable()
+    {
+        return circuitBreaker.state() != RedisCircuitBreaker.State.OPEN;
+    }
+
+    /**
+     * 보관한 쓰기를 순서대로 재실행 (차단기가 허용하는 동안만, 실패하면 다음 주기에 재시도)
+     */
+    @Scheduled(fixedDelayString = "${jwt.redis.replay-interval-ms:1000}")
+    public void replay()
+    {
+        PendingWrite pending;
+        while ((pending = replayQueue.peek()) != null)
+        {
+            long remaining = pending.deadline() - System.currentTimeMillis();
+            if (remaining > 0)
+            {
+                PendingWrite current = pending;
+                try
+                {
+                    execute(current.operation(), () -> {
+                        current.write().apply(current.deadline() - System.currentTimeMillis()).run();
+                        return null;
+                    });
+                }
+                catch (RedisUnavailableException e)
+                {
+                    return;
+                }
+            }
+            else
+            {
+                replayDropped.increment();
+            }
+
+            if (replayQueue.remove(pending)) replaySize.decrementAndGet();
+        }
+    }
+
+    private <T> T execute(String operation, Supplier<T> call)
+    {
+        RedisCircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+        if (!permit.granted()) throw new RedisUnavailableException("Redis 차단기 열림: " + operation);
+
+        T result;
+        try
+        {
+            result = authMetrics.redis(operation, call);
+        }
+        catch (RuntimeException e)
+        {
+            // Redis가 응답한 오류(스크립트 오류 등)나 직렬화 오류는 가용성과 무관하므로 집계하지 않고 그대로 전달
+            if (!isUnavailable(e))
+            {
+                circuitBreaker.release(permit);
+                throw e;
+            }
+
+            // 예산 초과(명령 타임아웃), 연결 실패, 대기 중 인터럽트는 결과를 알 수 없으므로 실패로 집계
+            // (시험 호출이었다면 차단기가 HALF_OPEN에 머물지 않도록)
+            circuitBreaker.onFailure();
+            throw new RedisUnavailableException("Redis 호출 실패: " + operation, e);
+        }
+
+        circuitBreaker.onSuccess();
+        return result;
+    }
+
+    // 허가는 구독 시점에 받고, 결과 없이 취소되면 반환 (조립만 하고 구독하지 않은 호출이 시험 호출을 차지하지 않도록)
+    private <T> Mono<T> executeReactive(String operation, Supplier<Mono<T>> call)
+    {
+        return Mono.defer(() -> {
+            RedisCircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+            if (!permit.granted()) return Mono.error(new RedisUnavailableException("Redis 차단기 열림: " + operation));
+
+            AtomicBoolean reported = new AtomicBoolean();
+            return Mono.defer(call)
+                    .doOnSuccess(result -> {
+                        if (reported.compareAndSet(false, true)) circuitBreaker.onSuccess();
+                    })
+                    .onErrorMap(e -> {
+                        // Redis가 응답한 오류(스크립트 오류 등)는 차단기에 집계하지 않고 그대로 전달
+                        if (!isUnavailable(e))
+                        {
+                            if (reported.compareAndSet(false, true)) circuitBreaker.release(permit);
+                            return e;
+                        }
+
+                        if (reported.compareAndSet(false, true)) circuitBreaker.onFailure();
+                        return new RedisUnavailableException("Redis 호출 실패: " + operation, e);
+                    })
+                    .doOnCancel(() -> {
+                        if (reported.compareAndSet(false, true)) circuitBreaker.release(permit);
+                    });
+        });
+    }
+
+    /**
+     * Redis에 닿지 못했거나 응답을 제때 받지 못한 오류 (차단기에 실패로 집계)
+     * Spring의 변환 예외(연결 실패, 쿼리 타임아웃)와 변환되지 않은 Lettuce 예외, 리액티브 예산 초과를 원인 사슬에서 찾음
+     */
+    static boolean isUnavailable(Throwable error)
+    {
+        for (Throwable cause = error; cause != null; cause = cause.getCause())
+        {
+            if (cause instanceof RedisConnectionFailureException
+                    || cause instanceof QueryTimeoutException
+                    || cause instanceof RedisConnectionException
+                    || cause instanceof RedisCommandTimeoutException
+                    || cause instanceof RedisCommandInterruptedException
+                    || cause instanceof TimeoutException
+                    || cause instanceof IOException)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void enqueue(PendingWrite pending)
+    {
+        if (replaySize.incrementAndGet() > replayCapacity)
+        {
+            replaySize.decrementAndGet();
+            replayDropped.increment();
+            log.warn("Redis 쓰기 재실행 대기열 초과, 버림: {}", pending.operation());
+            return;
+        }
+
+        replayQueue.add(pending);
+    }
+
+    private <T> Mono<T> fallback(String operation, Supplier<T> fallback, RedisUnavailableException e)
+    {
+        if (!degradedMode) return Mono.error(e);
+
+        fallbackCounter(operation).increment();
+        return Mono.fromSupplier(fallback);
+    }
+
+    private Counter fallbackCounter(String operation)
+    {
+        return fallbackCounters.computeIfAbsent(operation, op -> Counter.builder("auth.redis.fallback")
+                .tag("op", op)
+                .description("저하 모드로 처리된 Redis 호출 수")
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,58 @@
+package com.seungwook.jwt.service.redis;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 모든 샤드의 Pub/Sub 채널 구독
+ * Lua 스크립트는 사용자의 샤드에서 메시지를 발행하므로 채널마다 모든 샤드를 구독해야 함
+ * 가상 스레드 모드에서는 메시지 처리도 가상 스레드에서 실행
+ */
+public class RedisShardListeners
+{
+    private final List<RedisMessageListenerContainer> containers = new ArrayList<>();
+
+    public RedisShardListeners(RedisShards redisShards, boolean virtualThreads)
+    {
+        for (RedisConnectionFactory connectionFactory : redisShards.connectionFactories())
+        {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            if (virtualThreads)
+            {
+                SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("redis-listener-");
+                executor.setVirtualThreads(true);
+                container.setTaskExecutor(executor);
+            }
+            containers.add(container);
+        }
+    }
+
+    public void addMessageListener(MessageListener listener, Topic topic)
+    {
+        containers.forEach(container -> container.addMessageListener(listener, topic));
+    }
+
+    public void start()
+    {
+        for (RedisMessageListenerContainer container : containers)
+        {
+            container.afterPropertiesSet();
+            container.start();
+        }
+    }
+
+    public void destroy() throws Exception
+    {
+        for (RedisMessageListenerContainer container : containers)
+        {
+            container.destroy();
+        }
+    }
+}
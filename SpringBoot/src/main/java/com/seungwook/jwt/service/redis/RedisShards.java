@@ -0,0 +1,237 @@
+package com.seungwook.jwt.service.redis;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 토큰 상태 저장용 Redis 샤드
+ * - 기본 연결(spring.data.redis.*)이 첫 번째 샤드이며, jwt.redis.shard.endpoints 의 노드가 추가 샤드가 됨
+ * - 사용자 UUID를 일관 해시 링에 배치하여 샤드를 고름
+ *   한 사용자의 리프레시 토큰, 패밀리 해시, 토큰 세대, 블랙리스트 키는 항상 같은 샤드에 있으므로 Lua 스크립트의 원자성이 유지됨
+ * - 노드를 추가하거나 빼면 일부 사용자의 샤드가 바뀜
+ *   옮겨진 사용자의 리프레시 세션은 새 샤드에 없으므로 다시 로그인하게 되고,
+ *   블랙리스트와 토큰 세대도 새 샤드에 없으므로 이전 샤드를 함께 조회하지 않으면 무효화한 토큰이 다시 통과함
+ * - 이관 기간(jwt.redis.shard.previous-endpoints, jwt.redis.shard.migration-until) 동안에는 변경 전 배치도 유지하여
+ *   옮겨진 사용자의 이전 샤드(previousForUser)를 함께 조회함 (쓰기는 새 샤드에만)
+ *   기간은 변경 시각부터 가장 긴 토큰 유효기간(리프레시 토큰) 이상이어야 이전 샤드의 블랙리스트, 세대 키가 모두 만료됨
+ *
+ * 샤드 도입 이전 형식의 키(사용 여부 키, 이전 블랙리스트 키)는 첫 번째 샤드에만 있음
+ */
+@Slf4j
+public class RedisShards
+{
+    static final String PRIMARY_ID = "primary";
+
+    private final List<StringRedisTemplate> templates = new ArrayList<>();
+    private final List<ReactiveStringRedisTemplate> reactiveTemplates = new ArrayList<>();
+    private final List<RedisConnectionFactory> connectionFactories = new ArrayList<>();
+    private final List<LettuceConnectionFactory> ownedFactories = new ArrayList<>();
+    private final ConsistentHashRing ring;
+    private final int shards;
+
+    // 변경 전 배치 (이관 기간이 아니면 null), previousOwners: 이전 링의 노드 번호 -> 템플릿 번호
+    private final ConsistentHashRing previousRing;
+    private final int[] previousOwners;
+    private final long migrationUntil;
+
+    /**
+     * @param primary      기본 연결의 템플릿
+     * @param endpoints    추가 샤드 ("host:port" 목록, 비어 있으면 샤딩하지 않음)
+     * @param password     추가 샤드의 비밀번호 (없으면 빈 문자열)
+     * @param virtualNodes 샤드당 가상 노드 수
+     */
+    public RedisShards(StringRedisTemplate primary, List<String> endpoints, String password, int virtualNodes)
+    {
+        this(primary, endpoints, List.of(), 0, password, virtualNodes);
+    }
+
+    /**
+     * @param previousEndpoints 변경 전 추가 샤드 ("host:port" 목록, 변경 전에 샤딩하지 않았다면 빈 목록)
+     * @param migrationUntil    이관 기간 종료 시각 (epoch ms, 이미 지났으면 변경 전 배치를 사용하지 않음)
+     */
+    public RedisShards(StringRedisTemplate primary, List<String> endpoints, List<String> previousEndpoints, long migrationUntil,
+                       String password, int virtualNodes)
+    {
+        this(primary, endpoints, previousEndpoints, migrationUntil, password, virtualNodes, LettuceClientConfiguration.defaultConfiguration());
+    }
+
+    /**
+     * @param clientConfiguration 추가 샤드 연결의 클라이언트 설정 (명령 타임아웃 등, RedisCommandBudget)
+     */
+    public RedisShards(StringRedisTemplate primary, List<String> endpoints, List<String> previousEndpoints, long migrationUntil,
+                       String password, int virtualNodes, LettuceClientConfiguration clientConfiguration)
+    {
+        Map<String, Integer> indexes = new LinkedHashMap<>();
+        indexes.put(PRIMARY_ID, 0);
+        templates.add(primary);
+        connectionFactories.add(primary.getConnectionFactory());
+
+        for (String endpoint : endpoints)
+        {
+            connect(indexes, endpoint, password, clientConfiguration);
+        }
+        List<String> ids = new ArrayList<>(indexes.keySet());
+        this.shards = ids.size();
+        this.ring = new ConsistentHashRing(ids, virtualNodes);
+
+        // 이관 기간에는 변경 전에만 있던 노드도 연결 (옮겨지기 전 상태 조회, 로컬 블랙리스트 동기화)
+        if (migrationUntil > System.currentTimeMillis())
+        {
+            List<String> previousIds = new ArrayList<>();
+            previousIds.add(PRIMARY_ID);
+            previousIds.addAll(previousEndpoints);
+            this.previousOwners = new int[previousIds.size()];
+            for (int i = 0; i < previousIds.size(); i++)
+            {
+                String id = previousIds.get(i);
+                previousOwners[i] = indexes.containsKey(id) ? indexes.get(id) : connect(indexes, id, password, clientConfiguration);
+            }
+            this.previousRing = new ConsistentHashRing(previousIds, virtualNodes);
+            this.migrationUntil = migrationUntil;
+
+            log.info("Redis 샤드 이관 기간 ({}까지), 변경 전 샤드: {}", Instant.ofEpochMilli(migrationUntil), previousIds);
+        }
+        else
+        {
+            this.previousRing = null;
+            this.previousOwners = null;
+            this.migrationUntil = 0;
+        }
+
+        // 리액티브(WebFlux) 경로용 템플릿, 같은 연결을 공유 (Lettuce 연결만 지원)
+        for (RedisConnectionFactory factory : connectionFactories)
+        {
+            if (!(factory instanceof ReactiveRedisConnectionFactory reactive))
+            {
+                reactiveTemplates.clear();
+                break;
+            }
+            reactiveTemplates.add(new ReactiveStringRedisTemplate(reactive));
+        }
+
+        if (isSharded()) log.info("토큰 상태 Redis 샤드 {}개 사용: {}", ids.size(), ids);
+    }
+
+    /**
+     * 사용자의 상태가 저장된 샤드 (uuid가 없으면 첫 번째 샤드)
+     */
+    public StringRedisTemplate forUser(String uuid)
+    {
+        return templates.get(owner(uuid));
+    }
+
+    /**
+     * 이관 기간 동안 사용자의 변경 전 샤드 (이관 기간이 아니거나 샤드가 바뀌지 않은 사용자는 null)
+     */
+    public StringRedisTemplate previousForUser(String uuid)
+    {
+        int previous = previousOwner(uuid);
+        return previous < 0 ? null : templates.get(previous);
+    }
+
+    /**
+     * forUser와 같은 샤드의 리액티브 템플릿
+     */
+    public ReactiveStringRedisTemplate reactiveForUser(String uuid)
+    {
+        if (reactiveTemplates.isEmpty()) throw new IllegalStateException("리액티브 Redis 연결을 지원하지 않는 연결 팩토리입니다");
+        return reactiveTemplates.get(owner(uuid));
+    }
+
+    /**
+     * previousForUser와 같은 샤드의 리액티브 템플릿
+     */
+    public ReactiveStringRedisTemplate reactivePreviousForUser(String uuid)
+    {
+        if (reactiveTemplates.isEmpty()) throw new IllegalStateException("리액티브 Redis 연결을 지원하지 않는 연결 팩토리입니다");
+        int previous = previousOwner(uuid);
+        return previous < 0 ? null : reactiveTemplates.get(previous);
+    }
+
+    public ReactiveStringRedisTemplate reactivePrimary()
+    {
+        return reactiveForUser(null);
+    }
+
+    /**
+     * 첫 번째 샤드 (이전 형식 키, 노드 간 전파 메시지 발행에 사용)
+     */
+    public StringRedisTemplate primary()
+    {
+        return templates.get(0);
+    }
+
+    // 이관 기간에는 변경 전에만 있던 샤드도 포함
+    public List<StringRedisTemplate> all()
+    {
+        return templates;
+    }
+
+    public List<RedisConnectionFactory> connectionFactories()
+    {
+        return connectionFactories;
+    }
+
+    public boolean isSharded()
+    {
+        return shards > 1;
+    }
+
+    private int owner(String uuid)
+    {
+        if (uuid == null || !isSharded()) return 0;
+        return ring.nodeFor(uuid);
+    }
+
+    private int previousOwner(String uuid)
+    {
+        if (previousRing == null || uuid == null || System.currentTimeMillis() >= migrationUntil) return -1;
+
+        int previous = previousOwners[previousRing.nodeFor(uuid)];
+        return previous == owner(uuid) ? -1 : previous;
+    }
+
+    // 샤드 연결을 만들고 템플릿 번호를 반환
+    private int connect(Map<String, Integer> indexes, String endpoint, String password, LettuceClientConfiguration clientConfiguration)
+    {
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(standalone(endpoint, password), clientConfiguration);
+        factory.afterPropertiesSet();
+        factory.start();
+        ownedFactories.add(factory);
+
+        templates.add(new StringRedisTemplate(factory));
+        connectionFactories.add(factory);
+        indexes.put(endpoint, templates.size() - 1);
+        return templates.size() - 1;
+    }
+
+    // 직접 만든 연결만 정리 (기본 연결은 Spring이 관리)
+    public void destroy()
+    {
+        ownedFactories.forEach(LettuceConnectionFactory::destroy);
+    }
+
+    private static RedisStandaloneConfiguration standalone(String endpoint, String password)
+    {
+        int separator = endpoint.lastIndexOf(':');
+        if (separator <= 0) throw new IllegalStateException("Redis 샤드 주소는 host:port 형식이어야 합니다: " + endpoint);
+
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+                endpoint.substring(0, separator),
+                Integer.parseInt(endpoint.substring(separator + 1)));
+        if (!password.isEmpty()) configuration.setPassword(password);
+        return configuration;
+    }
+}
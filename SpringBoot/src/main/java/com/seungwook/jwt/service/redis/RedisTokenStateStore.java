@@ -0,0 +1,542 @@
+package com.seungwook.jwt.service.redis;
+
+import com.seungwook.jwt.jwt.TokenDigest;
+import com.seungwook.jwt.service.auth.TokenGenerationService;
+import com.seungwook.jwt.service.store.TokenStateStore;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 토큰 상태 저장소 (기본 구현)
+ * - 사용자 단위로 샤드를 골라 저장 (RedisShards), 복합 작업은 Lua 스크립트로 원자적으로 처리
+ * - 모든 호출은 지연 예산과 차단기를 거침 (RedisGuard)
+ * - 블랙리스트는 노드 로컬 복제본(BlacklistNearCache)으로 조회하고, 추가 시 다른 노드에 전파
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jwt.state-store", havingValue = "redis", matchIfMissing = true)
+public class RedisTokenStateStore implements TokenStateStore
+{
+    static final String REFRESH_PREFIX = "refresh:";
+    private static final String FAMILY_PREFIX = "refresh_family:";
+    private static final String LEGACY_HANDLE_PREFIX = "refresh_handle:";
+    private static final String USED_TOKEN_PREFIX = "used_refresh_token:";
+    static final String GENERATION_PREFIX = "token_gen:";
+
+    // 토큰 원문 대신 고정 길이(SHA-256) 다이제스트를 키로 사용
+    static final String BLACKLIST_PREFIX = "bl:";
+
+    // 이전 형식 (토큰 원문을 그대로 키로 사용) - 기존 토큰이 만료될 때까지만 조회
+    static final String LEGACY_BLACKLIST_PREFIX = "blacklist:";
+
+    // 샤드별 블랙리스트 색인 (정렬 집합, 멤버: 블랙리스트 키, 점수: 만료 시각) - 로컬 복제본 동기화 시 키 공간 전체를 훑지 않기 위해 사용
+    static final String BLACKLIST_INDEX = "blacklist_index";
+
+    // 색인 도입 이전에 기록된 블랙리스트 키를 색인에 옮겼는지 표시 (BlacklistNearCache가 샤드마다 한 번만 처리)
+    static final String BLACKLIST_INDEX_MIGRATED = "blacklist_index:migrated";
+
+    /*
+        리프레시 토큰 교체 스크립트 (원자적으로 실행)
+        로그인 세션마다 하나의 패밀리 해시(uuid, role, current, counter)를 두고, 교체 시 current만 바꿈
+        패밀리가 없는 이전 형식(토큰별 사용 여부 키, 핸들별 해시)의 토큰은 검증 후 새 패밀리로 옮김
+
+        KEYS[1] 기존 상태 키 (family: 패밀리 해시, jwt: 사용 여부 키, handle: 이전 핸들 해시)
+        KEYS[2] 기존 액세스 토큰 블랙리스트,  KEYS[3] 교체 후 패밀리 해시,  KEYS[4] 사용자의 리프레시 토큰,  KEYS[5] 블랙리스트 색인
+        ARGV[1] 기존 상태 형식 (family, jwt, handle)
+        ARGV[2] 제시된 토큰의 식별자 (family인 경우 current와 비교)
+        ARGV[3] 액세스 토큰의 uuid,           ARGV[4] 액세스 토큰의 role (jwt인 경우 사용)
+        ARGV[5] 새 토큰의 식별자 (current),   ARGV[6] 새 리프레시 토큰,     ARGV[7] 새 리프레시 토큰 유효기간 ms
+        ARGV[8] 기존 리프레시 토큰 남은 ms (jwt인 경우 사용 여부 보관 기간)
+        ARGV[9] 기존 액세스 토큰 남은 ms,     ARGV[10] 블랙리스트 전파 채널, ARGV[11] 기존 액세스 토큰 만료 시각
+        ARGV[12] 현재 시각 (만료된 색인 항목 정리, 재시도 유예 판별), ARGV[13] 재시도 유예 종료 시각
+        반환값: {1, role, 리프레시 토큰} = 교체 성공 또는 재시도, {0} = 없거나 다른 사용자의 토큰, 또는 재사용된 토큰 (세션 무효화)
+
+        이미 교체된 토큰이 다시 제시되면 패밀리 전체를 삭제하여 정상 사용자와 탈취자 모두의 갱신을 막음
+        단, 패밀리에 직전 교체의 제시 토큰(previous), 블랙리스트 키로 표시한 액세스 토큰(retry), 유예 종료 시각(retry_until),
+        발급한 리프레시 토큰(successor)을 남겨 두고, 유예 시간 안에 같은 두 토큰으로 다시 요청하면 재시도로 보아 successor를 돌려줌
+        (스크립트는 기록되었으나 응답 전에 시간 초과로 실패한 요청을 클라이언트가 다시 보내는 경우)
+        이전 형식의 상태 키에는 옮겨간 패밀리 키를 남겨 두어 재사용 시 함께 삭제
+
+        모든 키는 사용자(ARGV[3])의 샤드에서 실행됨 (RedisShards)
+        이전 형식의 상태 키는 첫 번째 샤드에만 있으므로, 다른 샤드로 배정된 사용자의 이전 형식 토큰은 거부되어 다시 로그인하게 됨
+    */
+    @SuppressWarnings("rawtypes")
+    static final RedisScript<List> ROTATE_SCRIPT = new DefaultRedisScript<>("""
+            if tonumber(ARGV[9]) > 0 then
+                redis.call('SET', KEYS[2], 'REVOKED', 'PX', ARGV[9])
+                redis.call('ZADD', KEYS[5], ARGV[11], KEYS[2])
+                redis.call('ZREMRANGEBYSCORE', KEYS[5], '-inf', '(' .. ARGV[12])
+                redis.call('PUBLISH', ARGV[10], ARGV[11] .. ':' .. KEYS[2])
+            end
+
+            local function reject(successor)
+                if successor and string.find(successor, 'refresh_family:', 1, true) == 1 then
+                    redis.call('DEL', successor)
+                end
+                redis.call('DEL', KEYS[4])
+                return {'0'}
+            end
+
+            local role = ARGV[4]
+            local counter = 0
+            if ARGV[1] == 'family' then
+                local state = redis.call('HMGET', KEYS[1], 'uuid', 'role', 'current', 'counter',
+                        'previous', 'retry', 'retry_until', 'successor')
+                if state[1] ~= ARGV[3] then return reject(nil) end
+                if state[3] ~= ARGV[2] then
+                    if state[5] == ARGV[2] and state[6] == KEYS[2] and tonumber(state[7]) > tonumber(ARGV[12]) then
+                        return {'1', state[2], state[8]}
+                    end
+                    return reject(KEYS[1])
+                end
+                role = state[2]
+                counter = tonumber(state[4]) + 1
+            elseif ARGV[1] == 'handle' then
+                local state = redis.call('HMGET', KEYS[1], 'uuid', 'role', 'used')
+                if state[1] ~= ARGV[3] or state[3] then return reject(state[3]) end
+                role = state[2]
+                redis.call('HSET', KEYS[1], 'used', KEYS[3])
+            else
+                local used = redis.call('GET', KEYS[1])
+                if used ~= 'false' then return reject(used) end
+                if tonumber(ARGV[8]) > 0 then
+                    redis.call('SET', KEYS[1], KEYS[3], 'PX', ARGV[8])
+                end
+            end
+
+            redis.call('HSET', KEYS[3], 'uuid', ARGV[3], 'role', role, 'current', ARGV[5], 'counter', counter)
+            if ARGV[1] == 'family' then
+                redis.call('HSET', KEYS[3], 'previous', ARGV[2], 'retry', KEYS[2],
+                        'retry_until', ARGV[13], 'successor', ARGV[6])
+            end
+            redis.call('PEXPIRE', KEYS[3], ARGV[7])
+            redis.call('SET', KEYS[4], ARGV[6], 'PX', ARGV[7])
+            return {'1', role, ARGV[6]}
+            """, List.class);
+
+    /*
+        로그인 세션 시작 (원자적으로 실행, 일부만 기록되어 TTL 없는 패밀리나 없는 패밀리를 가리키는 리프레시 토큰이 남지 않도록)
+        KEYS[1] 새 패밀리 해시, KEYS[2] 사용자의 리프레시 토큰
+        ARGV[1] uuid, ARGV[2] role, ARGV[3] 새 토큰의 식별자 (current), ARGV[4] 리프레시 토큰, ARGV[5] 유효기간 ms
+    */
+    private static final RedisScript<Long> START_SESSION_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('HSET', KEYS[1], 'uuid', ARGV[1], 'role', ARGV[2], 'current', ARGV[3], 'counter', 0)
+            redis.call('PEXPIRE', KEYS[1], ARGV[5])
+            redis.call('SET', KEYS[2], ARGV[4], 'PX', ARGV[5])
+            return 1
+            """, Long.class);
+
+    /*
+        블랙리스트 추가 (원자적으로 실행)
+        KEYS[1] 블랙리스트 키, KEYS[2] 블랙리스트 색인
+        ARGV[1] 남은 유효시간 ms, ARGV[2] 만료 시각, ARGV[3] 현재 시각 (만료된 색인 항목 정리)
+    */
+    static final RedisScript<Long> REVOKE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('SET', KEYS[1], 'REVOKED', 'PX', ARGV[1])
+            redis.call('ZADD', KEYS[2], ARGV[2], KEYS[1])
+            redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', '(' .. ARGV[3])
+            return 1
+            """, Long.class);
+
+    /*
+        세대 증가 및 전파 (원자적으로 실행)
+        KEYS[1] 사용자 세대 키
+        ARGV[1] 세대 키 보관 기간 ms (가장 긴 토큰 유효기간, 이후에는 이전 세대 토큰이 모두 만료됨)
+        ARGV[2] 전파 채널, ARGV[3] 사용자 UUID
+        ARGV[4] 최소 세대 (이관 기간에 이전 샤드에 남은 세대, 새 샤드의 세대가 이보다 작으면 여기서부터 증가)
+        반환값: 증가된 세대
+    */
+    static final RedisScript<Long> BUMP_SCRIPT = new DefaultRedisScript<>("""
+            local generation = math.max(tonumber(redis.call('GET', KEYS[1]) or '0'), tonumber(ARGV[4])) + 1
+            redis.call('SET', KEYS[1], generation, 'PX', ARGV[1])
+            redis.call('PUBLISH', ARGV[2], generation .. ':' .. ARGV[3])
+            return generation
+            """, Long.class);
+
+    /*
+        이관 기간에 이전 샤드의 세대를 새 샤드로 옮김 (새 샤드의 세대가 더 작을 때만, 원자적으로 실행)
+        이관 기간이 끝난 뒤의 세대 증가가 이전 샤드의 세대보다 작은 값에서 시작하지 않도록 함
+        KEYS[1] 사용자 세대 키
+        ARGV[1] 이전 샤드의 세대, ARGV[2] 이전 샤드 세대 키의 남은 보관 기간 ms
+        반환값: 새 샤드의 세대
+    */
+    private static final RedisScript<Long> CARRY_GENERATION_SCRIPT = new DefaultRedisScript<>("""
+            local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+            if tonumber(ARGV[1]) <= current then
+                return current
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            return tonumber(ARGV[1])
+            """, Long.class);
+
+    // 한 샤드에 보낼 다중 키 조회 (owners: 각 키가 속한 토큰의 위치)
+    record KeyBatch(List<String> keys, List<Integer> owners)
+    {
+        KeyBatch()
+        {
+            this(new ArrayList<>(), new ArrayList<>());
+        }
+
+        void add(String key, int owner)
+        {
+            keys.add(key);
+            owners.add(owner);
+        }
+
+        // MGET 결과 중 값이 있는 키의 토큰을 무효화된 것으로 표시
+        void mark(List<String> values, boolean[] revoked)
+        {
+            if (values == null) return;
+
+            for (int j = 0; j < values.size(); j++)
+            {
+                if (values.get(j) != null) revoked[owners.get(j)] = true;
+            }
+        }
+    }
+
+    private final RedisShards redisShards;
+    private final RedisGuard redisGuard;
+    private final BlacklistNearCache blacklistNearCache;
+
+    @Getter(AccessLevel.PACKAGE)
+    @Value("${jwt.blacklist.legacy-key-check:true}")
+    private boolean legacyKeyCheck;
+
+    // 리프레시 상태 쓰기는 복구 후 재실행하지 않음 (그 사이의 교체, 로그인 결과를 이전 값으로 덮어쓰거나 삭제할 수 있으므로)
+    @Override
+    public void saveRefreshToken(String uuid, String refreshToken, long ttlMillis)
+    {
+        redisGuard.call("refresh_save", () -> {
+            redisShards.forUser(uuid).opsForValue().set(REFRESH_PREFIX + uuid, refreshToken, Duration.ofMillis(ttlMillis));
+            return null;
+        });
+    }
+
+    // Redis를 조회할 수 없으면 없는 것으로 간주
+    @Override
+    public String findRefreshToken(String uuid)
+    {
+        return redisGuard.read("refresh_get", () -> redisShards.forUser(uuid).opsForValue().get(REFRESH_PREFIX + uuid), () -> null);
+    }
+
+    // Redis 장애로 현재 토큰을 알 수 없으면 사용자 키만 삭제 (패밀리 해시는 TTL로 만료)
+    // 복구 후 재실행하면 그 사이 새로 로그인한 세션을 지울 수 있으므로 실패 시 예외로 처리
+    @Override
+    public void deleteRefreshToken(String uuid, RefreshState state)
+    {
+        StringRedisTemplate shard = redisShards.forUser(uuid);
+        List<String> keys = refreshKeys(uuid, state);
+
+        redisGuard.call("refresh_delete", () -> shard.delete(keys));
+    }
+
+    // 새 패밀리 해시와 사용자 리프레시 토큰을 한 번의 스크립트 호출로 저장
+    @Override
+    public void startSession(String uuid, String family, String role, String current, String refreshToken, long ttlMillis)
+    {
+        redisGuard.call("session_start", () -> redisShards.forUser(uuid).execute(START_SESSION_SCRIPT,
+                List.of(FAMILY_PREFIX + family, REFRESH_PREFIX + uuid),
+                uuid, role, current, refreshToken, String.valueOf(ttlMillis)));
+    }
+
+    @Override
+    public Rotated rotate(Rotation rotation)
+    {
+        String blacklistKey = blacklistKey(rotation.accessToken());
+        List<String> keys = rotateKeys(rotation, blacklistKey);
+        List<String> args = rotateArgs(rotation, System.currentTimeMillis());
+
+        List<?> result = redisGuard.call("refresh_rotate",
+                () -> redisShards.forUser(rotation.uuid()).execute(ROTATE_SCRIPT, keys, args.toArray()));
+
+        // 블랙리스트 기록은 성공/실패 모두 스크립트에서 수행되므로 이 노드의 로컬 복제본에도 즉시 반영
+        if (rotation.accessRemainingMillis() > 0) blacklistNearCache.add(blacklistKey, rotation.accessExpiresAt());
+
+        return rotated(result);
+    }
+
+    // 사용 여부 키는 샤드 도입 이전 형식이므로 첫 번째 샤드에만 기록
+    // 재실행하면 그 사이 교체된 토큰을 다시 사용 가능으로 되돌릴 수 있으므로 실패 시 예외로 처리
+    @Override
+    public void setUsed(String jti, boolean used, long ttlMillis)
+    {
+        redisGuard.call("used_flag_set", () -> {
+            redisShards.primary().opsForValue().set(USED_TOKEN_PREFIX + jti, String.valueOf(used), Duration.ofMillis(ttlMillis));
+            return null;
+        });
+    }
+
+    // 조회할 수 없으면 사용된 것으로 간주 ("false" 외의 값은 사용됨 또는 새 패밀리로 옮겨진 상태)
+    @Override
+    public boolean isUsed(String jti)
+    {
+        String value = redisGuard.read("used_flag_get", () -> redisShards.primary().opsForValue().get(USED_TOKEN_PREFIX + jti), () -> "true");
+        return !"false".equals(value);
+    }
+
+    // 토큰 사용자의 샤드에 남은 유효시간만큼 보관(색인 포함)하고 다른 노드의 로컬 블랙리스트에 전파
+    // Redis 장애 중에는 로컬 블랙리스트에 먼저 반영하고 Redis 기록은 복구 후 재실행
+    @Override
+    public void revoke(String token, String subject, long ttlMillis)
+    {
+        String key = blacklistKey(token);
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        StringRedisTemplate shard = redisShards.forUser(subject);
+        redisGuard.write("blacklist_add", expiresAt,
+                remaining -> () -> shard.execute(REVOKE_SCRIPT, List.of(key, BLACKLIST_INDEX),
+                        String.valueOf(remaining), String.valueOf(expiresAt), String.valueOf(System.currentTimeMillis())));
+
+        blacklistNearCache.publish(key, expiresAt);
+    }
+
+    // 로컬 복제본이 동기화된 상태라면 Redis를 조회하지 않음
+    // Redis를 조회할 수 없으면 로컬 복제본에 남아 있는 최근 무효화 항목으로 판단 (저하 모드)
+    @Override
+    public boolean isRevoked(String token, String subject)
+    {
+        String key = blacklistKey(token);
+
+        if (blacklistNearCache.isActive()) return isRevokedLocally(key, token);
+
+        StringRedisTemplate target = redisShards.forUser(subject);
+        StringRedisTemplate previous = redisShards.previousForUser(subject);
+        if (!legacyKeyCheck && previous == null)
+        {
+            return redisGuard.read("blacklist_check", () -> target.hasKey(key), () -> isRevokedLocally(key, token));
+        }
+
+        // 이관 기간에 샤드가 바뀐 사용자는 변경 전 샤드에 남은 항목도 확인
+        return redisGuard.read("blacklist_check", () -> {
+            if (isRevokedOn(target, key, token)) return true;
+            if (previous != null && isRevokedOn(previous, key, token)) return true;
+
+            StringRedisTemplate primary = redisShards.primary();
+            return legacyKeyCheck && target != primary && previous != primary
+                    && Boolean.TRUE.equals(primary.hasKey(LEGACY_BLACKLIST_PREFIX + token));
+        }, () -> isRevokedLocally(key, token));
+    }
+
+    // 샤드마다 MGET 한 번 (이전 형식 키는 첫 번째 샤드의, 이관 기간의 변경 전 키는 이전 샤드의 MGET에 함께 포함)
+    // 로컬 복제본이 동기화된 상태라면 Redis를 조회하지 않음
+    @Override
+    public boolean[] isRevoked(List<String> tokens, List<String> subjects)
+    {
+        String[] keys = new String[tokens.size()];
+        for (int i = 0; i < keys.length; i++)
+        {
+            keys[i] = blacklistKey(tokens.get(i));
+        }
+
+        if (blacklistNearCache.isActive()) return isRevokedLocally(keys, tokens);
+
+        Map<StringRedisTemplate, KeyBatch> batches = new LinkedHashMap<>();
+        for (int i = 0; i < keys.length; i++)
+        {
+            batches.computeIfAbsent(redisShards.forUser(subjects.get(i)), shard -> new KeyBatch()).add(keys[i], i);
+            StringRedisTemplate previous = redisShards.previousForUser(subjects.get(i));
+            if (previous != null) batches.computeIfAbsent(previous, shard -> new KeyBatch()).add(keys[i], i);
+            if (legacyKeyCheck) batches.computeIfAbsent(redisShards.primary(), shard -> new KeyBatch()).add(LEGACY_BLACKLIST_PREFIX + tokens.get(i), i);
+        }
+
+        return redisGuard.read("blacklist_check_batch", () -> {
+            boolean[] revoked = new boolean[keys.length];
+            batches.forEach((shard, batch) -> batch.mark(shard.opsForValue().multiGet(batch.keys()), revoked));
+            return revoked;
+        }, () -> isRevokedLocally(keys, tokens));
+    }
+
+    // 조회할 수 없으면 null (호출 측에서 캐시하지 않음)
+    // 이관 기간에 샤드가 바뀐 사용자는 두 샤드 중 큰 세대를 사용
+    @Override
+    public Long generation(String uuid)
+    {
+        return redisGuard.read("generation_get", () -> {
+            long generation = parseGeneration(redisShards.forUser(uuid).opsForValue().get(GENERATION_PREFIX + uuid));
+
+            StringRedisTemplate previous = redisShards.previousForUser(uuid);
+            if (previous == null) return generation;
+            return carryGeneration(uuid, previous, generation, parseGeneration(previous.opsForValue().get(GENERATION_PREFIX + uuid)));
+        }, () -> null);
+    }
+
+    // 샤드마다 MGET 한 번, 조회할 수 없으면 null (호출 측에서 캐시하지 않음)
+    @Override
+    public Map<String, Long> generations(Collection<String> uuids)
+    {
+        Map<StringRedisTemplate, List<String>> byShard = new LinkedHashMap<>();
+        for (String uuid : uuids)
+        {
+            byShard.computeIfAbsent(redisShards.forUser(uuid), shard -> new ArrayList<>()).add(uuid);
+        }
+
+        return redisGuard.read("generation_get_batch", () -> {
+            Map<String, Long> generations = new HashMap<>();
+            byShard.forEach((shard, users) -> {
+                List<String> values = shard.opsForValue().multiGet(users.stream().map(uuid -> GENERATION_PREFIX + uuid).toList());
+                for (int i = 0; i < users.size(); i++)
+                {
+                    generations.put(users.get(i), parseGeneration(values == null ? null : values.get(i)));
+                }
+            });
+
+            // 이관 기간에 샤드가 바뀐 사용자 (드물므로 사용자별로 조회)
+            for (String uuid : uuids)
+            {
+                StringRedisTemplate previous = redisShards.previousForUser(uuid);
+                if (previous == null) continue;
+
+                long carried = carryGeneration(uuid, previous, generations.get(uuid),
+                        parseGeneration(previous.opsForValue().get(GENERATION_PREFIX + uuid)));
+                generations.put(uuid, carried);
+            }
+            return generations;
+        }, () -> null);
+    }
+
+    // 이관 기간에 샤드가 바뀐 사용자는 이전 샤드의 세대보다 큰 값으로 증가 (이전 세대 토큰이 다시 유효해지지 않도록)
+    @Override
+    public long bumpGeneration(String uuid, long retentionMillis)
+    {
+        StringRedisTemplate previous = redisShards.previousForUser(uuid);
+        Long generation = redisGuard.call("generation_bump", () -> {
+            String floor = previous == null ? null : previous.opsForValue().get(GENERATION_PREFIX + uuid);
+            return redisShards.forUser(uuid).execute(BUMP_SCRIPT, List.of(GENERATION_PREFIX + uuid),
+                    String.valueOf(retentionMillis),
+                    TokenGenerationService.CHANNEL,
+                    uuid,
+                    floor == null ? "0" : floor);
+        });
+
+        return generation == null ? 0L : generation;
+    }
+
+    // 한 샤드의 블랙리스트 확인 (첫 번째 샤드라면 이전 형식 키도 한 번의 EXISTS 호출로 확인)
+    private boolean isRevokedOn(StringRedisTemplate shard, String key, String token)
+    {
+        if (!legacyKeyCheck || shard != redisShards.primary()) return Boolean.TRUE.equals(shard.hasKey(key));
+
+        Long count = shard.countExistingKeys(List.of(key, LEGACY_BLACKLIST_PREFIX + token));
+        return count != null && count > 0;
+    }
+
+    // 이전 샤드의 세대가 더 크면 새 샤드로 옮기고 큰 값을 반환
+    private long carryGeneration(String uuid, StringRedisTemplate previous, long current, long previousGeneration)
+    {
+        if (previousGeneration <= current) return current;
+
+        Long remaining = previous.getExpire(GENERATION_PREFIX + uuid, TimeUnit.MILLISECONDS);
+        if (remaining == null || remaining <= 0) return previousGeneration;
+
+        Long carried = redisShards.forUser(uuid).execute(CARRY_GENERATION_SCRIPT, List.of(GENERATION_PREFIX + uuid),
+                String.valueOf(previousGeneration), String.valueOf(remaining));
+        return carried == null ? previousGeneration : Math.max(carried, previousGeneration);
+    }
+
+    static long parseGeneration(String value)
+    {
+        return value == null ? 0L : Long.parseLong(value);
+    }
+
+    boolean[] isRevokedLocally(String[] keys, List<String> tokens)
+    {
+        boolean[] revoked = new boolean[keys.length];
+        for (int i = 0; i < keys.length; i++)
+        {
+            revoked[i] = isRevokedLocally(keys[i], tokens.get(i));
+        }
+        return revoked;
+    }
+
+    boolean isRevokedLocally(String key, String token)
+    {
+        return blacklistNearCache.contains(key)
+                || (legacyKeyCheck && blacklistNearCache.contains(LEGACY_BLACKLIST_PREFIX + token));
+    }
+
+    static String blacklistKey(String token)
+    {
+        return BLACKLIST_PREFIX + TokenDigest.of(token);
+    }
+
+    // 사용자의 리프레시 토큰과 함께 삭제할 상태 키 (사용 여부 키는 보관 기간 동안 남겨 재사용을 감지)
+    static List<String> refreshKeys(String uuid, RefreshState state)
+    {
+        return state != null && state.kind() != RefreshState.Kind.USED_FLAG
+                ? List.of(REFRESH_PREFIX + uuid, stateKey(state))
+                : List.of(REFRESH_PREFIX + uuid);
+    }
+
+    // 교체 스크립트의 KEYS, ARGV (ROTATE_SCRIPT 설명 참고)
+    static List<String> rotateKeys(Rotation rotation, String blacklistKey)
+    {
+        return List.of(
+                stateKey(rotation.presented()),
+                blacklistKey,
+                FAMILY_PREFIX + rotation.family(),
+                REFRESH_PREFIX + rotation.uuid(),
+                BLACKLIST_INDEX);
+    }
+
+    static List<String> rotateArgs(Rotation rotation, long now)
+    {
+        RefreshState presented = rotation.presented();
+        return List.of(
+                scriptMode(presented.kind()),
+                presented.presented() == null ? "" : presented.presented(),
+                rotation.uuid(),
+                rotation.role() == null ? "" : rotation.role(),
+                rotation.current(),
+                rotation.refreshToken(),
+                String.valueOf(rotation.ttlMillis()),
+                String.valueOf(presented.remainingTimeMillis()),
+                String.valueOf(rotation.accessRemainingMillis()),
+                BlacklistNearCache.CHANNEL,
+                String.valueOf(rotation.accessExpiresAt()),
+                String.valueOf(now),
+                String.valueOf(now + rotation.retryGraceMillis()));
+    }
+
+    // 교체 스크립트 결과 (거부되었으면 null)
+    static Rotated rotated(List<?> result)
+    {
+        if (result == null || result.size() < 3 || !"1".equals(result.get(0))) return null;
+        return new Rotated((String) result.get(1), (String) result.get(2));
+    }
+
+    private static String stateKey(RefreshState state)
+    {
+        return switch (state.kind())
+        {
+            case FAMILY -> FAMILY_PREFIX + state.id();
+            case USED_FLAG -> USED_TOKEN_PREFIX + state.id();
+            case LEGACY_HANDLE -> LEGACY_HANDLE_PREFIX + state.id();
+        };
+    }
+
+    private static String scriptMode(RefreshState.Kind kind)
+    {
+        return switch (kind)
+        {
+            case FAMILY -> "family";
+            case USED_FLAG -> "jwt";
+            case LEGACY_HANDLE -> "handle";
+        };
+    }
+}
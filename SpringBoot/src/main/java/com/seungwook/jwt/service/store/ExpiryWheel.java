@@ -0,0 +1,72 @@
+package com.seungwook.jwt.service.store;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 해시 타이머 휠 (만료 항목 정리용)
+ * - 만료 시각을 tick 단위로 나누어 slot(= tick % 크기)에 보관하고, 시간이 흐르면 지나간 slot만 확인
+ * - 휠 한 바퀴보다 긴 TTL은 같은 slot에 남아 있다가 만료 tick이 된 바퀴에서 실행됨
+ * - 등록은 여러 스레드에서, advance는 한 스레드에서 호출
+ *
+ * 정리 시각은 최대 한 tick 늦을 수 있으므로 조회 측에서도 만료 시각을 확인해야 함
+ */
+final class ExpiryWheel
+{
+    private record Timeout(long deadlineTick, Runnable task) {}
+
+    private final long tickMillis;
+    private final int mask;
+    private final ConcurrentLinkedQueue<Timeout>[] slots;
+
+    // 마지막으로 처리한 tick
+    private volatile long processedTick;
+
+    @SuppressWarnings("unchecked")
+    ExpiryWheel(int size, long tickMillis, long now)
+    {
+        int capacity = Integer.highestOneBit(Math.max(2, size - 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = capacity - 1;
+        this.slots = new ConcurrentLinkedQueue[capacity];
+        for (int i = 0; i < capacity; i++)
+        {
+            slots[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.processedTick = now / tickMillis;
+    }
+
+    /**
+     * 만료 시각에 실행할 작업 등록 (이미 지난 시각이면 다음 tick에 실행)
+     */
+    void schedule(long expiresAt, Runnable task)
+    {
+        long tick = Math.max((expiresAt + tickMillis - 1) / tickMillis, processedTick + 1);
+        slots[(int) (tick & mask)].add(new Timeout(tick, task));
+    }
+
+    /**
+     * 현재 시각까지 지나간 tick의 slot을 처리
+     * 한 바퀴 이상 밀려 있으면 모든 slot을 한 번씩만 확인
+     */
+    void advance(long now)
+    {
+        long target = now / tickMillis;
+        long from = Math.max(processedTick + 1, target - mask);
+
+        for (long tick = from; tick <= target; tick++)
+        {
+            Iterator<Timeout> iterator = slots[(int) (tick & mask)].iterator();
+            while (iterator.hasNext())
+            {
+                Timeout timeout = iterator.next();
+                if (timeout.deadlineTick() > target) continue;
+
+                iterator.remove();
+                timeout.task().run();
+            }
+        }
+
+        if (target > processedTick) processedTick = target;
+    }
+}
@@ -0,0 +1,80 @@
+package com.seungwook.jwt.service.store;
+
+import com.seungwook.jwt.service.store.TokenStateStore.RefreshState;
+import com.seungwook.jwt.service.store.TokenStateStore.Rotated;
+import com.seungwook.jwt.service.store.TokenStateStore.Rotation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 메모리 저장소의 리액티브 버전 (메모리 작업은 블로킹이 없으므로 구독 시점에 그대로 실행)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jwt.state-store", havingValue = "memory")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class InMemoryReactiveTokenStateStore implements ReactiveTokenStateStore
+{
+    private final InMemoryTokenStateStore store;
+
+    @Override
+    public Mono<String> findRefreshToken(String uuid)
+    {
+        return Mono.fromSupplier(() -> store.findRefreshToken(uuid));
+    }
+
+    @Override
+    public Mono<Void> deleteRefreshToken(String uuid, RefreshState state)
+    {
+        return Mono.fromRunnable(() -> store.deleteRefreshToken(uuid, state));
+    }
+
+    @Override
+    public Mono<Rotated> rotate(Rotation rotation)
+    {
+        return Mono.fromSupplier(() -> store.rotate(rotation));
+    }
+
+    @Override
+    public Mono<Void> revoke(String token, String subject, long ttlMillis)
+    {
+        return Mono.fromRunnable(() -> store.revoke(token, subject, ttlMillis));
+    }
+
+    @Override
+    public Mono<Boolean> isRevoked(String token, String subject)
+    {
+        return Mono.fromSupplier(() -> store.isRevoked(token, subject));
+    }
+
+    @Override
+    public Mono<boolean[]> isRevoked(List<String> tokens, List<String> subjects)
+    {
+        return Mono.fromSupplier(() -> store.isRevoked(tokens, subjects));
+    }
+
+    @Override
+    public Mono<Long> generation(String uuid)
+    {
+        return Mono.fromSupplier(() -> store.generation(uuid));
+    }
+
+    @Override
+    public Mono<Map<String, Long>> generations(Collection<String> uuids)
+    {
+        return Mono.fromSupplier(() -> store.generations(uuids));
+    }
+
+    @Override
+    public Mono<Long> bumpGeneration(String uuid, long retentionMillis)
+    {
+        return Mono.fromSupplier(() -> store.bumpGeneration(uuid, retentionMillis));
+    }
+}
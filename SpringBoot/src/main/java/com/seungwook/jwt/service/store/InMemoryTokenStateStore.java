@@ -0,0 +1,320 @@
+package com.seungwook.jwt.service.store;
+
+import com.seungwook.jwt.jwt.TokenDigest;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 프로세스 내 토큰 상태 저장소 (단일 노드, 네트워크 호출 없음)
+ * - 항목별 조회/기록은 ConcurrentHashMap으로 처리하고,
+ *   한 사용자에 대한 복합 작업(세션 시작, 교체, 삭제)은 사용자 UUID로 고른 잠금 하나로 직렬화 (lock striping)
+ * - 만료된 항목은 조회 시 바로 없는 것으로 처리하고, 메모리는 타이머 휠이 주기적으로 회수
+ *
+ * 노드 간에 상태를 공유하지 않으므로 여러 노드로 운영할 때는 redis 저장소를 사용해야 함
+ * 프로세스가 재시작되면 모든 상태가 사라짐 (리프레시 세션은 다시 로그인, 블랙리스트는 액세스 토큰 유효기간 동안만 의미 있음)
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.state-store", havingValue = "memory")
+public class InMemoryTokenStateStore implements TokenStateStore
+{
+    // 사용 여부 값이 새 패밀리로 옮겨진 상태임을 나타내는 접두사 (재사용 시 해당 패밀리 삭제)
+    private static final String SUCCESSOR_PREFIX = "family:";
+
+    private record Expiring<V>(V value, long expiresAt) {}
+
+    private record Family(String uuid, String role, String current, long counter, Retry retry) {}
+
+    // 직전 교체의 재시도 판별 정보 (교체 전 토큰, 함께 제시된 액세스 토큰, 유예 종료 시각, 발급한 리프레시 토큰)
+    private record Retry(String presented, String accessDigest, long until, String refreshToken) {}
+
+    private final Map<String, Expiring<String>> refreshTokens = new ConcurrentHashMap<>();
+    private final Map<String, Expiring<Family>> families = new ConcurrentHashMap<>();
+    private final Map<String, Expiring<String>> usedFlags = new ConcurrentHashMap<>();
+    private final Map<String, Expiring<Boolean>> revoked = new ConcurrentHashMap<>();
+    private final Map<String, Expiring<Long>> generations = new ConcurrentHashMap<>();
+
+    private final ReentrantLock[] stripes;
+    private final int stripeMask;
+    private final ExpiryWheel wheel;
+
+    public InMemoryTokenStateStore(MeterRegistry meterRegistry,
+                                   @Value("${jwt.state-store.memory.stripes:64}") int stripes,
+                                   @Value("${jwt.state-store.memory.wheel-size:4096}") int wheelSize,
+                                   @Value("${jwt.state-store.memory.tick-ms:1000}") long tickMillis)
+    {
+        int count = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new ReentrantLock[count];
+        for (int i = 0; i < count; i++)
+        {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.stripeMask = count - 1;
+        this.wheel = new ExpiryWheel(wheelSize, tickMillis, System.currentTimeMillis());
+
+        gauge(meterRegistry, "refresh", refreshTokens);
+        gauge(meterRegistry, "family", families);
+        gauge(meterRegistry, "used_flag", usedFlags);
+        gauge(meterRegistry, "blacklist", revoked);
+        gauge(meterRegistry, "generation", generations);
+    }
+
+    /**
+     * 지나간 tick의 만료 항목 회수
+     */
+    @Scheduled(fixedDelayString = "${jwt.state-store.memory.tick-ms:1000}")
+    public void expire()
+    {
+        wheel.advance(System.currentTimeMillis());
+    }
+
+    @Override
+    public void saveRefreshToken(String uuid, String refreshToken, long ttlMillis)
+    {
+        put(refreshTokens, uuid, refreshToken, ttlMillis);
+    }
+
+    @Override
+    public String findRefreshToken(String uuid)
+    {
+        return get(refreshTokens, uuid);
+    }
+
+    @Override
+    public void deleteRefreshToken(String uuid, RefreshState state)
+    {
+        ReentrantLock lock = stripe(uuid);
+        lock.lock();
+        try
+        {
+            refreshTokens.remove(uuid);
+            if (state != null && state.kind() == RefreshState.Kind.FAMILY) families.remove(state.id());
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void startSession(String uuid, String family, String role, String current, String refreshToken, long ttlMillis)
+    {
+        ReentrantLock lock = stripe(uuid);
+        lock.lock();
+        try
+        {
+            put(families, family, new Family(uuid, role, current, 0, null), ttlMillis);
+            put(refreshTokens, uuid, refreshToken, ttlMillis);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    // Redis 구현의 교체 스크립트와 같은 규칙
+    @Override
+    public Rotated rotate(Rotation rotation)
+    {
+        // 기존 액세스 토큰은 성공/실패와 관계없이 블랙리스트에 추가
+        String accessDigest = TokenDigest.of(rotation.accessToken());
+        if (rotation.accessRemainingMillis() > 0) put(revoked, accessDigest, Boolean.TRUE, rotation.accessRemainingMillis());
+
+        String uuid = rotation.uuid();
+        RefreshState presented = rotation.presented();
+
+        ReentrantLock lock = stripe(uuid);
+        lock.lock();
+        try
+        {
+            String role = rotation.role();
+            long counter = 0;
+
+            switch (presented.kind())
+            {
+                case FAMILY ->
+                {
+                    Family family = get(families, presented.id());
+                    if (family == null || !family.uuid().equals(uuid)) return reject(uuid, null);
+                    if (!family.current().equals(presented.presented()))
+                    {
+                        // 응답을 받지 못한 직전 요청의 재시도면 앞서 발급한 토큰을 돌려줌
+                        Retry retry = family.retry();
+                        if (retry != null && retry.presented().equals(presented.presented())
+                                && retry.accessDigest().equals(accessDigest) && retry.until() > System.currentTimeMillis())
+                        {
+                            return new Rotated(family.role(), retry.refreshToken());
+                        }
+                        return reject(uuid, presented.id());
+                    }
+                    role = family.role();
+                    counter = family.counter() + 1;
+                }
+                case USED_FLAG ->
+                {
+                    // jti는 사용자와 무관하므로 잠금 대신 값 비교로 한 번만 사용되도록 보장
+                    Expiring<String> used = usedFlags.get(presented.id());
+                    String value = used == null || used.expiresAt() <= System.currentTimeMillis() ? null : used.value();
+                    if (!"false".equals(value)) return reject(uuid, successor(value));
+
+                    boolean claimed = presented.remainingTimeMillis() > 0
+                            ? usedFlags.replace(presented.id(), used, schedule(usedFlags, presented.id(),
+                                    new Expiring<>(SUCCESSOR_PREFIX + rotation.family(), System.currentTimeMillis() + presented.remainingTimeMillis())))
+                            : usedFlags.remove(presented.id(), used);
+                    if (!claimed) return reject(uuid, null);
+                }
+                // 이 저장소는 이전 핸들 형식을 기록한 적이 없음
+                case LEGACY_HANDLE ->
+                {
+                    return reject(uuid, null);
+                }
+            }
+
+            Retry retry = presented.kind() == RefreshState.Kind.FAMILY
+                    ? new Retry(presented.presented(), accessDigest, System.currentTimeMillis() + rotation.retryGraceMillis(), rotation.refreshToken())
+                    : null;
+            put(families, rotation.family(), new Family(uuid, role, rotation.current(), counter, retry), rotation.ttlMillis());
+            put(refreshTokens, uuid, rotation.refreshToken(), rotation.ttlMillis());
+            return new Rotated(role, rotation.refreshToken());
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void setUsed(String jti, boolean used, long ttlMillis)
+    {
+        put(usedFlags, jti, String.valueOf(used), ttlMillis);
+    }
+
+    @Override
+    public boolean isUsed(String jti)
+    {
+        return !"false".equals(get(usedFlags, jti));
+    }
+
+    @Override
+    public void revoke(String token, String subject, long ttlMillis)
+    {
+        put(revoked, TokenDigest.of(token), Boolean.TRUE, ttlMillis);
+    }
+
+    @Override
+    public boolean isRevoked(String token, String subject)
+    {
+        return get(revoked, TokenDigest.of(token)) != null;
+    }
+
+    @Override
+    public boolean[] isRevoked(List<String> tokens, List<String> subjects)
+    {
+        boolean[] revoked = new boolean[tokens.size()];
+        for (int i = 0; i < revoked.length; i++)
+        {
+            revoked[i] = isRevoked(tokens.get(i), subjects.get(i));
+        }
+        return revoked;
+    }
+
+    @Override
+    public Long generation(String uuid)
+    {
+        Long generation = get(generations, uuid);
+        return generation == null ? 0L : generation;
+    }
+
+    @Override
+    public Map<String, Long> generations(Collection<String> uuids)
+    {
+        Map<String, Long> result = new HashMap<>();
+        for (String uuid : uuids)
+        {
+            result.put(uuid, generation(uuid));
+        }
+        return result;
+    }
+
+    @Override
+    public long bumpGeneration(String uuid, long retentionMillis)
+    {
+        long now = System.currentTimeMillis();
+        Expiring<Long> bumped = generations.compute(uuid, (key, current) -> {
+            long generation = current == null || current.expiresAt() <= now ? 0 : current.value();
+            return new Expiring<>(generation + 1, now + retentionMillis);
+        });
+
+        schedule(generations, uuid, bumped);
+        return bumped.value();
+    }
+
+    // 재사용된 토큰: 옮겨간 패밀리가 있으면 삭제하고 사용자의 리프레시 토큰도 삭제
+    private Rotated reject(String uuid, String successorFamily)
+    {
+        if (successorFamily != null) families.remove(successorFamily);
+        refreshTokens.remove(uuid);
+        return null;
+    }
+
+    private static String successor(String usedValue)
+    {
+        return usedValue != null && usedValue.startsWith(SUCCESSOR_PREFIX) ? usedValue.substring(SUCCESSOR_PREFIX.length()) : null;
+    }
+
+    private ReentrantLock stripe(String uuid)
+    {
+        int hash = uuid.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & stripeMask];
+    }
+
+    private <V> void put(Map<String, Expiring<V>> map, String key, V value, long ttlMillis)
+    {
+        if (ttlMillis <= 0)
+        {
+            map.remove(key);
+            return;
+        }
+
+        map.put(key, schedule(map, key, new Expiring<>(value, System.currentTimeMillis() + ttlMillis)));
+    }
+
+    // 만료 시각에 같은 항목이 그대로 남아 있을 때만 제거 (그 사이 다시 기록된 항목은 유지)
+    private <V> Expiring<V> schedule(Map<String, Expiring<V>> map, String key, Expiring<V> entry)
+    {
+        wheel.schedule(entry.expiresAt(), () -> map.remove(key, entry));
+        return entry;
+    }
+
+    private static <V> V get(Map<String, Expiring<V>> map, String key)
+    {
+        Expiring<V> entry = map.get(key);
+        if (entry == null) return null;
+
+        if (entry.expiresAt() <= System.currentTimeMillis())
+        {
+            map.remove(key, entry);
+            return null;
+        }
+
+        return entry.value();
+    }
+
+    private static void gauge(MeterRegistry meterRegistry, String type, Map<String, ?> entries)
+    {
+        Gauge.builder("auth.state-store.entries", entries, Map::size)
+                .tag("type", type)
+                .description("메모리 토큰 상태 저장소의 항목 수 (만료 후 회수 전 항목 포함)")
+                .register(meterRegistry);
+    }
+}
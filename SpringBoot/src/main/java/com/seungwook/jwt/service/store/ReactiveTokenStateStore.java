@@ -0,0 +1,58 @@
+package com.seungwook.jwt.service.store;
+
+import com.seungwook.jwt.service.store.TokenStateStore.RefreshState;
+import com.seungwook.jwt.service.store.TokenStateStore.Rotated;
+import com.seungwook.jwt.service.store.TokenStateStore.Rotation;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 토큰 상태 저장소의 논블로킹 버전 (WebFlux)
+ * 인증 필터의 조회와 토큰 교체, 로그아웃, 무효화처럼 저장소만 거치는 작업을 이벤트 루프를 막지 않고 처리
+ * 규칙과 원자성은 TokenStateStore와 같으며, 같은 저장소 상태를 읽고 씀
+ *
+ * 세션 시작(로그인, 회원가입)은 사용자 조회(JPA)와 함께 실행되므로 TokenStateStore를 그대로 사용
+ */
+public interface ReactiveTokenStateStore
+{
+    /**
+     * 사용자의 현재 리프레시 토큰
+     * @return 리프레시 토큰, 없거나 저장소를 일시적으로 확인할 수 없으면 empty
+     */
+    Mono<String> findRefreshToken(String uuid);
+
+    // TokenStateStore.deleteRefreshToken과 같음
+    Mono<Void> deleteRefreshToken(String uuid, RefreshState state);
+
+    /**
+     * TokenStateStore.rotate와 같음
+     * @return 교체 결과 (성공 또는 재시도), empty (없거나 다른 사용자의 것이거나 재사용된 토큰)
+     */
+    Mono<Rotated> rotate(Rotation rotation);
+
+    // 토큰 블랙리스트 (subject: 토큰 사용자)
+    Mono<Void> revoke(String token, String subject, long ttlMillis);
+
+    Mono<Boolean> isRevoked(String token, String subject);
+
+    // TokenStateStore.isRevoked(List, List)와 같음
+    Mono<boolean[]> isRevoked(List<String> tokens, List<String> subjects);
+
+    /**
+     * 사용자의 토큰 세대
+     * @return 현재 세대 (기록이 없으면 0), 저장소를 일시적으로 확인할 수 없으면 empty
+     */
+    Mono<Long> generation(String uuid);
+
+    /**
+     * 여러 사용자의 토큰 세대를 한 번에 조회
+     * @return 사용자별 현재 세대 (기록이 없으면 0), 저장소를 일시적으로 확인할 수 없으면 empty
+     */
+    Mono<Map<String, Long>> generations(Collection<String> uuids);
+
+    // TokenStateStore.bumpGeneration과 같음
+    Mono<Long> bumpGeneration(String uuid, long retentionMillis);
+}
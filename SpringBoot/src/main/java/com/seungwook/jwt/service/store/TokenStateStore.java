@@ -0,0 +1,128 @@
+package com.seungwook.jwt.service.store;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 토큰 상태 저장소 SPI (리프레시 세션, 사용 여부, 블랙리스트, 토큰 세대)
+ * 키 이름과 저장 방식은 구현이 정하며, 호출 측은 사용자 UUID, 패밀리, jti, 토큰 원문만 다룸
+ *
+ * 모든 항목은 TTL을 가지며 만료된 항목은 없는 것과 같음
+ * 한 사용자에 대한 복합 작업(세션 시작, 교체, 삭제)은 원자적으로 처리되어야 함
+ *
+ * 구현 선택: jwt.state-store (redis: 기본, 여러 노드가 상태 공유 / memory: 단일 노드, 네트워크 호출 없음)
+ */
+public interface TokenStateStore
+{
+    /**
+     * 제시된 리프레시 토큰의 상태 위치
+     * @param kind                상태 형식
+     * @param id                  패밀리 (FAMILY), jti (USED_FLAG), 핸들 (LEGACY_HANDLE)
+     * @param presented           패밀리의 current와 비교할 식별자 (FAMILY인 경우)
+     * @param remainingTimeMillis 토큰 남은 유효기간 (USED_FLAG인 경우 사용 여부 보관 기간)
+     */
+    record RefreshState(Kind kind, String id, String presented, long remainingTimeMillis)
+    {
+        public enum Kind
+        {
+            FAMILY,        // 로그인 세션 단위의 패밀리 (현재 형식)
+            USED_FLAG,     // 토큰별 사용 여부로 관리되는 이전 JWT 리프레시 토큰
+            LEGACY_HANDLE  // 패밀리가 없는 이전 불투명 핸들
+        }
+
+        public String family()
+        {
+            return kind == Kind.FAMILY ? id : null;
+        }
+    }
+
+    /**
+     * 리프레시 토큰 교체 요청
+     * @param uuid                  액세스 토큰의 사용자
+     * @param role                  액세스 토큰의 role (패밀리가 없는 이전 형식을 옮길 때 사용)
+     * @param presented             제시된 리프레시 토큰의 상태
+     * @param accessToken           기존 액세스 토큰 (성공/실패와 관계없이 블랙리스트에 추가, 재시도 판별에도 사용)
+     * @param accessRemainingMillis 기존 액세스 토큰 남은 유효기간
+     * @param accessExpiresAt       기존 액세스 토큰 만료 시각 (epoch millis)
+     * @param family                교체 후 패밀리 (이전 형식이면 새 패밀리)
+     * @param current               새 리프레시 토큰의 식별자
+     * @param refreshToken          새 리프레시 토큰
+     * @param ttlMillis             새 리프레시 토큰 유효기간
+     * @param retryGraceMillis      재시도 유예 시간 (교체 후 이 시간 안에 같은 토큰과 같은 액세스 토큰으로 다시 요청하면 재사용이 아닌 재시도)
+     */
+    record Rotation(String uuid, String role, RefreshState presented,
+                    String accessToken, long accessRemainingMillis, long accessExpiresAt,
+                    String family, String current, String refreshToken, long ttlMillis,
+                    long retryGraceMillis) {}
+
+    /**
+     * 리프레시 토큰 교체 결과
+     * @param role         패밀리에 기록된 role
+     * @param refreshToken 사용자의 새 리프레시 토큰 (재시도면 앞선 요청에서 이미 발급된 토큰)
+     */
+    record Rotated(String role, String refreshToken) {}
+
+    // 사용자의 현재 리프레시 토큰
+    void saveRefreshToken(String uuid, String refreshToken, long ttlMillis);
+
+    String findRefreshToken(String uuid);
+
+    /**
+     * 사용자의 리프레시 토큰과 그 상태(패밀리 또는 핸들)를 함께 삭제
+     * @param state 현재 리프레시 토큰의 상태 (모르면 null, 사용 여부는 삭제하지 않음)
+     */
+    void deleteRefreshToken(String uuid, RefreshState state);
+
+    /**
+     * 로그인 세션 시작 (새 패밀리와 사용자의 리프레시 토큰 저장)
+     */
+    void startSession(String uuid, String family, String role, String current, String refreshToken, long ttlMillis);
+
+    /**
+     * 재사용 확인, 기존 토큰 무효화, 새 토큰 저장을 원자적으로 처리
+     * 이미 교체된 토큰이 다시 제시되면 패밀리 전체를 삭제
+     *
+     * 응답을 받지 못한 요청(저장소 시간 초과 등)의 재시도는 재사용으로 보지 않음
+     * 교체 직후 유예 시간 안에 같은 토큰이 같은 액세스 토큰과 함께 다시 제시되면 새로 교체하지 않고 앞선 결과를 돌려줌
+     * @return 교체 결과 (성공 또는 재시도), null (없거나 다른 사용자의 것이거나 재사용된 토큰)
+     */
+    Rotated rotate(Rotation rotation);
+
+    // 이전 방식 리프레시 토큰의 사용 여부
+    void setUsed(String jti, boolean used, long ttlMillis);
+
+    // 기록이 없거나 이미 사용(또는 교체)된 경우 true
+    boolean isUsed(String jti);
+
+    // 토큰 블랙리스트 (subject: 토큰 사용자, 사용자별로 상태를 나누어 저장하는 구현에서 사용)
+    void revoke(String token, String subject, long ttlMillis);
+
+    boolean isRevoked(String token, String subject);
+
+    /**
+     * 여러 토큰의 블랙리스트 여부를 한 번에 확인 (토큰마다 호출하지 않고 저장소 노드마다 한 번의 다중 키 조회)
+     * @param subjects 같은 순서의 토큰 사용자
+     * @return 같은 순서의 블랙리스트 여부
+     */
+    boolean[] isRevoked(List<String> tokens, List<String> subjects);
+
+    /**
+     * 사용자의 토큰 세대
+     * @return 현재 세대 (기록이 없으면 0), 저장소를 일시적으로 확인할 수 없으면 null
+     */
+    Long generation(String uuid);
+
+    /**
+     * 여러 사용자의 토큰 세대를 한 번에 조회
+     * @return 사용자별 현재 세대 (기록이 없으면 0), 저장소를 일시적으로 확인할 수 없으면 null
+     */
+    Map<String, Long> generations(Collection<String> uuids);
+
+    /**
+     * 세대를 올리고 다른 노드에 전파
+     * @param retentionMillis 세대 보관 기간 (이후에는 이전 세대 토큰이 모두 만료됨)
+     * @return 새 세대
+     */
+    long bumpGeneration(String uuid, long retentionMillis);
+}
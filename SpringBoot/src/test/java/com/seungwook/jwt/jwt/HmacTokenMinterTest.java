@@ -0,0 +1,154 @@
+package com.seungwook.jwt.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.MacAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HmacTokenMinterTest
+{
+    private final long issuedAt = System.currentTimeMillis() / 1000;
+    private final long expiresAt = issuedAt + TimeUnit.MINUTES.toSeconds(15);
+
+    private byte[] keyBytes;
+    private SecretKey key;
+    private String header;
+    private HmacTokenMinter minter;
+    private HmacTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp()
+    {
+        keyBytes = JwtTokenProviders.secret();
+        key = Keys.hmacShaKeyFor(keyBytes);
+        header = headerSegment(key, Jwts.SIG.HS512);
+
+        minter = new HmacTokenMinter(key, "HmacSHA512", header);
+        verifier = new HmacTokenVerifier(key, "HmacSHA512", header);
+    }
+
+    @Test
+    @DisplayName("standard 액세스 토큰은 전용 검증기와 JJWT 모두 같은 클레임으로 검증")
+    void standardAccessTokenRoundTrips()
+    {
+        String jti = UUID.randomUUID().toString();
+        String token = minter.mint(TokenProfile.STANDARD, jti, "user-1", "ROLE_ADMIN", null, 7, issuedAt, expiresAt);
+
+        VerifiedToken verified = verifyWithoutFallback(token);
+        assertThat(verified.getSubject()).isEqualTo("user-1");
+        assertThat(verified.getRole()).isEqualTo("ROLE_ADMIN");
+        assertThat(verified.getJti()).isEqualTo(jti);
+        assertThat(verified.getGeneration()).isEqualTo(7);
+        assertThat(verified.getExpiration()).isEqualTo(expiresAt * 1000);
+        assertThat(verified.getFamily()).isNull();
+
+        Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+        assertThat(claims.getId()).isEqualTo(jti);
+        assertThat(claims.getSubject()).isEqualTo("user-1");
+        assertThat(claims.get("role", String.class)).isEqualTo("ROLE_ADMIN");
+        assertThat(claims.get("gen", Number.class).longValue()).isEqualTo(7);
+        assertThat(claims.getIssuedAt().getTime()).isEqualTo(issuedAt * 1000);
+        assertThat(claims.getNotBefore().getTime()).isEqualTo(issuedAt * 1000);
+        assertThat(claims.getExpiration().getTime()).isEqualTo(expiresAt * 1000);
+        assertThat(claims).doesNotContainKeys("fam", "rl");
+    }
+
+    @Test
+    @DisplayName("compact 리프레시 토큰은 생략한 클레임 없이 두 검증기 모두에서 검증")
+    void compactRefreshTokenRoundTrips()
+    {
+        String token = minter.mint(TokenProfile.COMPACT, "Pxwqng3XTB6aVS9ujUt8EA", null, null, "family-1", 0, issuedAt, expiresAt);
+
+        VerifiedToken verified = verifyWithoutFallback(token);
+        assertThat(verified.getSubject()).isNull();
+        assertThat(verified.getRole()).isNull();
+        assertThat(verified.getFamily()).isEqualTo("family-1");
+        assertThat(verified.getGeneration()).isZero();
+
+        Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+        assertThat(claims.get("fam", String.class)).isEqualTo("family-1");
+        assertThat(claims).doesNotContainKeys("sub", "rl", "role", "gen", "nbf");
+    }
+
+    @Test
+    @DisplayName("HS256 compact 발급기의 토큰도 같은 알고리즘의 JJWT 키로 검증")
+    void hs256TokenRoundTrips()
+    {
+        SecretKey hs256Key = new SecretKeySpec(keyBytes, "HmacSHA256");
+        String hs256Header = headerSegment(hs256Key, Jwts.SIG.HS256);
+        HmacTokenMinter hs256Minter = new HmacTokenMinter(hs256Key, "HmacSHA256", hs256Header);
+        HmacTokenVerifier hs256Verifier = new HmacTokenVerifier(hs256Key, "HmacSHA256", hs256Header);
+
+        String token = hs256Minter.mint(TokenProfile.COMPACT, "jti-1", "user-1", "U", null, 0, issuedAt, expiresAt);
+
+        assertThat(hs256Verifier.verify(token, unused -> Optional.empty())).get()
+                .extracting(VerifiedToken::getRole).isEqualTo("ROLE_USER");
+        assertThat(Jwts.parser().verifyWith(hs256Key).build().parseSignedClaims(token).getPayload().get("rl", String.class))
+                .isEqualTo("U");
+    }
+
+    @Test
+    @DisplayName("재사용 버퍼보다 긴 토큰도 올바르게 발급하고, 이후 짧은 토큰에 이전 내용이 섞이지 않음")
+    void growsBuffersWithoutLeakingPreviousContent()
+    {
+        String longSubject = "u".repeat(700);
+        String longToken = minter.mint(TokenProfile.STANDARD, "jti-long", longSubject, "ROLE_USER", null, 0, issuedAt, expiresAt);
+        String shortToken = minter.mint(TokenProfile.STANDARD, "jti-short", "user-1", "ROLE_USER", null, 0, issuedAt, expiresAt);
+
+        assertThat(verifyWithoutFallback(longToken).getSubject()).isEqualTo(longSubject);
+        assertThat(verifyWithoutFallback(shortToken).getSubject()).isEqualTo("user-1");
+        assertThat(Jwts.parser().verifyWith(key).build().parseSignedClaims(shortToken).getPayload().getSubject()).isEqualTo("user-1");
+    }
+
+    @Test
+    @DisplayName("JSON 이스케이프가 필요한 값이나 비 ASCII 값은 발급하지 않고 null 반환")
+    void returnsNullWhenEscapingIsRequired()
+    {
+        assertThat(minter.mint(TokenProfile.STANDARD, "jti-1", "user\"1", "ROLE_USER", null, 0, issuedAt, expiresAt)).isNull();
+        assertThat(minter.mint(TokenProfile.STANDARD, "jti-1", "user-1", "ROLE\\USER", null, 0, issuedAt, expiresAt)).isNull();
+        assertThat(minter.mint(TokenProfile.STANDARD, "jti-1", "user-1", "ROLE_USER", "family\n1", 0, issuedAt, expiresAt)).isNull();
+        assertThat(minter.mint(TokenProfile.STANDARD, "jti-1", "사용자", "ROLE_USER", null, 0, issuedAt, expiresAt)).isNull();
+
+        // jti는 생략할 수 없는 클레임
+        assertThat(minter.mint(TokenProfile.STANDARD, null, "user-1", "ROLE_USER", null, 0, issuedAt, expiresAt)).isNull();
+    }
+
+    @Test
+    @DisplayName("전용 발급기가 null을 반환하면 JJWT로 발급하여 이스케이프된 값도 그대로 검증")
+    void providerFallsBackToJjwtForEscapedValues()
+    {
+        JwtTokenProvider provider = JwtTokenProviders.forTest(TokenProfile.STANDARD, true, "");
+
+        String subject = "user\"\\1";
+        String token = provider.createAccessToken(subject, "ROLE_USER");
+
+        assertThat(token).isNotNull();
+        assertThat(Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload().getSubject()).isEqualTo(subject);
+        assertThat(provider.verify(token)).get().extracting(VerifiedToken::getSubject).isEqualTo(subject);
+    }
+
+    private VerifiedToken verifyWithoutFallback(String token)
+    {
+        assertThat(token).isNotNull();
+        return verifier.verify(token, unused -> {
+            throw new AssertionError("JJWT로 위임하지 않아야 함: " + unused);
+        }).orElseThrow();
+    }
+
+    private static String headerSegment(SecretKey signingKey, MacAlgorithm algorithm)
+    {
+        String probe = Jwts.builder().subject("probe").signWith(signingKey, algorithm).compact();
+        return probe.substring(0, probe.indexOf('.'));
+    }
+}
@@ -0,0 +1,369 @@
+package com.seungwook.jwt.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HmacTokenVerifierTest
+{
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+    private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+
+    // 초 단위 클레임 (exp, nbf)
+    private static final long ISSUED_AT = 1_800_000_000L;
+    private static final long EXPIRES_AT = ISSUED_AT + 900;
+
+    private final AtomicLong now = new AtomicLong(ISSUED_AT * 1000 + 1_000);
+    private final AtomicInteger fallbackCalls = new AtomicInteger();
+
+    private SecretKey key;
+    private String header;
+    private JwtParser parser;
+    private HmacTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp()
+    {
+        byte[] keyBytes = new byte[64];
+        for (int i = 0; i < keyBytes.length; i++) keyBytes[i] = (byte) (i * 31 + 7);
+        key = Keys.hmacShaKeyFor(keyBytes);
+
+        String probe = Jwts.builder().subject("probe").signWith(key, Jwts.SIG.HS512).compact();
+        header = probe.substring(0, probe.indexOf('.'));
+
+        parser = Jwts.parser()
+                .verifyWith(key)
+                .clock(() -> new Date(now.get()))
+                .build();
+        verifier = new HmacTokenVerifier(key, "HmacSHA512", header, now::get);
+    }
+
+    @Test
+    @DisplayName("JJWT가 발급한 토큰은 위임 없이 JJWT와 같은 클레임으로 검증")
+    void acceptsJjwtTokensWithSameClaims()
+    {
+        List<String> tokens = List.of(
+                Jwts.builder()
+                        .id("3f1c2a9e-0b7d-4c1e-9a55-2f6e8d4b7c10")
+                        .subject("user-1")
+                        .claim("role", "ROLE_USER")
+                        .claim("gen", 3L)
+                        .issuedAt(new Date(ISSUED_AT * 1000))
+                        .claim("nbf", ISSUED_AT)
+                        .expiration(new Date(EXPIRES_AT * 1000))
+                        .signWith(key, Jwts.SIG.HS512)
+                        .compact(),
+                Jwts.builder()
+                        .id("Pxwqng3XTB6aVS9ujUt8EA")
+                        .subject("user-2")
+                        .claim("rl", "A")
+                        .expiration(new Date(EXPIRES_AT * 1000))
+                        .signWith(key, Jwts.SIG.HS512)
+                        .compact(),
+                Jwts.builder()
+                        .id("refresh-jti")
+                        .claim("fam", "family-1")
+                        .issuedAt(new Date(ISSUED_AT * 1000))
+                        .expiration(new Date(EXPIRES_AT * 1000))
+                        .signWith(key, Jwts.SIG.HS512)
+                        .compact());
+
+        for (String token : tokens)
+        {
+            Optional<VerifiedToken> expected = jjwt(token);
+            assertThat(expected).isPresent();
+            assertSameResult(verifier.verify(token, this::fallback), expected);
+        }
+
+        assertThat(fallbackCalls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("직접 검증한 토큰은 JJWT도 같은 클레임으로 검증 (공백, 리터럴, 알 수 없는 클레임 포함)")
+    void jjwtAgreesWithTokensAcceptedByVerifier()
+    {
+        List<String> tokens = List.of(
+                signed("{ \"sub\" : \"user-1\" ,\n\"role\":\"ROLE_ADMIN\", \"jti\":\"j-1\", \"exp\" : " + EXPIRES_AT + " }"),
+                signed("{\"sub\":\"user-2\",\"rl\":\"U\",\"jti\":\"j-2\",\"active\":true,\"note\":null,\"scope\":\"read\",\"exp\":" + EXPIRES_AT + "}"),
+                signed("{\"jti\":\"j-3\",\"fam\":\"family-1\",\"gen\":0,\"nbf\":" + ISSUED_AT + ",\"exp\":" + EXPIRES_AT + "}"));
+
+        for (String token : tokens)
+        {
+            Optional<VerifiedToken> verified = verifier.verify(token, this::fallback);
+            assertThat(verified).isPresent();
+            assertSameResult(verified, jjwt(token));
+        }
+
+        assertThat(fallbackCalls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("다른 키로 서명했거나 서명을 바꾼 토큰은 거부")
+    void rejectsForgedSignatures()
+    {
+        String token = signed(payload("user-1"));
+
+        byte[] otherKeyBytes = key.getEncoded();
+        otherKeyBytes[0] ^= 1;
+        SecretKey otherKey = Keys.hmacShaKeyFor(otherKeyBytes);
+        String forged = token.substring(0, token.lastIndexOf('.') + 1) + BASE64URL.encodeToString(mac(otherKey, token.substring(0, token.lastIndexOf('.'))));
+
+        int signatureStart = token.lastIndexOf('.') + 1;
+        String flipped = token.substring(0, signatureStart) + otherChar(token.charAt(signatureStart)) + token.substring(signatureStart + 1);
+
+        // 서명은 그대로 두고 페이로드만 바꾼 토큰
+        String tampered = header + "." + segment(payload("admin")) + token.substring(token.lastIndexOf('.'));
+
+        for (String candidate : List.of(forged, flipped, tampered))
+        {
+            assertThat(verifier.verify(candidate, this::fallback)).isEmpty();
+            assertThat(jjwt(candidate)).isEmpty();
+        }
+        assertThat(fallbackCalls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("서명이 잘렸거나 없는 토큰은 거부")
+    void rejectsTruncatedSignatures()
+    {
+        String token = signed(payload("user-1"));
+        String withoutSignature = token.substring(0, token.lastIndexOf('.'));
+
+        List<String> candidates = List.of(
+                token.substring(0, token.length() - 1),
+                token.substring(0, token.length() - 4),
+                withoutSignature + ".",
+                withoutSignature,
+                token + "A");
+
+        for (String candidate : candidates)
+        {
+            assertThat(verifier.verify(candidate, this::fallback)).isEmpty();
+            assertThat(jjwt(candidate)).isEmpty();
+        }
+        assertThat(fallbackCalls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("남는 비트가 0이 아닌 비정규 Base64URL 서명과 페이로드는 거부")
+    void rejectsNonCanonicalBase64()
+    {
+        // HS512 서명 64바이트는 86자로 인코딩되어 마지막 문자에 4비트가 남음
+        String token = signed(payload("user-1"));
+        String nonCanonicalSignature = token.substring(0, token.length() - 1) + setLowestBit(token.charAt(token.length() - 1));
+
+        // 올바르게 서명되었지만 페이로드 세그먼트의 남는 비트가 0이 아닌 토큰
+        String json = payload("user-1");
+        if (json.length() % 3 == 0) json += " ";
+        String canonical = segment(json);
+        String nonCanonicalPayload = signedSegment(canonical.substring(0, canonical.length() - 1) + setLowestBit(canonical.charAt(canonical.length() - 1)));
+
+        assertThat(nonCanonicalSignature).isNotEqualTo(token);
+        assertThat(verifier.verify(nonCanonicalSignature, this::fallback)).isEmpty();
+        assertThat(verifier.verify(nonCanonicalPayload, this::fallback)).isEmpty();
+        assertThat(fallbackCalls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("헤더가 다르면 직접 검증하지 않고 JJWT에 위임")
+    void delegatesOtherHeadersToFallback()
+    {
+        // 같은 키 바이트의 HS256 토큰 (헤더의 alg가 다름)
+        SecretKey hs256Key = new SecretKeySpec(key.getEncoded(), "HmacSHA256");
+        String hs256 = Jwts.builder()
+                .subject("user-1")
+                .expiration(new Date(EXPIRES_AT * 1000))
+                .signWith(hs256Key, Jwts.SIG.HS256)
+                .compact();
+
+        // 서명 없는 토큰 (alg: none)
+        String unsecured = segment("{\"alg\":\"none\"}") + "." + segment(payload("user-1")) + ".";
+
+        Optional<VerifiedToken> delegated = verifier.verify(hs256, token -> {
+            fallbackCalls.incrementAndGet();
+            return Optional.of(new VerifiedToken("from-fallback", null, null, EXPIRES_AT * 1000, 0, null));
+        });
+        assertThat(delegated).get().extracting(VerifiedToken::getSubject).isEqualTo("from-fallback");
+        assertThat(fallbackCalls).hasValue(1);
+
+        assertThat(verifier.verify(unsecured, this::fallback)).isEmpty();
+        assertThat(fallbackCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("같은 헤더라도 서명 길이가 알고리즘과 맞지 않으면 거부")
+    void rejectsSignatureLengthOfOtherAlgorithm()
+    {
+        String signingInput = header + "." + segment(payload("user-1"));
+        String hs256Signature = BASE64URL.encodeToString(mac(new SecretKeySpec(key.getEncoded(), "HmacSHA256"), signingInput));
+
+        assertThat(verifier.verify(signingInput + "." + hs256Signature, this::fallback)).isEmpty();
+        assertThat(fallbackCalls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("exp 시각까지는 유효하고 1ms라도 지나면 거부 (JJWT와 같은 경계)")
+    void expiresAfterExpBoundary()
+    {
+        String token = signed(payload("user-1"));
+
+        now.set(EXPIRES_AT * 1000);
+        assertThat(verifier.verify(token, this::fallback)).isPresent();
+        assertThat(jjwt(token)).isPresent();
+
+        now.set(EXPIRES_AT * 1000 + 1);
+        assertThat(verifier.verify(token, this::fallback)).isEmpty();
+        assertThat(jjwt(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("nbf 시각 전에는 거부하고 nbf 시각부터 유효 (JJWT와 같은 경계)")
+    void rejectsBeforeNbfBoundary()
+    {
+        long notBefore = ISSUED_AT + 60;
+        String token = signed("{\"sub\":\"user-1\",\"jti\":\"j-1\",\"nbf\":" + notBefore + ",\"exp\":" + EXPIRES_AT + "}");
+
+        now.set(notBefore * 1000 - 1);
+        assertThat(verifier.verify(token, this::fallback)).isEmpty();
+        assertThat(jjwt(token)).isEmpty();
+
+        now.set(notBefore * 1000);
+        assertThat(verifier.verify(token, this::fallback)).isPresent();
+        assertThat(jjwt(token)).isPresent();
+    }
+
+    @Test
+    @DisplayName("exp가 없는 토큰은 거부")
+    void rejectsTokenWithoutExp()
+    {
+        assertThat(verifier.verify(signed("{\"sub\":\"user-1\",\"jti\":\"j-1\"}"), this::fallback)).isEmpty();
+        assertThat(fallbackCalls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("이스케이프 문자열, 소수, 중첩 객체/배열이 있는 페이로드는 JJWT에 위임하여 같은 결과")
+    void fallsBackOnUnsupportedJson()
+    {
+        List<String> tokens = List.of(
+                signed("{\"sub\":\"user\\\"1\",\"jti\":\"j-1\",\"exp\":" + EXPIRES_AT + "}"),
+                signed("{\"sub\":\"user-1\",\"jti\":\"j-\\u0031\",\"exp\":" + EXPIRES_AT + "}"),
+                signed("{\"sub\":\"user-1\",\"jti\":\"j-1\",\"exp\":" + EXPIRES_AT + ".5}"),
+                signed("{\"sub\":\"user-1\",\"jti\":\"j-1\",\"exp\":" + EXPIRES_AT + ",\"ext\":{\"a\":1}}"),
+                signed("{\"sub\":\"user-1\",\"jti\":\"j-1\",\"exp\":" + EXPIRES_AT + ",\"aud\":[\"a\",\"b\"]}"));
+
+        for (String token : tokens)
+        {
+            int before = fallbackCalls.get();
+            Optional<VerifiedToken> verified = verifier.verify(token, this::fallback);
+
+            assertThat(fallbackCalls.get()).isEqualTo(before + 1);
+            assertSameResult(verified, jjwt(token));
+        }
+    }
+
+    private Optional<VerifiedToken> fallback(String token)
+    {
+        fallbackCalls.incrementAndGet();
+        return jjwt(token);
+    }
+
+    // JwtTokenProvider의 JJWT 검증과 같은 방식으로 클레임 추출
+    private Optional<VerifiedToken> jjwt(String token)
+    {
+        try
+        {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (claims.getExpiration() == null) return Optional.empty();
+
+            String role = claims.get("role", String.class);
+            if (role == null) role = TokenProfile.decodeRole(claims.get("rl", String.class));
+            Number generation = claims.get("gen", Number.class);
+
+            return Optional.of(new VerifiedToken(
+                    claims.getSubject(),
+                    role,
+                    claims.getId(),
+                    claims.getExpiration().getTime(),
+                    generation == null ? 0 : generation.longValue(),
+                    claims.get("fam", String.class)));
+        }
+        catch (JwtException | IllegalArgumentException e)
+        {
+            return Optional.empty();
+        }
+    }
+
+    private static void assertSameResult(Optional<VerifiedToken> actual, Optional<VerifiedToken> expected)
+    {
+        assertThat(actual.isPresent()).isEqualTo(expected.isPresent());
+        if (expected.isPresent()) assertThat(actual.get()).usingRecursiveComparison().isEqualTo(expected.get());
+    }
+
+    private static String payload(String subject)
+    {
+        return "{\"jti\":\"j-1\",\"sub\":\"" + subject + "\",\"role\":\"ROLE_USER\",\"iat\":" + ISSUED_AT
+                + ",\"nbf\":" + ISSUED_AT + ",\"exp\":" + EXPIRES_AT + "}";
+    }
+
+    private static String segment(String json)
+    {
+        return BASE64URL.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String signed(String json)
+    {
+        return signedSegment(segment(json));
+    }
+
+    private String signedSegment(String payloadSegment)
+    {
+        String signingInput = header + "." + payloadSegment;
+        return signingInput + "." + BASE64URL.encodeToString(mac(key, signingInput));
+    }
+
+    private static byte[] mac(SecretKey signingKey, String signingInput)
+    {
+        try
+        {
+            Mac mac = Mac.getInstance(signingKey.getAlgorithm());
+            mac.init(signingKey);
+            return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        }
+        catch (GeneralSecurityException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static char otherChar(char c)
+    {
+        return c == 'A' ? 'B' : 'A';
+    }
+
+    // 정규 인코딩의 마지막 문자는 남는 비트가 0이므로 가장 낮은 비트를 켜면 같은 바이트의 비정규 표현이 됨
+    private static char setLowestBit(char c)
+    {
+        int value = ALPHABET.indexOf(c);
+        assertThat(value & 1).isZero();
+        return ALPHABET.charAt(value | 1);
+    }
+}
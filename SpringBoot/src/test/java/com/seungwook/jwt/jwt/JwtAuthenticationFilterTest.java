@@ -0,0 +1,191 @@
+package com.seungwook.jwt.jwt;
+
+import com.seungwook.jwt.exception.RedisUnavailableException;
+import com.seungwook.jwt.metrics.AuthMetrics;
+import com.seungwook.jwt.service.auth.RedisSessionService;
+import com.seungwook.jwt.service.auth.TokenGenerationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest
+{
+    private enum Rejected
+    {
+        MALFORMED, FORGED, EXPIRED
+    }
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtTokenProvider jwtProvider = provider(JwtTokenProviders.ACCESS_TOKEN_EXPIRATION);
+    private final RedisSessionService redisService = mock(RedisSessionService.class);
+    private final TokenGenerationService tokenGenerationService = mock(TokenGenerationService.class);
+    private final JwtAuthenticationFilter filter =
+            new JwtAuthenticationFilter(jwtProvider, redisService, tokenGenerationService, new AuthMetrics(meterRegistry));
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final MockFilterChain chain = new MockFilterChain();
+
+    @AfterEach
+    void tearDown()
+    {
+        SecurityContextHolder.clearContext();
+    }
+
+    @ParameterizedTest
+    @EnumSource(Rejected.class)
+    @DisplayName("형태가 잘못되었거나 위조, 만료된 토큰은 무효화 확인 없이 거절 사유만 남기고 다음 필터로 넘김")
+    void rejectsBeforeStateLookup(Rejected kind) throws Exception
+    {
+        MockHttpServletRequest request = request(token(kind));
+
+        filter.doFilter(request, response, chain);
+
+        TokenErrorResponse expected = kind == Rejected.MALFORMED ? TokenErrorResponse.MALFORMED : TokenErrorResponse.INVALID;
+        assertThat(request.getAttribute(JwtAuthenticationFilter.REJECTION_ATTRIBUTE)).isEqualTo(expected);
+        assertThat(outcome(expected.name().toLowerCase())).isEqualTo(1.0);
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(redisService, tokenGenerationService);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "a..c", "a.b.", "a.b.c.d", "a.b.c=", "a+b.c.d"})
+    @DisplayName("형태 확인 경계(빈 부분, 점 세 개, Base64URL이 아닌 문자, 빈 서명)에서 걸린 토큰은 MALFORMED")
+    void malformedBoundaries(String token) throws Exception
+    {
+        MockHttpServletRequest request = request(token);
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(request.getAttribute(JwtAuthenticationFilter.REJECTION_ATTRIBUTE)).isEqualTo(TokenErrorResponse.MALFORMED);
+        assertThat(outcome("malformed")).isEqualTo(1.0);
+        verifyNoInteractions(redisService, tokenGenerationService);
+    }
+
+    @Test
+    @DisplayName("최대 길이를 넘는 토큰은 서명 검증 없이 MALFORMED")
+    void oversizedTokenIsMalformed() throws Exception
+    {
+        String valid = jwtProvider.createAccessToken("user-1", "ROLE_USER");
+        MockHttpServletRequest request = request(valid + "A".repeat(TokenFormat.MAX_LENGTH - valid.length() + 1));
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(request.getAttribute(JwtAuthenticationFilter.REJECTION_ATTRIBUTE)).isEqualTo(TokenErrorResponse.MALFORMED);
+        verifyNoInteractions(redisService, tokenGenerationService);
+    }
+
+    @Test
+    @DisplayName("무효화된 토큰은 REVOKED 응답으로 거절하고 다음 필터를 호출하지 않음")
+    void rejectsRevokedToken() throws Exception
+    {
+        String token = jwtProvider.createAccessToken("user-1", "ROLE_USER");
+        when(redisService.isBlacklisted(token, "user-1")).thenReturn(true);
+
+        filter.doFilter(request(token), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getContentAsByteArray()).isEqualTo(TokenErrorResponse.REVOKED.body());
+        assertThat(outcome("revoked")).isEqualTo(1.0);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    @DisplayName("사용자 전체 무효화 이전 세대의 토큰도 REVOKED")
+    void rejectsStaleGeneration() throws Exception
+    {
+        String token = jwtProvider.createAccessToken("user-1", "ROLE_USER");
+        when(redisService.isBlacklisted(token, "user-1")).thenReturn(false);
+        when(tokenGenerationService.isCurrent(any())).thenReturn(false);
+
+        filter.doFilter(request(token), response, chain);
+
+        assertThat(response.getContentAsByteArray()).isEqualTo(TokenErrorResponse.REVOKED.body());
+        assertThat(outcome("revoked")).isEqualTo(1.0);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    @DisplayName("무효화 여부를 확인할 수 없으면 503과 Retry-After로 거절")
+    void rejectsWhenStateIsUnavailable() throws Exception
+    {
+        String token = jwtProvider.createAccessToken("user-1", "ROLE_USER");
+        when(redisService.isBlacklisted(anyString(), anyString())).thenThrow(new RedisUnavailableException("down"));
+
+        filter.doFilter(request(token), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(response.getContentAsByteArray()).isEqualTo(TokenErrorResponse.UNAVAILABLE.body());
+        assertThat(outcome("unavailable")).isEqualTo(1.0);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    @DisplayName("유효한 토큰은 인증 정보를 설정하고 다음 필터로 넘김")
+    void authenticatesValidToken() throws Exception
+    {
+        String token = jwtProvider.createAccessToken("user-1", "ROLE_USER");
+        when(redisService.isBlacklisted(token, "user-1")).thenReturn(false);
+        when(tokenGenerationService.isCurrent(any())).thenReturn(true);
+
+        MockHttpServletRequest request = request(token);
+        filter.doFilter(request, response, chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("user-1");
+        assertThat(request.getAttribute(JwtAuthenticationFilter.REJECTION_ATTRIBUTE)).isNull();
+        assertThat(outcome("valid")).isEqualTo(1.0);
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+
+    private String token(Rejected kind)
+    {
+        return switch (kind)
+        {
+            case MALFORMED -> "not-a-jwt";
+            case FORGED ->
+            {
+                String token = jwtProvider.createAccessToken("user-1", "ROLE_USER");
+                int signature = token.lastIndexOf('.') + 1;
+                char replaced = token.charAt(signature) == 'A' ? 'B' : 'A';
+                yield token.substring(0, signature) + replaced + token.substring(signature + 1);
+            }
+            // 같은 키로 서명했지만 유효기간이 이미 지난 토큰
+            case EXPIRED -> provider(-TimeUnit.MINUTES.toMillis(1)).createAccessToken("user-1", "ROLE_USER");
+        };
+    }
+
+    private double outcome(String outcome)
+    {
+        return meterRegistry.get("auth.filter").tag("outcome", outcome).counter().count();
+    }
+
+    private static MockHttpServletRequest request(String token)
+    {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/user");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private static JwtTokenProvider provider(long accessTokenExpiration)
+    {
+        return JwtTokenProviders.forTest(new VerifiedTokenCache(100, new SimpleMeterRegistry()), accessTokenExpiration);
+    }
+}
@@ -0,0 +1,92 @@
+package com.seungwook.jwt.jwt;
+
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTest
+{
+    private static final byte[] SECRET = JwtTokenProviders.secret();
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    @DisplayName("compact 프로필로 발급한 토큰은 compact 프로필에서 검증")
+    void compactProfileVerifiesOwnTokens(boolean fastVerify)
+    {
+        JwtTokenProvider provider = JwtTokenProviders.forTest(TokenProfile.COMPACT, fastVerify, "");
+        String token = provider.createAccessToken("user-1", "ROLE_USER");
+
+        assertThat(header(token)).contains("HS256");
+        assertThat(provider.verify(token)).get().extracting(VerifiedToken::getRole).isEqualTo("ROLE_USER");
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    @DisplayName("STANDARD 프로필은 기한이 지정되지 않으면 compact 알고리즘 토큰을 거부")
+    void standardProfileRejectsCompactAlgorithm(boolean fastVerify)
+    {
+        String token = JwtTokenProviders.forTest(TokenProfile.COMPACT, fastVerify, "").createAccessToken("user-1", "ROLE_USER");
+
+        assertThat(JwtTokenProviders.forTest(TokenProfile.STANDARD, fastVerify, "").verify(token)).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    @DisplayName("accept-until 기한 안에서만 STANDARD 프로필이 compact 알고리즘 토큰을 받음")
+    void acceptsCompactAlgorithmUntilDeadline(boolean fastVerify)
+    {
+        String token = JwtTokenProviders.forTest(TokenProfile.COMPACT, fastVerify, "").createAccessToken("user-1", "ROLE_USER");
+
+        String future = Instant.now().plusSeconds(3600).toString();
+        String past = Instant.now().minusSeconds(1).toString();
+
+        assertThat(JwtTokenProviders.forTest(TokenProfile.STANDARD, fastVerify, future).verify(token)).isPresent();
+        assertThat(JwtTokenProviders.forTest(TokenProfile.STANDARD, fastVerify, past).verify(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("compact 토큰은 jwt.secret이 아닌 파생 키로 서명 (원래 비밀키로 만든 HS256 토큰은 거부)")
+    void compactKeyIsNotTheStandardSecret()
+    {
+        JwtTokenProvider provider = JwtTokenProviders.forTest(TokenProfile.COMPACT, true, "");
+        String forged = Jwts.builder()
+                .id("jti-1")
+                .subject("user-1")
+                .claim("rl", "A")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(new SecretKeySpec(SECRET, "HmacSHA256"), Jwts.SIG.HS256)
+                .compact();
+
+        assertThat(provider.verify(forged)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("HS512와 compact 알고리즘 외의 알고리즘은 같은 비밀키로 서명했어도 거부")
+    void rejectsOtherAlgorithms()
+    {
+        JwtTokenProvider provider = JwtTokenProviders.forTest(TokenProfile.STANDARD, true, "");
+        String hs384 = Jwts.builder()
+                .id("jti-1")
+                .subject("user-1")
+                .claim("role", "ROLE_ADMIN")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(new SecretKeySpec(SECRET, "HmacSHA384"), Jwts.SIG.HS384)
+                .compact();
+
+        assertThat(provider.verify(hs384)).isEmpty();
+    }
+
+    private static String header(String token)
+    {
+        return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+    }
+}
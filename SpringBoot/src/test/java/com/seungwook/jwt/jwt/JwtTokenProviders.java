@@ -0,0 +1,62 @@
+package com.seungwook.jwt.jwt;
+
+import com.seungwook.jwt.metrics.AuthMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 테스트용 JwtTokenProvider 생성 (설정 값 주입과 init 호출을 한곳에서)
+ */
+public final class JwtTokenProviders
+{
+    public static final long ACCESS_TOKEN_EXPIRATION = TimeUnit.MINUTES.toMillis(15);
+    public static final long REFRESH_TOKEN_EXPIRATION = TimeUnit.DAYS.toMillis(14);
+
+    private JwtTokenProviders()
+    {
+    }
+
+    /**
+     * 모든 테스트 provider가 서명에 쓰는 64바이트 키 (호출할 때마다 새 배열)
+     */
+    public static byte[] secret()
+    {
+        byte[] secret = new byte[64];
+        for (int i = 0; i < secret.length; i++) secret[i] = (byte) (i * 13 + 5);
+        return secret;
+    }
+
+    public static JwtTokenProvider forTest(TokenProfile profile, boolean fastVerify, String acceptUntil)
+    {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return forTest(new VerifiedTokenCache(100, meterRegistry), ACCESS_TOKEN_EXPIRATION, profile, fastVerify, acceptUntil);
+    }
+
+    /**
+     * 검증 캐시를 다른 서비스와 공유하거나 액세스 토큰 유효기간을 바꿔야 하는 경우 (standard 프로필, 전용 검증기 사용)
+     */
+    public static JwtTokenProvider forTest(VerifiedTokenCache verifiedTokenCache, long accessTokenExpiration)
+    {
+        return forTest(verifiedTokenCache, accessTokenExpiration, TokenProfile.STANDARD, true, "");
+    }
+
+    private static JwtTokenProvider forTest(VerifiedTokenCache verifiedTokenCache, long accessTokenExpiration,
+                                            TokenProfile profile, boolean fastVerify, String acceptUntil)
+    {
+        JwtTokenProvider provider = new JwtTokenProvider(verifiedTokenCache, new AuthMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(provider, "secretKey", Base64.getEncoder().encodeToString(secret()));
+        ReflectionTestUtils.setField(provider, "accessTokenExpiration", accessTokenExpiration);
+        ReflectionTestUtils.setField(provider, "refreshTokenExpiration", REFRESH_TOKEN_EXPIRATION);
+        ReflectionTestUtils.setField(provider, "fastVerifyEnabled", fastVerify);
+        ReflectionTestUtils.setField(provider, "fastMintEnabled", true);
+        ReflectionTestUtils.setField(provider, "tokenProfile", profile);
+        ReflectionTestUtils.setField(provider, "compactAlgorithm", "HS256");
+        ReflectionTestUtils.setField(provider, "compactSecret", "");
+        ReflectionTestUtils.setField(provider, "compactAcceptUntil", acceptUntil);
+        provider.init();
+        return provider;
+    }
+}
@@ -0,0 +1,93 @@
+package com.seungwook.jwt.jwt;
+
+import com.seungwook.jwt.exception.RedisUnavailableException;
+import com.seungwook.jwt.metrics.AuthMetrics;
+import com.seungwook.jwt.service.auth.ReactiveTokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReactiveJwtAuthenticationFilterTest
+{
+    private static final String TOKEN = "header.payload.signature";
+
+    private final JwtTokenProvider jwtProvider = mock(JwtTokenProvider.class);
+    private final ReactiveTokenService reactiveTokenService = mock(ReactiveTokenService.class);
+    private final ReactiveJwtAuthenticationFilter filter =
+            new ReactiveJwtAuthenticationFilter(jwtProvider, reactiveTokenService, new AuthMetrics(new SimpleMeterRegistry()));
+
+    private final AtomicBoolean chainCalled = new AtomicBoolean();
+    private MockServerWebExchange exchange;
+
+    @BeforeEach
+    void setUp()
+    {
+        VerifiedToken verified = new VerifiedToken("user-1", "ROLE_USER", "jti-1", System.currentTimeMillis() + 60_000, 0, null);
+        when(jwtProvider.verify(TOKEN)).thenReturn(Optional.of(verified));
+
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/user")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN));
+    }
+
+    @Test
+    @DisplayName("무효화 여부를 확인할 수 없으면 503으로 거절하고 다음 필터를 호출하지 않음")
+    void rejectsWhenLookupIsUnavailable()
+    {
+        when(reactiveTokenService.isRevoked(eq(TOKEN), any())).thenReturn(Mono.error(new RedisUnavailableException("down")));
+
+        filter.filter(exchange, chain(Mono.empty())).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(chainCalled).isFalse();
+    }
+
+    @Test
+    @DisplayName("인증 후 다음 필터나 핸들러에서 난 Redis 오류는 인증 실패(503)로 바꾸지 않고 그대로 전파")
+    void propagatesDownstreamRedisErrors()
+    {
+        when(reactiveTokenService.isRevoked(eq(TOKEN), any())).thenReturn(Mono.just(false));
+        RedisUnavailableException downstream = new RedisUnavailableException("handler");
+
+        assertThatThrownBy(() -> filter.filter(exchange, chain(Mono.error(downstream))).block()).isSameAs(downstream);
+        assertThat(chainCalled).isTrue();
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+    }
+
+    @Test
+    @DisplayName("무효화된 토큰은 401로 거절")
+    void rejectsRevokedToken()
+    {
+        when(reactiveTokenService.isRevoked(eq(TOKEN), any())).thenReturn(Mono.just(true));
+
+        filter.filter(exchange, chain(Mono.empty())).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(chainCalled).isFalse();
+    }
+
+    private WebFilterChain chain(Mono<Void> result)
+    {
+        return filtered -> {
+            chainCalled.set(true);
+            return result;
+        };
+    }
+}
@@ -0,0 +1,115 @@
+package com.seungwook.jwt.jwt;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScratchPoolTest
+{
+    private final AtomicInteger created = new AtomicInteger();
+    private final ScratchPool<Object> pool = new ScratchPool<>(() -> {
+        created.incrementAndGet();
+        return new Object();
+    });
+
+    @Test
+    @DisplayName("플랫폼 스레드는 스레드마다 하나의 객체를 계속 사용 (반납은 무시)")
+    void platformThreadReusesThreadLocalInstance() throws Exception
+    {
+        Object first = pool.acquire();
+        pool.release(first);
+        Object second = pool.acquire();
+
+        assertThat(second).isSameAs(first);
+        assertThat(created).hasValue(1);
+
+        // 다른 스레드는 자신의 객체를 받음
+        Object other = onPlatformThread(pool::acquire);
+        assertThat(other).isNotSameAs(first);
+        assertThat(created).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("가상 스레드는 공유 대기열에서 빌리고 반납한 객체를 다른 가상 스레드가 재사용")
+    void virtualThreadsShareReleasedInstances() throws Exception
+    {
+        Object released = onVirtualThread(() -> {
+            Object item = pool.acquire();
+            pool.release(item);
+            return item;
+        });
+
+        Object reused = onVirtualThread(pool::acquire);
+
+        assertThat(reused).isSameAs(released);
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("가상 스레드에서 반납하지 않고 동시에 빌리면 새 객체를 만듦")
+    void virtualThreadCreatesWhenQueueIsEmpty() throws Exception
+    {
+        List<Object> borrowed = onVirtualThread(() -> List.of(pool.acquire(), pool.acquire()));
+
+        assertThat(borrowed.get(0)).isNotSameAs(borrowed.get(1));
+        assertThat(created).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("반납된 객체는 상한(프로세서 수 x 2)까지만 보관")
+    void dropsReleasesBeyondCapacity() throws Exception
+    {
+        int capacity = Runtime.getRuntime().availableProcessors() * 2;
+
+        onVirtualThread(() -> {
+            List<Object> items = new ArrayList<>();
+            for (int i = 0; i < capacity + 4; i++)
+            {
+                items.add(pool.acquire());
+            }
+            items.forEach(pool::release);
+            return null;
+        });
+
+        int before = created.get();
+        onVirtualThread(() -> {
+            for (int i = 0; i < capacity + 4; i++)
+            {
+                pool.acquire();
+            }
+            return null;
+        });
+
+        // 보관된 만큼만 재사용되고 나머지는 새로 만듦
+        assertThat(created.get() - before).isEqualTo(4);
+    }
+
+    private static <V> V onVirtualThread(Callable<V> task) throws Exception
+    {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            return executor.submit(task).get();
+        }
+    }
+
+    private static <V> V onPlatformThread(Callable<V> task) throws Exception
+    {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            return executor.submit(task).get();
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.seungwook.jwt.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest
+{
+    private final AtomicLong nanos = new AtomicLong();
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp()
+    {
+        cache = new VerifiedTokenCache(100, new SimpleMeterRegistry(), nanos::get);
+    }
+
+    @Test
+    @DisplayName("항목은 토큰마다 자신의 exp 시각에 만료됨")
+    void expiresEachEntryAtItsOwnExp()
+    {
+        long now = System.currentTimeMillis();
+        CountingVerifier shortLived = new CountingVerifier(verified("short", now + TimeUnit.MINUTES.toMillis(1)));
+        CountingVerifier longLived = new CountingVerifier(verified("long", now + TimeUnit.MINUTES.toMillis(30)));
+
+        cache.get("short-token", shortLived);
+        cache.get("long-token", longLived);
+
+        // 짧은 토큰의 exp만 지난 시점
+        advance(TimeUnit.MINUTES.toNanos(2));
+
+        cache.get("short-token", shortLived);
+        cache.get("long-token", longLived);
+
+        assertThat(shortLived.calls()).isEqualTo(2);
+        assertThat(longLived.calls()).isEqualTo(1);
+
+        // 긴 토큰도 exp가 지나면 다시 검증
+        advance(TimeUnit.MINUTES.toNanos(30));
+        cache.get("long-token", longLived);
+
+        assertThat(longLived.calls()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("exp 전에는 다시 검증하지 않고 캐시의 클레임을 반환")
+    void returnsCachedClaimsBeforeExp()
+    {
+        VerifiedToken token = verified("user", System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(10));
+        CountingVerifier verifier = new CountingVerifier(token);
+
+        cache.get("token", verifier);
+        advance(TimeUnit.MINUTES.toNanos(9));
+        Optional<VerifiedToken> cached = cache.get("token", verifier);
+
+        assertThat(cached).containsSame(token);
+        assertThat(verifier.calls()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("검증에 실패한 결과는 캐시하지 않음")
+    void doesNotCacheFailures()
+    {
+        CountingVerifier verifier = new CountingVerifier(null);
+
+        assertThat(cache.get("forged", verifier)).isEmpty();
+        assertThat(cache.get("forged", verifier)).isEmpty();
+
+        assertThat(verifier.calls()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("무효화한 토큰은 다시 검증")
+    void invalidateForcesReverification()
+    {
+        CountingVerifier verifier = new CountingVerifier(verified("user", System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(10)));
+
+        cache.get("token", verifier);
+        cache.invalidate("token");
+        cache.get("token", verifier);
+
+        assertThat(verifier.calls()).isEqualTo(2);
+    }
+
+    private void advance(long delta)
+    {
+        nanos.addAndGet(delta);
+    }
+
+    private static VerifiedToken verified(String subject, long expiration)
+    {
+        return new VerifiedToken(subject, "ROLE_USER", subject + "-jti", expiration, 0, null);
+    }
+
+    private static final class CountingVerifier implements Function<String, Optional<VerifiedToken>>
+    {
+        private final VerifiedToken result;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CountingVerifier(VerifiedToken result)
+        {
+            this.result = result;
+        }
+
+        @Override
+        public Optional<VerifiedToken> apply(String token)
+        {
+            calls.incrementAndGet();
+            return Optional.ofNullable(result);
+        }
+
+        int calls()
+        {
+            return calls.get();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.seungwook.jwt.service;
+
+import com.seungwook.jwt.domain.User;
+import com.seungwook.jwt.enumeration.UserRole;
+import com.seungwook.jwt.metrics.AuthMetrics;
+import com.seungwook.jwt.repository.UserRepository;
+import com.seungwook.jwt.service.credential.CredentialVerifier;
+import com.seungwook.jwt.service.credential.HmacCredentialVerifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest
+{
+    private static final String RAW_UUID = "5f0c3c1e-6d1a-4c55-9d0e-1b8f6a7e2c41";
+
+    private final LegacyVerifier legacy = new LegacyVerifier();
+    private final CredentialVerifier credentialVerifier = new HmacCredentialVerifier(pepper(), legacy);
+    private UserRepository userRepository;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp()
+    {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findBySearchableHash(anyString())).thenReturn(Optional.empty());
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        userService = new UserService(userRepository, credentialVerifier, new AuthMetrics(meterRegistry), meterRegistry, 100, 600_000);
+    }
+
+    @Test
+    @DisplayName("검증을 통과한 사용자는 캐시되어 다음 조회에서 DB와 해시 검증을 생략")
+    void cachesVerifiedUser()
+    {
+        User stored = user(credentialVerifier.encode(RAW_UUID), credentialVerifier.index(RAW_UUID));
+        when(userRepository.findBySearchableHash(credentialVerifier.index(RAW_UUID))).thenReturn(Optional.of(stored));
+
+        assertThat(userService.findByRawUuid(RAW_UUID)).containsSame(stored);
+        assertThat(userService.findByRawUuid(RAW_UUID)).containsSame(stored);
+
+        verify(userRepository, times(1)).findBySearchableHash(anyString());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    @DisplayName("캐시를 무효화하면 다시 DB에서 조회")
+    void invalidateCacheReloadsFromRepository()
+    {
+        User stored = user(credentialVerifier.encode(RAW_UUID), credentialVerifier.index(RAW_UUID));
+        when(userRepository.findBySearchableHash(credentialVerifier.index(RAW_UUID))).thenReturn(Optional.of(stored));
+
+        userService.findByRawUuid(RAW_UUID);
+        userService.invalidateCache(RAW_UUID);
+        userService.findByRawUuid(RAW_UUID);
+
+        verify(userRepository, times(2)).findBySearchableHash(credentialVerifier.index(RAW_UUID));
+    }
+
+    @Test
+    @DisplayName("검증에 실패한 사용자는 캐시하지 않음")
+    void doesNotCacheFailedMatch()
+    {
+        User stored = user(credentialVerifier.encode("다른-uuid"), credentialVerifier.index(RAW_UUID));
+        when(userRepository.findBySearchableHash(credentialVerifier.index(RAW_UUID))).thenReturn(Optional.of(stored));
+
+        assertThat(userService.findByRawUuid(RAW_UUID)).isEmpty();
+        assertThat(userService.findByRawUuid(RAW_UUID)).isEmpty();
+
+        verify(userRepository, times(2)).findBySearchableHash(credentialVerifier.index(RAW_UUID));
+    }
+
+    @Test
+    @DisplayName("이전 방식의 검색용 해시로 찾은 사용자는 현재 방식으로 재저장 후 캐시")
+    void upgradesUserFoundByLegacyIndex()
+    {
+        User legacyUser = user(legacy.encode(RAW_UUID), legacy.index(RAW_UUID));
+        when(userRepository.findBySearchableHash(legacy.index(RAW_UUID))).thenReturn(Optional.of(legacyUser));
+
+        Optional<User> found = userService.findByRawUuid(RAW_UUID);
+
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).save(saved.capture());
+        assertThat(saved.getValue().getId()).isEqualTo(legacyUser.getId());
+        assertThat(saved.getValue().getUuid()).isEqualTo(credentialVerifier.encode(RAW_UUID));
+        assertThat(saved.getValue().getSearchableHash()).isEqualTo(credentialVerifier.index(RAW_UUID));
+        assertThat(found).containsSame(saved.getValue());
+
+        // 재저장된 사용자가 캐시되어 다시 업그레이드하지 않음
+        userService.findByRawUuid(RAW_UUID);
+        verify(userRepository, times(1)).save(any(User.class));
+    }
+
+    @Test
+    @DisplayName("업그레이드 저장에 실패해도 로그인은 유지되고 다음 조회에서 재시도")
+    void keepsLoginWhenUpgradeFails()
+    {
+        User legacyUser = user(legacy.encode(RAW_UUID), legacy.index(RAW_UUID));
+        when(userRepository.findBySearchableHash(legacy.index(RAW_UUID))).thenReturn(Optional.of(legacyUser));
+        when(userRepository.save(any(User.class))).thenThrow(new IllegalStateException("DB 오류"));
+
+        assertThat(userService.findByRawUuid(RAW_UUID)).containsSame(legacyUser);
+
+        // 이전 방식 그대로 캐시되므로 캐시 무효화 후 다시 업그레이드 시도
+        userService.invalidateCache(RAW_UUID);
+        userService.findByRawUuid(RAW_UUID);
+        verify(userRepository, times(2)).save(any(User.class));
+    }
+
+    @Test
+    @DisplayName("이전 방식으로 저장되었지만 검증에 실패하면 업그레이드하지 않음")
+    void doesNotUpgradeOnLegacyMismatch()
+    {
+        User legacyUser = user(legacy.encode("다른-uuid"), legacy.index(RAW_UUID));
+        when(userRepository.findBySearchableHash(legacy.index(RAW_UUID))).thenReturn(Optional.of(legacyUser));
+
+        assertThat(userService.findByRawUuid(RAW_UUID)).isEmpty();
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    private static User user(String uuid, String searchableHash)
+    {
+        return User.builder()
+                .id(7L)
+                .uuid(uuid)
+                .searchableHash(searchableHash)
+                .role(UserRole.USER)
+                .build();
+    }
+
+    private static byte[] pepper()
+    {
+        byte[] pepper = new byte[32];
+        Arrays.fill(pepper, (byte) 7);
+        return pepper;
+    }
+
+    // 이전 저장 방식 대역 (BCrypt 대신 접두사만 붙인 값)
+    private static final class LegacyVerifier implements CredentialVerifier
+    {
+        @Override
+        public String index(String rawUuid)
+        {
+            return "legacy-index:" + rawUuid;
+        }
+
+        @Override
+        public String encode(String rawUuid)
+        {
+            return "legacy:" + rawUuid;
+        }
+
+        @Override
+        public boolean matches(String rawUuid, String encoded)
+        {
+            return encoded.equals(encode(rawUuid));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.seungwook.jwt.service.auth;
+
+import com.seungwook.jwt.jwt.VerifiedToken;
+import com.seungwook.jwt.service.store.TokenStateStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenGenerationServiceTest
+{
+    private static final String USER = "user-1";
+
+    private TokenStateStore tokenStateStore;
+    private TokenGenerationService service;
+
+    @BeforeEach
+    void setUp()
+    {
+        tokenStateStore = mock(TokenStateStore.class);
+        when(tokenStateStore.generation(USER)).thenReturn(0L);
+        service = new TokenGenerationService(tokenStateStore, new SimpleMeterRegistry(), 100, 30_000, 900_000, 1_209_600_000);
+    }
+
+    @Test
+    @DisplayName("세대를 올리면 이전 세대로 발급된 토큰만 거부")
+    void bumpRejectsOlderGenerations()
+    {
+        when(tokenStateStore.bumpGeneration(USER, 1_209_600_000)).thenReturn(1L);
+
+        assertThat(service.isCurrent(token(USER, 0))).isTrue();
+
+        assertThat(service.bump(USER)).isEqualTo(1);
+        assertThat(service.isCurrent(token(USER, 0))).isFalse();
+        assertThat(service.isCurrent(token(USER, 1))).isTrue();
+        assertThat(service.isCurrent(token(USER, 2))).isTrue();
+    }
+
+    @Test
+    @DisplayName("사용자가 없는 토큰(리프레시 토큰)은 세대를 확인하지 않음")
+    void tokensWithoutSubjectAreAlwaysCurrent()
+    {
+        assertThat(service.isCurrent(token(null, 0))).isTrue();
+        verify(tokenStateStore, times(0)).generation(null);
+    }
+
+    @Test
+    @DisplayName("늦게 도착한 이전 세대 이벤트는 현재 세대를 낮추지 않음")
+    void dropsOutOfOrderEvents()
+    {
+        service.onMessage(message("3:" + USER), null);
+        service.onMessage(message("2:" + USER), null);
+        service.onMessage(message("1:" + USER), null);
+
+        assertThat(service.current(USER)).isEqualTo(3);
+        assertThat(service.isCurrent(token(USER, 2))).isFalse();
+
+        service.onMessage(message("4:" + USER), null);
+        assertThat(service.current(USER)).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("직접 올린 세대보다 늦게 도착한 이전 이벤트도 무시")
+    void eventOlderThanLocalBumpIsIgnored()
+    {
+        when(tokenStateStore.bumpGeneration(USER, 1_209_600_000)).thenReturn(5L);
+
+        service.bump(USER);
+        service.onMessage(message("4:" + USER), null);
+
+        assertThat(service.current(USER)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("저장소에서 읽은 값보다 이벤트가 먼저 반영되었으면 더 큰 값 유지")
+    void rememberKeepsTheLargerGeneration()
+    {
+        service.onMessage(message("6:" + USER), null);
+
+        assertThat(service.remember(USER, 4)).isEqualTo(6);
+        assertThat(service.cached(USER)).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("형식이 잘못된 이벤트는 무시")
+    void ignoresMalformedEvents()
+    {
+        service.onMessage(message(USER), null);
+        service.onMessage(message(":" + USER), null);
+        service.onMessage(message("abc:" + USER), null);
+
+        assertThat(service.cached(USER)).isNull();
+    }
+
+    @Test
+    @DisplayName("저장소를 확인할 수 없으면 0으로 간주하되 캐시하지 않고 다음에 다시 조회")
+    void doesNotCacheUnavailableStore()
+    {
+        when(tokenStateStore.generation(USER)).thenReturn(null, 2L);
+
+        assertThat(service.current(USER)).isZero();
+        assertThat(service.cached(USER)).isNull();
+
+        assertThat(service.current(USER)).isEqualTo(2);
+        assertThat(service.current(USER)).isEqualTo(2);
+        verify(tokenStateStore, times(2)).generation(USER);
+    }
+
+    @Test
+    @DisplayName("여러 사용자 조회는 캐시에 없는 사용자만 저장소에서 한 번에 조회")
+    void batchLoadsOnlyMissingUsers()
+    {
+        service.onMessage(message("2:cached"), null);
+        when(tokenStateStore.generations(anyCollection())).thenReturn(Map.of("missing", 1L));
+
+        Map<String, Long> generations = service.current(List.of("cached", "missing", "unknown"));
+
+        assertThat(generations).containsEntry("cached", 2L).containsEntry("missing", 1L).containsEntry("unknown", 0L);
+        verify(tokenStateStore).generations(List.of("missing", "unknown"));
+    }
+
+    private static VerifiedToken token(String subject, long generation)
+    {
+        return new VerifiedToken(subject, "ROLE_USER", "jti", System.currentTimeMillis() + 60_000, generation, null);
+    }
+
+    private static DefaultMessage message(String body)
+    {
+        return new DefaultMessage(TokenGenerationService.CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,125 @@
+package com.seungwook.jwt.service.auth;
+
+import com.seungwook.jwt.dto.auth.response.TokenIntrospection;
+import com.seungwook.jwt.enumeration.UserRole;
+import com.seungwook.jwt.jwt.JwtTokenProvider;
+import com.seungwook.jwt.jwt.JwtTokenProviders;
+import com.seungwook.jwt.jwt.TokenProfile;
+import com.seungwook.jwt.jwt.VerifiedTokenCache;
+import com.seungwook.jwt.service.store.InMemoryTokenStateStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenServiceIntrospectTest
+{
+    private enum Kind
+    {
+        VALID, REVOKED, STALE_GENERATION, MALFORMED, FORGED, NULL
+    }
+
+    private JwtTokenProvider jwtTokenProvider;
+    private TokenGenerationService tokenGenerationService;
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp()
+    {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(1_000, meterRegistry);
+        InMemoryTokenStateStore tokenStateStore = new InMemoryTokenStateStore(meterRegistry, 4, 64, 1000);
+
+        jwtTokenProvider = JwtTokenProviders.forTest(verifiedTokenCache, JwtTokenProviders.ACCESS_TOKEN_EXPIRATION);
+
+        tokenGenerationService = new TokenGenerationService(tokenStateStore, meterRegistry, 1_000, 30_000,
+                TimeUnit.MINUTES.toMillis(15), TimeUnit.DAYS.toMillis(14));
+        tokenService = new TokenService(new RedisSessionService(tokenStateStore, verifiedTokenCache), tokenStateStore,
+                jwtTokenProvider, tokenGenerationService);
+    }
+
+    // 병렬 검증 기준(32개)의 양쪽에서 같은 결과
+    @ParameterizedTest(name = "토큰 {0}개")
+    @ValueSource(ints = {12, 31, 32, 96})
+    @DisplayName("유효, 무효화, 이전 세대, 잘못된 형식, 위조, null 토큰이 섞여 있어도 같은 순서로 각각 판정")
+    void introspectsMixedBatchInOrder(int size)
+    {
+        Kind[] kinds = Kind.values();
+        List<String> tokens = new ArrayList<>();
+        List<Kind> expected = new ArrayList<>();
+        for (int i = 0; i < size; i++)
+        {
+            Kind kind = kinds[i % kinds.length];
+            tokens.add(token(kind, "user-" + i));
+            expected.add(kind);
+        }
+
+        List<TokenIntrospection> results = tokenService.introspect(tokens);
+
+        assertThat(results).hasSize(size);
+        for (int i = 0; i < size; i++)
+        {
+            TokenIntrospection result = results.get(i);
+            if (expected.get(i) == Kind.VALID)
+            {
+                assertThat(result.isActive()).as("%d: %s", i, expected.get(i)).isTrue();
+                assertThat(result.getUuid()).isEqualTo("user-" + i);
+                assertThat(result.getRole()).isEqualTo("ROLE_USER");
+                assertThat(result.getExpiresIn()).isPositive();
+            }
+            else
+            {
+                assertThat(result.isActive()).as("%d: %s", i, expected.get(i)).isFalse();
+                assertThat(result.getUuid()).isNull();
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "토큰 {0}개")
+    @ValueSource(ints = {4, 40})
+    @DisplayName("검증을 통과한 토큰이 없으면 모두 비활성")
+    void allInvalidBatch(int size)
+    {
+        String[] tokens = new String[size];
+        Arrays.fill(tokens, "not-a-jwt");
+
+        assertThat(tokenService.introspect(Arrays.asList(tokens)))
+                .hasSize(size)
+                .allSatisfy(result -> assertThat(result.isActive()).isFalse());
+    }
+
+    private String token(Kind kind, String uuid)
+    {
+        return switch (kind)
+        {
+            case VALID -> tokenService.createAccessToken(uuid, UserRole.USER);
+            case REVOKED ->
+            {
+                String token = tokenService.createAccessToken(uuid, UserRole.USER);
+                tokenService.blacklistToken(token, jwtTokenProvider.verify(token).orElseThrow());
+                yield token;
+            }
+            case STALE_GENERATION ->
+            {
+                String token = tokenService.createAccessToken(uuid, UserRole.USER);
+                tokenGenerationService.bump(uuid);
+                yield token;
+            }
+            case MALFORMED -> "not-a-jwt";
+            case FORGED ->
+            {
+                String token = tokenService.createAccessToken(uuid, UserRole.USER);
+                yield token.substring(0, token.lastIndexOf('.') + 1) + "AAAA" + token.substring(token.lastIndexOf('.') + 5);
+            }
+            case NULL -> null;
+        };
+    }
+}
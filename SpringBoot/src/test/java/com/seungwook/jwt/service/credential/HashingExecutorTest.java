@@ -0,0 +1,138 @@
+package com.seungwook.jwt.service.credential;
+
+import com.seungwook.jwt.exception.HashingCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class HashingExecutorTest
+{
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+    private HashingExecutor hashingExecutor;
+
+    @AfterEach
+    void tearDown()
+    {
+        release.countDown();
+        callers.shutdownNow();
+        hashingExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("스레드와 대기열이 모두 차면 다음 요청은 기다리지 않고 거절되고 거절 횟수가 증가")
+    void rejectsWhenPoolAndQueueAreFull() throws Exception
+    {
+        hashingExecutor = new HashingExecutor(1, 1, 10_000, meterRegistry);
+
+        Future<String> running = callers.submit(() -> hashingExecutor.execute(this::blockUntilReleased));
+        await().until(() -> gauge("auth.hash.queue.depth") == 0 && meterRegistry.get("auth.hash.wait").timer().count() == 1);
+        Future<String> queued = callers.submit(() -> hashingExecutor.execute(() -> "queued"));
+        await().until(() -> gauge("auth.hash.queue.depth") == 1);
+
+        long startedAt = System.nanoTime();
+        assertThatThrownBy(() -> hashingExecutor.execute(() -> "rejected")).isInstanceOf(HashingCapacityExceededException.class);
+        assertThat(System.nanoTime() - startedAt).isLessThan(TimeUnit.SECONDS.toNanos(1));
+        assertThat(meterRegistry.get("auth.hash.rejected").counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThat(queued.get(10, TimeUnit.SECONDS)).isEqualTo("queued");
+    }
+
+    @Test
+    @DisplayName("최대 대기 시간을 넘기면 대기열의 작업을 취소하고 503 예외 발생")
+    void cancelsQueuedTaskAfterMaxWait() throws Exception
+    {
+        hashingExecutor = new HashingExecutor(1, 1, 200, meterRegistry);
+        Future<String> running = callers.submit(() -> hashingExecutor.execute(this::blockUntilReleased));
+        await().until(() -> meterRegistry.get("auth.hash.wait").timer().count() == 1);
+
+        AtomicBoolean ran = new AtomicBoolean();
+        assertThatThrownBy(() -> hashingExecutor.execute(() -> {
+            ran.set(true);
+            return "late";
+        })).isInstanceOf(HashingCapacityExceededException.class);
+
+        // 취소된 작업은 대기열에서 빠져 다른 요청의 자리를 차지하지 않음
+        assertThat(gauge("auth.hash.queue.depth")).isZero();
+
+        // 실행 중인 작업을 기다리던 요청도 시간 초과 (해시는 끝까지 실행되고 결과만 버려짐)
+        assertThatThrownBy(() -> running.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(HashingCapacityExceededException.class);
+        assertThat(meterRegistry.get("auth.hash.timeout").counter().count()).isEqualTo(2.0);
+
+        release.countDown();
+        await().until(() -> meterRegistry.get("auth.hash.duration").timer().count() == 1);
+        assertThat(ran).isFalse();
+    }
+
+    @Test
+    @DisplayName("대기 중 인터럽트되면 503 예외로 처리하고 인터럽트 상태를 유지")
+    void interruptMapsToCapacityException()
+    {
+        hashingExecutor = new HashingExecutor(1, 1, 10_000, meterRegistry);
+
+        Thread.currentThread().interrupt();
+        try
+        {
+            assertThatThrownBy(() -> hashingExecutor.execute(() -> "hash")).isInstanceOf(HashingCapacityExceededException.class);
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        }
+        finally
+        {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    @DisplayName("작업마다 대기 시간과 해시 소요 시간을 기록")
+    void recordsWaitAndDuration()
+    {
+        hashingExecutor = new HashingExecutor(2, 4, 10_000, meterRegistry);
+
+        assertThat(hashingExecutor.execute(() -> "a")).isEqualTo("a");
+        assertThat(hashingExecutor.execute(() -> "b")).isEqualTo("b");
+
+        assertThat(meterRegistry.get("auth.hash.wait").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("auth.hash.duration").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("auth.hash.rejected").counter().count()).isZero();
+    }
+
+    // BCrypt처럼 인터럽트와 관계없이 끝까지 실행
+    private String blockUntilReleased()
+    {
+        boolean interrupted = false;
+        while (true)
+        {
+            try
+            {
+                release.await();
+                break;
+            }
+            catch (InterruptedException e)
+            {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+        return "done";
+    }
+
+    private double gauge(String name)
+    {
+        return meterRegistry.get(name).gauge().value();
+    }
+}
@@ -0,0 +1,98 @@
+package com.seungwook.jwt.service.redis;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingTest
+{
+    private static final List<String> NODES = List.of("primary", "redis-1:6379", "redis-2:6379", "redis-3:6379");
+    private static final List<String> KEYS = IntStream.range(0, 40_000).mapToObj(i -> "user-" + i).toList();
+
+    @Test
+    @DisplayName("가상 노드 160개면 키가 노드마다 고르게 배치됨")
+    void distributesKeysEvenly()
+    {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 160);
+
+        int[] counts = new int[NODES.size()];
+        KEYS.forEach(key -> counts[ring.nodeFor(key)]++);
+
+        double expected = (double) KEYS.size() / NODES.size();
+        for (int count : counts)
+        {
+            assertThat(count / expected).isBetween(0.8, 1.2);
+        }
+    }
+
+    @Test
+    @DisplayName("노드를 추가하면 약 1/N의 키만 새 노드로 옮겨지고 나머지는 그대로")
+    void movesOnlyAboutOneNthOfKeysToAddedNode()
+    {
+        ConsistentHashRing before = new ConsistentHashRing(NODES, 160);
+        List<String> added = new ArrayList<>(NODES);
+        added.add("redis-4:6379");
+        ConsistentHashRing after = new ConsistentHashRing(added, 160);
+        int addedNode = added.size() - 1;
+
+        int moved = 0;
+        for (String key : KEYS)
+        {
+            int owner = after.nodeFor(key);
+            if (owner == before.nodeFor(key)) continue;
+
+            assertThat(owner).as(key).isEqualTo(addedNode);
+            moved++;
+        }
+
+        assertThat((double) moved / KEYS.size()).isBetween(0.15, 0.25);
+    }
+
+    @Test
+    @DisplayName("같은 노드 목록이면 항상 같은 배치 (애플리케이션 노드 간 일치)")
+    void placementDependsOnlyOnNodeIds()
+    {
+        ConsistentHashRing first = new ConsistentHashRing(NODES, 160);
+        ConsistentHashRing second = new ConsistentHashRing(List.copyOf(NODES), 160);
+
+        KEYS.forEach(key -> assertThat(second.nodeFor(key)).isEqualTo(first.nodeFor(key)));
+    }
+
+    @Test
+    @DisplayName("음수 해시와 마지막 가상 노드 이후의 해시는 링을 돌아 첫 번째 가상 노드의 주인에게 배치됨")
+    void wrapsAroundSignedLongRing()
+    {
+        List<String> nodes = List.of("a", "b");
+        ConsistentHashRing ring = new ConsistentHashRing(nodes, 1);
+
+        // 같은 규칙의 참조 구현 (이후 첫 번째 가상 노드, 없으면 처음으로)
+        TreeMap<Long, Integer> reference = new TreeMap<>();
+        for (int node = 0; node < nodes.size(); node++)
+        {
+            reference.put(ConsistentHashRing.hash(nodes.get(node) + "#0"), node);
+        }
+
+        int negative = 0;
+        int beyondLast = 0;
+        for (String key : KEYS.subList(0, 10_000))
+        {
+            long hash = ConsistentHashRing.hash(key);
+            Map.Entry<Long, Integer> ceiling = reference.ceilingEntry(hash);
+            int expected = ceiling == null ? reference.firstEntry().getValue() : ceiling.getValue();
+
+            assertThat(ring.nodeFor(key)).as(key).isEqualTo(expected);
+            if (hash < 0) negative++;
+            if (ceiling == null) beyondLast++;
+        }
+
+        assertThat(negative).isPositive();
+        assertThat(beyondLast).isPositive();
+    }
+}
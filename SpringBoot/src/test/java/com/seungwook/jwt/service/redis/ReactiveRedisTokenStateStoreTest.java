@@ -0,0 +1,178 @@
+package com.seungwook.jwt.service.redis;
+
+import com.github.fppt.jedismock.RedisServer;
+import com.seungwook.jwt.metrics.AuthMetrics;
+import com.seungwook.jwt.service.store.RefreshRotationContractTest;
+import com.seungwook.jwt.service.store.TokenStateStore;
+import com.seungwook.jwt.service.store.TokenStateStore.RefreshState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 리액티브 구현을 같은 교체 계약으로 확인 (jedis-mock)
+ * 세션 시작, 사용 여부 기록처럼 리액티브 구현에 없는 작업은 동기 구현으로 준비하고, 나머지는 리액티브 구현의 결과를 기다려 비교
+ */
+class ReactiveRedisTokenStateStoreTest extends RefreshRotationContractTest
+{
+    private RedisServer server;
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTokenStateStore blockingStore;
+    private ReactiveRedisTokenStateStore reactiveStore;
+
+    @BeforeEach
+    void setUp() throws IOException
+    {
+        server = RedisServer.newRedisServer();
+        server.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", server.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RedisShards redisShards = new RedisShards(new StringRedisTemplate(connectionFactory), List.of(), "", 160);
+        RedisGuard redisGuard = new RedisGuard(new AuthMetrics(meterRegistry), meterRegistry, new RedisCircuitBreaker(5, 1000),
+                2000, false, 100);
+        BlacklistNearCache blacklistNearCache = new BlacklistNearCache(redisShards, redisGuard);
+
+        blockingStore = new RedisTokenStateStore(redisShards, redisGuard, blacklistNearCache);
+        reactiveStore = new ReactiveRedisTokenStateStore(redisShards, redisGuard, blacklistNearCache, blockingStore);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException
+    {
+        connectionFactory.destroy();
+        server.stop();
+    }
+
+    @Override
+    protected TokenStateStore store()
+    {
+        return new TokenStateStore()
+        {
+            @Override
+            public void saveRefreshToken(String uuid, String refreshToken, long ttlMillis)
+            {
+                blockingStore.saveRefreshToken(uuid, refreshToken, ttlMillis);
+            }
+
+            @Override
+            public String findRefreshToken(String uuid)
+            {
+                return reactiveStore.findRefreshToken(uuid).block();
+            }
+
+            @Override
+            public void deleteRefreshToken(String uuid, RefreshState state)
+            {
+                reactiveStore.deleteRefreshToken(uuid, state).block();
+            }
+
+            @Override
+            public void startSession(String uuid, String family, String role, String current, String refreshToken, long ttlMillis)
+            {
+                blockingStore.startSession(uuid, family, role, current, refreshToken, ttlMillis);
+            }
+
+            @Override
+            public Rotated rotate(Rotation rotation)
+            {
+                return reactiveStore.rotate(rotation).block();
+            }
+
+            @Override
+            public void setUsed(String jti, boolean used, long ttlMillis)
+            {
+                blockingStore.setUsed(jti, used, ttlMillis);
+            }
+
+            @Override
+            public boolean isUsed(String jti)
+            {
+                return blockingStore.isUsed(jti);
+            }
+
+            @Override
+            public void revoke(String token, String subject, long ttlMillis)
+            {
+                reactiveStore.revoke(token, subject, ttlMillis).block();
+            }
+
+            @Override
+            public boolean isRevoked(String token, String subject)
+            {
+                return Boolean.TRUE.equals(reactiveStore.isRevoked(token, subject).block());
+            }
+
+            @Override
+            public boolean[] isRevoked(List<String> tokens, List<String> subjects)
+            {
+                return reactiveStore.isRevoked(tokens, subjects).block();
+            }
+
+            @Override
+            public Long generation(String uuid)
+            {
+                return reactiveStore.generation(uuid).block();
+            }
+
+            @Override
+            public Map<String, Long> generations(Collection<String> uuids)
+            {
+                return reactiveStore.generations(uuids).block();
+            }
+
+            @Override
+            public long bumpGeneration(String uuid, long retentionMillis)
+            {
+                Long generation = reactiveStore.bumpGeneration(uuid, retentionMillis).block();
+                return generation == null ? 0L : generation;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("리액티브로 기록한 무효화와 세대 증가는 동기 구현과 일괄 조회에서 같은 상태로 보임")
+    void revocationAndGenerationAreSharedWithBlockingStore()
+    {
+        reactiveStore.revoke("token-1", "user-1", 60_000).block();
+        reactiveStore.bumpGeneration("user-2", 60_000).block();
+        reactiveStore.bumpGeneration("user-2", 60_000).block();
+
+        assertThat(blockingStore.isRevoked("token-1", "user-1")).isTrue();
+        assertThat(reactiveStore.isRevoked(List.of("token-1", "token-2"), List.of("user-1", "user-1")).block())
+                .containsExactly(true, false);
+
+        assertThat(blockingStore.generation("user-2")).isEqualTo(2L);
+        assertThat(reactiveStore.generations(List.of("user-1", "user-2")).block())
+                .containsEntry("user-1", 0L)
+                .containsEntry("user-2", 2L);
+    }
+
+    @Test
+    @DisplayName("리프레시 토큰 삭제는 사용자 키와 패밀리를 함께 지움")
+    void deleteRemovesRefreshTokenAndFamily()
+    {
+        blockingStore.startSession("user-1", "family-1", "ROLE_USER", "c1", "refresh-1", 60_000);
+        RefreshState state = new RefreshState(RefreshState.Kind.FAMILY, "family-1", "c1", 60_000);
+
+        reactiveStore.deleteRefreshToken("user-1", state).block();
+
+        assertThat(reactiveStore.findRefreshToken("user-1").block()).isNull();
+        assertThat(blockingStore.rotate(rotation("user-1", state, "family-1", "c2"))).isNull();
+    }
+}
@@ -0,0 +1,147 @@
+package com.seungwook.jwt.service.redis;
+
+import com.seungwook.jwt.service.redis.RedisCircuitBreaker.Permit;
+import com.seungwook.jwt.service.redis.RedisCircuitBreaker.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisCircuitBreakerTest
+{
+    private static final long OPEN_MILLIS = 1_000;
+
+    private final AtomicLong now = new AtomicLong(100_000);
+    private RedisCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp()
+    {
+        breaker = new RedisCircuitBreaker(3, OPEN_MILLIS, now::get);
+    }
+
+    @Test
+    @DisplayName("연속 실패가 기준에 도달하면 OPEN, 그 전의 성공은 연속 실패를 초기화")
+    void opensAfterConsecutiveFailures()
+    {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.CALL);
+
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.DENIED);
+    }
+
+    @Test
+    @DisplayName("OPEN 시간이 지나면 한 호출만 시험 호출로 허용")
+    void allowsSingleProbeAfterOpenMillis()
+    {
+        open();
+
+        now.addAndGet(OPEN_MILLIS - 1);
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.DENIED);
+
+        now.addAndGet(1);
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.PROBE);
+        assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.DENIED);
+    }
+
+    @Test
+    @DisplayName("시험 호출이 성공하면 CLOSED")
+    void probeSuccessCloses()
+    {
+        probe();
+
+        breaker.onSuccess();
+
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.CALL);
+    }
+
+    @Test
+    @DisplayName("시험 호출이 실패하면 다시 OPEN 시간만큼 거절")
+    void probeFailureReopens()
+    {
+        probe();
+
+        breaker.onFailure();
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        now.addAndGet(OPEN_MILLIS - 1);
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.DENIED);
+        now.addAndGet(1);
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.PROBE);
+    }
+
+    @Test
+    @DisplayName("시험 호출이 결과를 보고하지 않으면 OPEN 시간 후 실패로 보고 OPEN으로 되돌림")
+    void unreportedProbeFallsBackToOpen()
+    {
+        probe();
+
+        now.addAndGet(OPEN_MILLIS - 1);
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.DENIED);
+        assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+
+        now.addAndGet(1);
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.DENIED);
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+
+        // 실패와 같이 OPEN 시간만큼 기다린 뒤 새 시험 호출
+        now.addAndGet(OPEN_MILLIS - 1);
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.DENIED);
+        now.addAndGet(1);
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.PROBE);
+    }
+
+    @Test
+    @DisplayName("취소된 시험 호출의 허가를 반환하면 다음 호출이 바로 시험 호출이 됨")
+    void releasedProbeAllowsNextProbeImmediately()
+    {
+        Permit permit = probe();
+
+        breaker.release(permit);
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.PROBE);
+    }
+
+    @Test
+    @DisplayName("일반 호출의 허가 반환은 상태를 바꾸지 않음")
+    void releasingNormalCallHasNoEffect()
+    {
+        Permit call = breaker.tryAcquire();
+        open();
+        now.addAndGet(OPEN_MILLIS);
+        Permit probe = breaker.tryAcquire();
+
+        breaker.release(call);
+
+        assertThat(probe).isEqualTo(Permit.PROBE);
+        assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+    }
+
+    private void open()
+    {
+        for (int i = 0; i < 3; i++) breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+
+    private Permit probe()
+    {
+        open();
+        now.addAndGet(OPEN_MILLIS);
+        Permit permit = breaker.tryAcquire();
+        assertThat(permit).isEqualTo(Permit.PROBE);
+        return permit;
+    }
+}
@@ -0,0 +1,46 @@
+package com.seungwook.jwt.service.redis;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.protocol.Command;
+import io.lettuce.core.protocol.CommandType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisCommandBudgetTest
+{
+    private final RedisCommandBudget budget = new RedisCommandBudget(50, 200);
+
+    @Test
+    @DisplayName("조회 명령은 읽기 예산, 쓰기와 스크립트는 쓰기 예산")
+    void readAndWriteBudgets()
+    {
+        assertThat(budget.getTimeout(command(CommandType.GET))).isEqualTo(50);
+        assertThat(budget.getTimeout(command(CommandType.MGET))).isEqualTo(50);
+        assertThat(budget.getTimeout(command(CommandType.EXISTS))).isEqualTo(50);
+        assertThat(budget.getTimeout(command(CommandType.SET))).isEqualTo(200);
+        assertThat(budget.getTimeout(command(CommandType.EVALSHA))).isEqualTo(200);
+        assertThat(budget.getTimeUnit()).isEqualTo(TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    @DisplayName("기존 클라이언트 옵션은 유지하고 명령 타임아웃만 더함")
+    void keepsExistingClientOptions()
+    {
+        ClientOptions options = budget.apply(ClientOptions.builder().autoReconnect(false).build());
+
+        assertThat(options.isAutoReconnect()).isFalse();
+        assertThat(options.getTimeoutOptions().isTimeoutCommands()).isTrue();
+        assertThat(options.getTimeoutOptions().getSource()).isSameAs(budget);
+    }
+
+    private static Command<String, String, String> command(CommandType type)
+    {
+        return new Command<>(type, new StatusOutput<>(StringCodec.UTF8));
+    }
+}
@@ -0,0 +1,254 @@
+package com.seungwook.jwt.service.redis;
+
+import com.seungwook.jwt.exception.RedisUnavailableException;
+import com.seungwook.jwt.metrics.AuthMetrics;
+import com.seungwook.jwt.service.redis.RedisCircuitBreaker.State;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisCommandInterruptedException;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisConnectionException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.serializer.SerializationException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RedisGuardTest
+{
+    private static final long OPEN_MILLIS = 1_000;
+
+    private final AtomicLong now = new AtomicLong(100_000);
+    private final RedisCircuitBreaker breaker = new RedisCircuitBreaker(1, OPEN_MILLIS, now::get);
+    private RedisGuard guard;
+
+    @Test
+    @DisplayName("리액티브 읽기는 구독할 때 허가를 받음 (조립만 한 호출은 시험 호출을 차지하지 않음)")
+    void reactiveReadAcquiresOnSubscribe()
+    {
+        guard = guard(true);
+        openBreaker();
+        now.addAndGet(OPEN_MILLIS);
+
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> assembled = guard.readReactive("test", () -> {
+            calls.incrementAndGet();
+            return Mono.just("redis");
+        }, () -> "fallback");
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        assertThat(calls).hasValue(0);
+
+        assertThat(assembled.block()).isEqualTo("redis");
+        assertThat(calls).hasValue(1);
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("결과 없이 취소된 리액티브 시험 호출은 허가를 반환하여 다음 호출이 다시 시험")
+    void cancelledReactiveProbeReleasesPermit()
+    {
+        guard = guard(true);
+        openBreaker();
+        now.addAndGet(OPEN_MILLIS);
+
+        Disposable subscription = guard.readReactive("test", Mono::<String>never, () -> "fallback").subscribe();
+        assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+
+        subscription.dispose();
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        assertThat(guard.readReactive("test", () -> Mono.just("redis"), () -> "fallback").block()).isEqualTo("redis");
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("리액티브 호출 실패는 차단기에 실패로 집계하고 저하 모드면 대체값 사용")
+    void reactiveFailureUsesFallback()
+    {
+        guard = guard(true);
+
+        String result = guard.readReactive("test", () -> Mono.<String>error(new RedisConnectionFailureException("down")), () -> "fallback").block();
+
+        assertThat(result).isEqualTo("fallback");
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    @DisplayName("대체 수단이 없는 리액티브 호출은 저하 모드에서도 실패를 예외로 전달")
+    void reactiveCallFailsWithoutFallback()
+    {
+        guard = guard(true);
+
+        assertThatThrownBy(() -> guard.callReactive("test", () -> Mono.<String>error(new RedisConnectionFailureException("down"))).block())
+                .isInstanceOf(RedisUnavailableException.class)
+                .hasCauseInstanceOf(RedisConnectionFailureException.class);
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    @DisplayName("리액티브 쓰기가 실패하면 저하 모드에서 대기열에 보관했다가 복구 후 재실행")
+    void reactiveWriteIsReplayedAfterRecovery()
+    {
+        guard = guard(true);
+        AtomicBoolean down = new AtomicBoolean(true);
+        AtomicInteger writes = new AtomicInteger();
+
+        guard.writeReactive("test", System.currentTimeMillis() + 60_000, remaining -> Mono.defer(() -> down.get()
+                ? Mono.error(new RedisConnectionFailureException("down"))
+                : Mono.fromRunnable(writes::incrementAndGet))).block();
+
+        assertThat(writes).hasValue(0);
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+
+        down.set(false);
+        now.addAndGet(OPEN_MILLIS);
+        guard.replay();
+
+        assertThat(writes).hasValue(1);
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Redis가 응답한 오류(스크립트 오류)는 차단기에 집계하지 않고 그대로 전달")
+    void scriptErrorIsRethrownUnchanged()
+    {
+        guard = guard(true);
+        RedisSystemException scriptError = new RedisSystemException("ERR user_script:1",
+                new RedisCommandExecutionException("ERR user_script:1: Script attempted to access nonexistent global variable"));
+
+        assertThatThrownBy(() -> guard.call("test", () -> {
+            throw scriptError;
+        })).isSameAs(scriptError);
+        assertThatThrownBy(() -> guard.read("test", () -> {
+            throw scriptError;
+        }, () -> "fallback")).isSameAs(scriptError);
+        assertThatThrownBy(() -> guard.readReactive("test", () -> Mono.<String>error(scriptError), () -> "fallback").block())
+                .isSameAs(scriptError);
+        assertThatThrownBy(() -> guard.callReactive("test", () -> Mono.<String>error(scriptError)).block())
+                .isSameAs(scriptError);
+
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("시험 호출이 가용성과 무관한 오류로 끝나면 허가를 반환하여 다음 호출이 다시 시험")
+    void probeWithNonAvailabilityErrorReleasesPermit()
+    {
+        guard = guard(false);
+        openBreaker();
+        now.addAndGet(OPEN_MILLIS);
+
+        assertThatThrownBy(() -> guard.call("test", () -> {
+            throw new SerializationException("bad value");
+        })).isInstanceOf(SerializationException.class);
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        assertThat(guard.call("test", () -> "redis")).isEqualTo("redis");
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("연결 실패와 타임아웃은 원인 사슬 어디에 있어도 가용성 오류로 분류")
+    void classifiesAvailabilityErrors()
+    {
+        assertThat(RedisGuard.isUnavailable(new RedisConnectionFailureException("refused"))).isTrue();
+        assertThat(RedisGuard.isUnavailable(new QueryTimeoutException("timed out"))).isTrue();
+        assertThat(RedisGuard.isUnavailable(new RedisCommandTimeoutException("timed out"))).isTrue();
+        assertThat(RedisGuard.isUnavailable(new RedisSystemException("wrapped", new RedisConnectionException("closed")))).isTrue();
+        assertThat(RedisGuard.isUnavailable(new TimeoutException())).isTrue();
+
+        assertThat(RedisGuard.isUnavailable(new RedisSystemException("ERR", new RedisCommandExecutionException("ERR")))).isFalse();
+        assertThat(RedisGuard.isUnavailable(new SerializationException("bad value"))).isFalse();
+        assertThat(RedisGuard.isUnavailable(new IllegalStateException("bug"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("명령 타임아웃(지연 예산 초과)은 호출한 스레드에서 바로 실패로 집계")
+    void commandTimeoutCountsAsFailure()
+    {
+        guard = guard(false);
+
+        Thread caller = Thread.currentThread();
+        assertThatThrownBy(() -> guard.call("test", () -> {
+            assertThat(Thread.currentThread()).isSameAs(caller);
+            throw new QueryTimeoutException("Redis command timed out");
+        })).isInstanceOf(RedisUnavailableException.class).hasCauseInstanceOf(QueryTimeoutException.class);
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    @DisplayName("대기 중 인터럽트된 호출은 실패로 집계")
+    void interruptCountsAsFailure()
+    {
+        guard = guard(false);
+
+        Thread.currentThread().interrupt();
+        try
+        {
+            assertThatThrownBy(() -> guard.call("test", RedisGuardTest::interruptedWait)).isInstanceOf(RedisUnavailableException.class);
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        }
+        finally
+        {
+            Thread.interrupted();
+        }
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    @DisplayName("인터럽트된 시험 호출이 차단기를 HALF_OPEN에 남기지 않음")
+    void interruptedProbeDoesNotLeaveHalfOpen()
+    {
+        guard = guard(false);
+        openBreaker();
+        now.addAndGet(OPEN_MILLIS);
+
+        Thread.currentThread().interrupt();
+        try
+        {
+            assertThatThrownBy(() -> guard.call("test", RedisGuardTest::interruptedWait)).isInstanceOf(RedisUnavailableException.class);
+        }
+        finally
+        {
+            Thread.interrupted();
+        }
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        now.addAndGet(OPEN_MILLIS);
+        assertThat(guard.call("test", () -> "redis")).isEqualTo("redis");
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    private RedisGuard guard(boolean degradedMode)
+    {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new RedisGuard(new AuthMetrics(meterRegistry), meterRegistry, breaker, 1_000, degradedMode, 100);
+    }
+
+    // 인터럽트된 스레드가 응답을 기다릴 때 Lettuce가 던지는 예외 (인터럽트 상태는 유지)
+    private static String interruptedWait()
+    {
+        if (!Thread.currentThread().isInterrupted()) return "redis";
+        throw new RedisCommandInterruptedException(new InterruptedException());
+    }
+
+    private void openBreaker()
+    {
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+}
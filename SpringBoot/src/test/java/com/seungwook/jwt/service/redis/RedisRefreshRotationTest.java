@@ -0,0 +1,103 @@
+package com.seungwook.jwt.service.redis;
+
+import com.github.fppt.jedismock.RedisServer;
+import com.seungwook.jwt.exception.RedisUnavailableException;
+import com.seungwook.jwt.metrics.AuthMetrics;
+import com.seungwook.jwt.service.store.RefreshRotationContractTest;
+import com.seungwook.jwt.service.store.TokenStateStore;
+import com.seungwook.jwt.service.store.TokenStateStore.RefreshState;
+import com.seungwook.jwt.service.store.TokenStateStore.Rotated;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Redis 구현의 교체 스크립트를 프로세스 내 Redis 호환 서버(jedis-mock)에서 실행
+ */
+class RedisRefreshRotationTest extends RefreshRotationContractTest
+{
+    private static final long TTL = TimeUnit.DAYS.toMillis(14);
+
+    // 다음 스크립트는 Redis에서 실행된 뒤 응답을 받지 못한 것처럼 시간 초과로 실패
+    private final AtomicBoolean timeoutAfterScript = new AtomicBoolean();
+
+    private RedisServer server;
+    private LettuceConnectionFactory connectionFactory;
+    private RedisGuard redisGuard;
+    private RedisTokenStateStore store;
+
+    @BeforeEach
+    void setUp() throws IOException
+    {
+        server = RedisServer.newRedisServer();
+        server.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", server.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StringRedisTemplate template = new StringRedisTemplate(connectionFactory)
+        {
+            @Override
+            public <T> T execute(RedisScript<T> script, List<String> keys, Object... args)
+            {
+                T result = super.execute(script, keys, args);
+                if (timeoutAfterScript.compareAndSet(true, false)) throw new QueryTimeoutException("Redis command timed out");
+                return result;
+            }
+        };
+        RedisShards redisShards = new RedisShards(template, List.of(), "", 160);
+        redisGuard = new RedisGuard(new AuthMetrics(meterRegistry), meterRegistry, new RedisCircuitBreaker(5, 1000),
+                2000, false, 100);
+
+        store = new RedisTokenStateStore(redisShards, redisGuard, new BlacklistNearCache(redisShards, redisGuard));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException
+    {
+        connectionFactory.destroy();
+        server.stop();
+    }
+
+    @Override
+    protected TokenStateStore store()
+    {
+        return store;
+    }
+
+    @Test
+    @DisplayName("교체 스크립트가 기록된 뒤 시간 초과로 실패한 요청을 재시도하면 기록된 토큰을 받고 세션이 유지됨")
+    void retryAfterCommittedTimeoutKeepsSession()
+    {
+        RefreshState presented = new RefreshState(RefreshState.Kind.FAMILY, "family-1", "c1", TTL);
+        store.startSession("user-1", "family-1", "ROLE_USER", "c1", "refresh-1", TTL);
+
+        timeoutAfterScript.set(true);
+        assertThatThrownBy(() -> store.rotate(rotation("user-1", presented, "family-1", "c2", "access-1", 10_000)))
+                .isInstanceOf(RedisUnavailableException.class);
+        assertThat(store.findRefreshToken("user-1")).isEqualTo("refresh-c2");
+
+        // 클라이언트는 응답을 받지 못했으므로 같은 토큰으로 다시 요청
+        assertThat(store.rotate(rotation("user-1", presented, "family-1", "c2-retry", "access-1", 10_000)))
+                .isEqualTo(new Rotated("ROLE_USER", "refresh-c2"));
+        assertThat(store.rotate(rotation("user-1", new RefreshState(RefreshState.Kind.FAMILY, "family-1", "c2", TTL),
+                "family-1", "c3", "access-2", 10_000))).isEqualTo(new Rotated("ROLE_USER", "refresh-c3"));
+    }
+}
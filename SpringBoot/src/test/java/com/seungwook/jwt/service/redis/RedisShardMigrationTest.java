@@ -0,0 +1,163 @@
+package com.seungwook.jwt.service.redis;
+
+import com.github.fppt.jedismock.RedisServer;
+import com.seungwook.jwt.metrics.AuthMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 샤드 노드 추가 시 옮겨진 사용자의 블랙리스트, 토큰 세대가 유지되는지 확인 (jedis-mock 두 대)
+ */
+class RedisShardMigrationTest
+{
+    private static final long TTL = TimeUnit.MINUTES.toMillis(10);
+    private static final List<String> USERS = IntStream.range(0, 64).mapToObj(i -> "user-" + i).toList();
+
+    private RedisServer primaryServer;
+    private RedisServer addedServer;
+    private LettuceConnectionFactory primaryFactory;
+    private StringRedisTemplate primary;
+    private String addedEndpoint;
+    private final List<RedisShards> shards = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException
+    {
+        primaryServer = RedisServer.newRedisServer();
+        primaryServer.start();
+        addedServer = RedisServer.newRedisServer();
+        addedServer.start();
+        addedEndpoint = "localhost:" + addedServer.getBindPort();
+
+        primaryFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", primaryServer.getBindPort()));
+        primaryFactory.afterPropertiesSet();
+        primaryFactory.start();
+        primary = new StringRedisTemplate(primaryFactory);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException
+    {
+        shards.forEach(RedisShards::destroy);
+        primaryFactory.destroy();
+        primaryServer.stop();
+        addedServer.stop();
+    }
+
+    @Test
+    @DisplayName("이관 기간에는 노드 추가 전에 무효화한 토큰이 옮겨진 사용자에게도 계속 거부됨")
+    void revocationSurvivesRingChangeDuringMigration()
+    {
+        RedisTokenStateStore before = store(new RedisShards(primary, List.of(), "", 160));
+        USERS.forEach(user -> before.revoke(token(user), user, TTL));
+
+        RedisShards afterShards = new RedisShards(primary, List.of(addedEndpoint), List.of(),
+                System.currentTimeMillis() + TTL, "", 160);
+        RedisTokenStateStore after = store(afterShards);
+        List<String> moved = moved(afterShards);
+
+        assertThat(moved).isNotEmpty();
+        moved.forEach(user -> assertThat(after.isRevoked(token(user), user)).as(user).isTrue());
+
+        boolean[] revoked = after.isRevoked(moved.stream().map(RedisShardMigrationTest::token).toList(), moved);
+        for (boolean each : revoked)
+        {
+            assertThat(each).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("이관 기간이 없으면 옮겨진 사용자의 무효화 항목을 찾지 못함 (이관 기간이 필요한 이유)")
+    void revocationIsLostWithoutMigrationWindow()
+    {
+        RedisTokenStateStore before = store(new RedisShards(primary, List.of(), "", 160));
+        USERS.forEach(user -> before.revoke(token(user), user, TTL));
+
+        RedisShards afterShards = new RedisShards(primary, List.of(addedEndpoint), "", 160);
+        RedisTokenStateStore after = store(afterShards);
+        String user = moved(afterShards).get(0);
+
+        assertThat(after.isRevoked(token(user), user)).isFalse();
+    }
+
+    @Test
+    @DisplayName("이관 기간에는 이전 샤드의 세대를 이어받고, 이후의 세대 증가도 그 값부터 시작")
+    void generationIsCarriedToNewShard()
+    {
+        RedisTokenStateStore before = store(new RedisShards(primary, List.of(), "", 160));
+        USERS.forEach(user -> {
+            before.bumpGeneration(user, TTL);
+            before.bumpGeneration(user, TTL);
+        });
+
+        RedisShards afterShards = new RedisShards(primary, List.of(addedEndpoint), List.of(),
+                System.currentTimeMillis() + TTL, "", 160);
+        RedisTokenStateStore after = store(afterShards);
+        List<String> moved = moved(afterShards);
+        String user = moved.get(0);
+
+        // 조회 없이 바로 증가해도 이전 샤드의 세대보다 커야 함
+        String untouched = moved.get(1);
+        assertThat(after.bumpGeneration(untouched, TTL)).isEqualTo(3L);
+
+        assertThat(after.generation(user)).isEqualTo(2L);
+        assertThat(after.generations(moved)).containsEntry(untouched, 3L).containsEntry(moved.get(moved.size() - 1), 2L);
+
+        // 조회 시 새 샤드로 옮겨 기록되어 이관 기간이 끝난 뒤에도 세대가 낮아지지 않음
+        assertThat(afterShards.forUser(user).opsForValue().get(RedisTokenStateStore.GENERATION_PREFIX + user)).isEqualTo("2");
+        assertThat(after.bumpGeneration(user, TTL)).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("샤드가 바뀌지 않은 사용자와 이관 기간이 지난 경우에는 이전 샤드가 없음")
+    void previousShardOnlyForMovedUsersDuringWindow()
+    {
+        RedisShards migrating = new RedisShards(primary, List.of(addedEndpoint), List.of(),
+                System.currentTimeMillis() + TTL, "", 160);
+        RedisShards finished = new RedisShards(primary, List.of(addedEndpoint), List.of(),
+                System.currentTimeMillis() - 1, "", 160);
+        shards.add(migrating);
+        shards.add(finished);
+
+        for (String user : USERS)
+        {
+            boolean stayed = migrating.forUser(user) == migrating.primary();
+            assertThat(migrating.previousForUser(user)).as(user).isEqualTo(stayed ? null : migrating.primary());
+            assertThat(finished.previousForUser(user)).as(user).isNull();
+        }
+    }
+
+    private RedisTokenStateStore store(RedisShards redisShards)
+    {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RedisGuard redisGuard = new RedisGuard(new AuthMetrics(meterRegistry), meterRegistry, new RedisCircuitBreaker(5, 1000),
+                2000, false, 100);
+        shards.add(redisShards);
+        return new RedisTokenStateStore(redisShards, redisGuard, new BlacklistNearCache(redisShards, redisGuard));
+    }
+
+    // 추가한 노드로 옮겨진 사용자
+    private static List<String> moved(RedisShards redisShards)
+    {
+        return USERS.stream().filter(user -> redisShards.forUser(user) != redisShards.primary()).toList();
+    }
+
+    private static String token(String user)
+    {
+        return "access-token-of-" + user;
+    }
+}
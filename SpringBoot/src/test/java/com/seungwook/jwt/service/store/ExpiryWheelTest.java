@@ -0,0 +1,78 @@
+package com.seungwook.jwt.service.store;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiryWheelTest
+{
+    private static final long TICK = 10;
+
+    // 크기 8, tick 10ms: 한 바퀴 80ms
+    private final ExpiryWheel wheel = new ExpiryWheel(8, TICK, 0);
+    private final List<String> expired = new ArrayList<>();
+
+    @Test
+    @DisplayName("만료 시각이 지난 tick에서 회수")
+    void reclaimsExpiredEntry()
+    {
+        wheel.schedule(35, () -> expired.add("a"));
+
+        wheel.advance(30);
+        assertThat(expired).isEmpty();
+
+        wheel.advance(40);
+        assertThat(expired).containsExactly("a");
+
+        // 한 번만 실행
+        wheel.advance(200);
+        assertThat(expired).containsExactly("a");
+    }
+
+    @Test
+    @DisplayName("휠 한 바퀴보다 긴 TTL은 같은 slot을 지나가도 만료 전에 회수하지 않음")
+    void doesNotReclaimLongTtlEarly()
+    {
+        wheel.schedule(1_000, () -> expired.add("long"));
+
+        for (long now = TICK; now < 1_000; now += TICK)
+        {
+            wheel.advance(now);
+            assertThat(expired).as("now=%d", now).isEmpty();
+        }
+
+        wheel.advance(1_000);
+        assertThat(expired).containsExactly("long");
+    }
+
+    @Test
+    @DisplayName("한 바퀴 이상 밀려 있어도 만료된 항목만 모두 회수")
+    void catchesUpAfterLongPause()
+    {
+        wheel.schedule(15, () -> expired.add("a"));
+        wheel.schedule(55, () -> expired.add("b"));
+        wheel.schedule(5_000, () -> expired.add("later"));
+
+        wheel.advance(1_000);
+
+        assertThat(expired).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    @DisplayName("이미 지난 시각으로 등록하면 다음 tick에 회수")
+    void schedulesPastDeadlineOnNextTick()
+    {
+        wheel.advance(100);
+        wheel.schedule(50, () -> expired.add("past"));
+
+        wheel.advance(100);
+        assertThat(expired).isEmpty();
+
+        wheel.advance(110);
+        assertThat(expired).containsExactly("past");
+    }
+}
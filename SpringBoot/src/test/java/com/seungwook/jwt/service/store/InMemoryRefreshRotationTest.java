@@ -0,0 +1,21 @@
+package com.seungwook.jwt.service.store;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+
+class InMemoryRefreshRotationTest extends RefreshRotationContractTest
+{
+    private InMemoryTokenStateStore store;
+
+    @BeforeEach
+    void setUp()
+    {
+        store = new InMemoryTokenStateStore(new SimpleMeterRegistry(), 4, 64, 1000);
+    }
+
+    @Override
+    protected TokenStateStore store()
+    {
+        return store;
+    }
+}
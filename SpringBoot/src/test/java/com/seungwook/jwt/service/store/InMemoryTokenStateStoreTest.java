@@ -0,0 +1,112 @@
+package com.seungwook.jwt.service.store;
+
+import com.seungwook.jwt.service.store.TokenStateStore.RefreshState;
+import com.seungwook.jwt.service.store.TokenStateStore.Rotated;
+import com.seungwook.jwt.service.store.TokenStateStore.Rotation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryTokenStateStoreTest
+{
+    private static final String ROLE = "ROLE_USER";
+    private static final long TTL = TimeUnit.MINUTES.toMillis(10);
+
+    @Test
+    @DisplayName("유효시간이 0 이하인 기록은 기존 항목을 삭제")
+    void nonPositiveTtlRemovesEntry()
+    {
+        InMemoryTokenStateStore store = new InMemoryTokenStateStore(new SimpleMeterRegistry(), 4, 64, 1000);
+
+        store.saveRefreshToken("user-1", "refresh-1", TTL);
+        store.saveRefreshToken("user-1", "refresh-2", 0);
+        assertThat(store.findRefreshToken("user-1")).isNull();
+
+        store.setUsed("jti-1", false, TTL);
+        store.setUsed("jti-1", false, -1);
+        assertThat(store.isUsed("jti-1")).isTrue();
+
+        store.revoke("access-token", "user-1", 0);
+        assertThat(store.isRevoked("access-token", "user-1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("만료된 항목은 회수되고, 그 사이 다시 기록된 항목은 이전 만료 작업에 지워지지 않음")
+    void expireKeepsRewrittenEntries() throws InterruptedException
+    {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        InMemoryTokenStateStore store = new InMemoryTokenStateStore(meterRegistry, 4, 64, 1);
+
+        store.saveRefreshToken("short", "refresh-short", 5);
+        store.saveRefreshToken("rewritten", "refresh-old", 5);
+        store.saveRefreshToken("rewritten", "refresh-new", TTL);
+
+        Thread.sleep(30);
+        store.expire();
+
+        // 조회 전에 이미 회수되어 항목 수에서 빠짐
+        assertThat(meterRegistry.get("auth.state-store.entries").tag("type", "refresh").gauge().value()).isEqualTo(1.0);
+        assertThat(store.findRefreshToken("short")).isNull();
+        assertThat(store.findRefreshToken("rewritten")).isEqualTo("refresh-new");
+    }
+
+    @Test
+    @DisplayName("잠금 stripe가 하나여도 여러 사용자의 동시 교체가 모두 처리되고 사용자마다 한 번만 성공")
+    void concurrentRotationsOnSingleStripe() throws Exception
+    {
+        InMemoryTokenStateStore store = new InMemoryTokenStateStore(new SimpleMeterRegistry(), 1, 64, 1000);
+
+        int users = 16;
+        for (int i = 0; i < users; i++)
+        {
+            store.startSession("user-" + i, "family-" + i, ROLE, "c1", "refresh-1", TTL);
+        }
+
+        // 사용자마다 같은 토큰으로 두 번씩 동시에 교체 (서로 다른 액세스 토큰의 별개 요청)
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try
+        {
+            List<Future<Rotated>> results = new ArrayList<>();
+            for (int i = 0; i < users * 2; i++)
+            {
+                int user = i % users;
+                String accessToken = "access-" + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return store.rotate(rotation("user-" + user, "family-" + user, "c1", "c2", accessToken));
+                }));
+            }
+            start.countDown();
+
+            int successes = 0;
+            for (Future<Rotated> result : results)
+            {
+                if (result.get(10, TimeUnit.SECONDS) != null) successes++;
+            }
+
+            assertThat(successes).isEqualTo(users);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Rotation rotation(String uuid, String family, String presented, String next, String accessToken)
+    {
+        long now = System.currentTimeMillis();
+        RefreshState state = new RefreshState(RefreshState.Kind.FAMILY, family, presented, TTL);
+        return new Rotation(uuid, ROLE, state, accessToken, 60_000, now + 60_000, family, next, "refresh-" + next, TTL, 10_000);
+    }
+}
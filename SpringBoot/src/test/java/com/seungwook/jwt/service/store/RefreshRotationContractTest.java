@@ -0,0 +1,202 @@
+package com.seungwook.jwt.service.store;
+
+import com.seungwook.jwt.service.store.TokenStateStore.RefreshState;
+import com.seungwook.jwt.service.store.TokenStateStore.Rotated;
+import com.seungwook.jwt.service.store.TokenStateStore.Rotation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 두 저장소 구현(memory, redis)이 같은 교체 규칙을 따르는지 확인하는 공통 시나리오
+ * 구현별 테스트는 store()만 제공
+ */
+public abstract class RefreshRotationContractTest
+{
+    private static final String USER = "user-1";
+    private static final String ROLE = "ROLE_USER";
+    private static final long TTL = TimeUnit.DAYS.toMillis(14);
+    private static final long RETRY_GRACE = TimeUnit.SECONDS.toMillis(10);
+
+    protected abstract TokenStateStore store();
+
+    @Test
+    @DisplayName("같은 리프레시 토큰으로 동시에 교체하면 한 요청만 성공하고 재사용으로 보아 패밀리 전체를 무효화")
+    void concurrentDoubleSpendSucceedsOnce() throws Exception
+    {
+        store().startSession(USER, "family-1", ROLE, "c1", "refresh-1", TTL);
+
+        int attempts = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(attempts);
+        CountDownLatch start = new CountDownLatch(1);
+        try
+        {
+            List<Future<Rotated>> results = new ArrayList<>();
+            for (int i = 0; i < attempts; i++)
+            {
+                String next = "c2-" + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return store().rotate(familyRotation(USER, "family-1", "c1", next));
+                }));
+            }
+            start.countDown();
+
+            List<String> successes = new ArrayList<>();
+            for (Future<Rotated> result : results)
+            {
+                Rotated rotated = result.get(10, TimeUnit.SECONDS);
+                if (rotated != null) successes.add(rotated.role());
+            }
+
+            assertThat(successes).containsExactly(ROLE);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        // 늦게 도착한 요청이 재사용으로 처리되어 성공한 쪽의 새 토큰도 쓸 수 없음
+        for (int i = 0; i < attempts; i++)
+        {
+            assertThat(store().rotate(familyRotation(USER, "family-1", "c2-" + i, "c3"))).isNull();
+        }
+        assertThat(store().findRefreshToken(USER)).isNull();
+    }
+
+    @Test
+    @DisplayName("이미 교체된 패밀리 토큰이 다시 제시되면 패밀리 전체를 무효화")
+    void replayedFamilySecretRevokesFamily()
+    {
+        store().startSession(USER, "family-1", ROLE, "c1", "refresh-1", TTL);
+
+        assertThat(store().rotate(familyRotation(USER, "family-1", "c1", "c2"))).isEqualTo(new Rotated(ROLE, "refresh-c2"));
+        assertThat(store().findRefreshToken(USER)).isEqualTo("refresh-c2");
+
+        // 탈취된 이전 토큰 재사용
+        assertThat(store().rotate(familyRotation(USER, "family-1", "c1", "c2-attacker"))).isNull();
+
+        // 정상 사용자의 최신 토큰도 더 이상 교체할 수 없음
+        assertThat(store().rotate(familyRotation(USER, "family-1", "c2", "c3"))).isNull();
+        assertThat(store().findRefreshToken(USER)).isNull();
+    }
+
+    @Test
+    @DisplayName("다른 사용자가 제시한 패밀리는 거부하되 원래 사용자의 패밀리는 유지")
+    void rejectsFamilyOfAnotherUser()
+    {
+        store().startSession(USER, "family-1", ROLE, "c1", "refresh-1", TTL);
+
+        assertThat(store().rotate(familyRotation("user-2", "family-1", "c1", "c2"))).isNull();
+        assertThat(store().rotate(familyRotation(USER, "family-1", "c1", "c2"))).isEqualTo(new Rotated(ROLE, "refresh-c2"));
+    }
+
+    @Test
+    @DisplayName("이전 형식(사용 여부) 토큰은 새 패밀리로 한 번만 옮겨지고, 재사용되면 옮겨간 패밀리를 삭제")
+    void legacyUsedFlagMigratesOnceAndReuseDeletesSuccessor()
+    {
+        store().setUsed("legacy-jti", false, TTL);
+
+        RefreshState legacy = new RefreshState(RefreshState.Kind.USED_FLAG, "legacy-jti", null, TTL);
+        assertThat(store().rotate(rotation(USER, legacy, "family-new", "c1"))).isEqualTo(new Rotated(ROLE, "refresh-c1"));
+        assertThat(store().isUsed("legacy-jti")).isTrue();
+
+        // 이전 토큰 재사용: 거부하고 옮겨간 패밀리까지 삭제
+        assertThat(store().rotate(rotation(USER, legacy, "family-other", "c1-attacker"))).isNull();
+        assertThat(store().rotate(familyRotation(USER, "family-new", "c1", "c2"))).isNull();
+        assertThat(store().findRefreshToken(USER)).isNull();
+    }
+
+    @Test
+    @DisplayName("기록이 없는 이전 형식 토큰은 거부")
+    void rejectsUnknownLegacyUsedFlag()
+    {
+        RefreshState legacy = new RefreshState(RefreshState.Kind.USED_FLAG, "unknown-jti", null, TTL);
+
+        assertThat(store().rotate(rotation(USER, legacy, "family-new", "c1"))).isNull();
+        assertThat(store().rotate(familyRotation(USER, "family-new", "c1", "c2"))).isNull();
+    }
+
+    @Test
+    @DisplayName("패밀리가 없는 이전 핸들 형식은 거부")
+    void rejectsLegacyHandle()
+    {
+        RefreshState handle = new RefreshState(RefreshState.Kind.LEGACY_HANDLE, "handle-1", null, TTL);
+
+        assertThat(store().rotate(rotation(USER, handle, "family-new", "c1"))).isNull();
+        assertThat(store().rotate(familyRotation(USER, "family-new", "c1", "c2"))).isNull();
+    }
+
+    @Test
+    @DisplayName("교체 결과와 관계없이 기존 액세스 토큰은 블랙리스트에 추가")
+    void revokesPresentedAccessTokenEvenOnRejection()
+    {
+        RefreshState handle = new RefreshState(RefreshState.Kind.LEGACY_HANDLE, "handle-1", null, TTL);
+
+        store().rotate(rotation(USER, handle, "family-new", "c1"));
+
+        assertThat(store().isRevoked("access-c1", USER)).isTrue();
+    }
+
+    @Test
+    @DisplayName("응답을 받지 못한 교체의 재시도(같은 토큰, 같은 액세스 토큰)는 유예 시간 안이면 앞서 발급한 토큰을 돌려주고 세션 유지")
+    void retryWithinGraceReturnsIssuedToken()
+    {
+        store().startSession(USER, "family-1", ROLE, "c1", "refresh-1", TTL);
+
+        assertThat(store().rotate(familyRotation(USER, "family-1", "c1", "c2"))).isEqualTo(new Rotated(ROLE, "refresh-c2"));
+
+        // 재시도는 새 식별자를 만들어 오지만 앞선 요청의 결과를 받음
+        Rotation retry = rotation(USER, new RefreshState(RefreshState.Kind.FAMILY, "family-1", "c1", TTL), "family-1",
+                "c2-retry", "access-c2", RETRY_GRACE);
+        assertThat(store().rotate(retry)).isEqualTo(new Rotated(ROLE, "refresh-c2"));
+        assertThat(store().findRefreshToken(USER)).isEqualTo("refresh-c2");
+
+        // 돌려받은 토큰으로 계속 교체 가능
+        assertThat(store().rotate(familyRotation(USER, "family-1", "c2", "c3"))).isEqualTo(new Rotated(ROLE, "refresh-c3"));
+    }
+
+    @Test
+    @DisplayName("다른 액세스 토큰과 함께 제시되거나 유예 시간이 지난 이전 토큰은 재시도가 아닌 재사용")
+    void replayOutsideRetryIsReuse()
+    {
+        RefreshState first = new RefreshState(RefreshState.Kind.FAMILY, "family-1", "c1", TTL);
+
+        store().startSession(USER, "family-1", ROLE, "c1", "refresh-1", TTL);
+        store().rotate(rotation(USER, first, "family-1", "c2", "access-c2", RETRY_GRACE));
+        assertThat(store().rotate(rotation(USER, first, "family-1", "c2-attacker", "access-attacker", RETRY_GRACE))).isNull();
+        assertThat(store().findRefreshToken(USER)).isNull();
+
+        store().startSession(USER, "family-2", ROLE, "c1", "refresh-1", TTL);
+        RefreshState second = new RefreshState(RefreshState.Kind.FAMILY, "family-2", "c1", TTL);
+        store().rotate(rotation(USER, second, "family-2", "c2", "access-c2", 0));
+        assertThat(store().rotate(rotation(USER, second, "family-2", "c2-retry", "access-c2", 0))).isNull();
+        assertThat(store().rotate(familyRotation(USER, "family-2", "c2", "c3"))).isNull();
+    }
+
+    private static Rotation familyRotation(String uuid, String family, String presented, String next)
+    {
+        return rotation(uuid, new RefreshState(RefreshState.Kind.FAMILY, family, presented, TTL), family, next);
+    }
+
+    // 요청마다 다른 액세스 토큰 (재시도가 아닌 별개의 요청)
+    protected static Rotation rotation(String uuid, RefreshState presented, String family, String next)
+    {
+        return rotation(uuid, presented, family, next, "access-" + next, RETRY_GRACE);
+    }
+
+    protected static Rotation rotation(String uuid, RefreshState presented, String family, String next, String accessToken, long retryGraceMillis)
+    {
+        long now = System.currentTimeMillis();
+        return new Rotation(uuid, ROLE, presented, accessToken, 60_000, now + 60_000, family, next, "refresh-" + next, TTL, retryGraceMillis);
+    }
+}